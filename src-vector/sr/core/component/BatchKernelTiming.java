@@ -0,0 +1,116 @@
+package sr.core.component;
+
+import java.util.SplittableRandom;
+
+import sr.core.Matrix4;
+import sr.core.Util;
+import sr.core.Vector4;
+import sr.core.component.ops.Sense;
+import sr.core.ops.PoincareTransform;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+
+/**
+ Compare the speed of the batch loops: one object per item, the scalar loops (which the JIT compiler may or may not vectorize by itself),
+ and the explicit Vector API loops.
+
+ <P>This project has no build file and no dependencies, so this is a plain timing loop, not a JMH benchmark.
+ Each case is warmed up first, then the best of several runs is reported, in nanoseconds per item.
+ Run on a quiet machine:
+ <pre>java --add-modules jdk.incubator.vector -cp [classes] sr.core.component.BatchKernelTiming</pre>
+*/
+public final class BatchKernelTiming {
+
+  public static void main(String... args) {
+    BatchKernelTiming timing = new BatchKernelTiming();
+    Util.log("Vector species: " + jdk.incubator.vector.DoubleVector.SPECIES_PREFERRED);
+    Util.log(String.format("%10s %-10s %10s %10s %10s", "Size", "Loop", "Objects", "Scalar", "Vector"));
+    for(int size : SIZES) {
+      timing.run(size);
+    }
+  }
+
+  // PRIVATE
+
+  private static final int[] SIZES = {1_000, 100_000, 1_000_000};
+  private static final int RUNS = 15;
+  /** About this many items are processed for each run, whatever the size. */
+  private static final int ITEMS_PER_RUN = 20_000_000;
+
+  private final Matrix4 m = PoincareTransform.identity()
+    .boost(Velocity.of(0.6, -0.2, 0.3), Sense.ChangeGrid)
+    .rotate(AxisAngle.of(0.5, -0.2, 0.7), Sense.ChangeGrid)
+    .linear()
+  ;
+  private final Vector4 d = Vector4.zero();
+  private final BatchKernel.Backend vector = new VectorBatchKernel();
+
+  /** Prevents the JIT compiler from removing the loops. */
+  private double sink;
+
+  private void run(int size) {
+    double[][] a = randomArrays(size);
+    double[][] b = randomArrays(size);
+    double[] out = new double[size];
+    int reps = Math.max(1, ITEMS_PER_RUN / size);
+
+    double objects = best(size, reps, () -> {
+      for(int i = 0; i < size; ++i) {
+        Vector4 v = m.times(Vector4.of(a[0][i], a[1][i], a[2][i], a[3][i]));
+        b[0][i] = v.ct(); b[1][i] = v.x(); b[2][i] = v.y(); b[3][i] = v.z();
+      }
+    });
+    double scalar = best(size, reps, () -> BatchKernel.SCALAR.transform(m, d, a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], 0, size));
+    double simd = best(size, reps, () -> vector.transform(m, d, a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], 0, size));
+    report(size, "transform", objects, scalar, simd);
+
+    objects = best(size, reps, () -> {
+      for(int i = 0; i < size; ++i) {
+        out[i] = fourVector(a, i).dot(fourVector(b, i));
+      }
+    });
+    scalar = best(size, reps, () -> BatchKernel.SCALAR.dot(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], out, 0, size));
+    simd = best(size, reps, () -> vector.dot(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], out, 0, size));
+    report(size, "dot", objects, scalar, simd);
+    sink = sink + out[size / 2] + b[0][size / 2];
+    if (sink == 42.0) {
+      Util.log(sink);
+    }
+  }
+
+  /** The best time of several runs, in nanoseconds per item. The first runs are the warm-up. */
+  private double best(int size, int reps, Runnable loop) {
+    double result = Double.MAX_VALUE;
+    for(int run = 0; run < RUNS; ++run) {
+      long start = System.nanoTime();
+      for(int rep = 0; rep < reps; ++rep) {
+        loop.run();
+      }
+      double nanosPerItem = (System.nanoTime() - start) / ((double)reps * size);
+      if (run >= RUNS / 3) {
+        result = Math.min(result, nanosPerItem);
+      }
+    }
+    return result;
+  }
+
+  private void report(int size, String loop, double objects, double scalar, double simd) {
+    Util.log(String.format("%10d %-10s %10.3f %10.3f %10.3f", size, loop, objects, scalar, simd));
+  }
+
+  private FourDelta fourVector(double[][] arrays, int i) {
+    return FourDelta.withRespectToOrigin(Event.of(arrays[0][i], arrays[1][i], arrays[2][i], arrays[3][i]));
+  }
+
+  private double[][] randomArrays(int size) {
+    SplittableRandom random = new SplittableRandom(size);
+    double[][] result = new double[4][size];
+    for(double[] array : result) {
+      for(int i = 0; i < size; ++i) {
+        array[i] = random.nextDouble(-100.0, 100.0);
+      }
+    }
+    return result;
+  }
+}
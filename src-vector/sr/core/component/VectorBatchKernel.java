@@ -0,0 +1,89 @@
+package sr.core.component;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+import sr.core.Matrix4;
+import sr.core.Vector4;
+
+/**
+ The batch loops, written with the <em>jdk.incubator.vector</em> module.
+
+ <P>This class is loaded by reflection from {@link BatchKernel}, and only when the module is present.
+ It needs extra flags to compile and to run:
+ <pre>
+ javac --add-modules jdk.incubator.vector -cp [classes] -d [classes] src-vector/sr/core/component/*.java
+ java --add-modules jdk.incubator.vector ...
+ </pre>
+
+ <P>Each loop works on as many items at once as the CPU's preferred vector width allows
+ (4 doubles for AVX2, 8 for AVX-512).
+ The items left over after the last full vector are passed to {@link BatchKernel#SCALAR}.
+ The operations are the same as in the scalar loops, in the same order, with no fused multiply-add.
+ So the results are identical to those of the scalar loops.
+*/
+final class VectorBatchKernel implements BatchKernel.Backend {
+
+  @Override public void transform(
+    Matrix4 m, Vector4 d,
+    double[] ct, double[] x, double[] y, double[] z,
+    double[] outCt, double[] outX, double[] outY, double[] outZ,
+    int from, int to
+  ) {
+    double m00 = m.get(0, 0), m01 = m.get(0, 1), m02 = m.get(0, 2), m03 = m.get(0, 3);
+    double m10 = m.get(1, 0), m11 = m.get(1, 1), m12 = m.get(1, 2), m13 = m.get(1, 3);
+    double m20 = m.get(2, 0), m21 = m.get(2, 1), m22 = m.get(2, 2), m23 = m.get(2, 3);
+    double m30 = m.get(3, 0), m31 = m.get(3, 1), m32 = m.get(3, 2), m33 = m.get(3, 3);
+    double d0 = d.ct(), d1 = d.x(), d2 = d.y(), d3 = d.z();
+    int end = from + SPECIES.loopBound(to - from);
+    int i = from;
+    for(; i < end; i += SPECIES.length()) {
+      DoubleVector a = DoubleVector.fromArray(SPECIES, ct, i);
+      DoubleVector b = DoubleVector.fromArray(SPECIES, x, i);
+      DoubleVector c = DoubleVector.fromArray(SPECIES, y, i);
+      DoubleVector e = DoubleVector.fromArray(SPECIES, z, i);
+      a.mul(m00).add(b.mul(m01)).add(c.mul(m02)).add(e.mul(m03)).add(d0).intoArray(outCt, i);
+      a.mul(m10).add(b.mul(m11)).add(c.mul(m12)).add(e.mul(m13)).add(d1).intoArray(outX, i);
+      a.mul(m20).add(b.mul(m21)).add(c.mul(m22)).add(e.mul(m23)).add(d2).intoArray(outY, i);
+      a.mul(m30).add(b.mul(m31)).add(c.mul(m32)).add(e.mul(m33)).add(d3).intoArray(outZ, i);
+    }
+    BatchKernel.SCALAR.transform(m, d, ct, x, y, z, outCt, outX, outY, outZ, i, to);
+  }
+
+  @Override public void dot(
+    double[] ct, double[] x, double[] y, double[] z,
+    double[] thatCt, double[] thatX, double[] thatY, double[] thatZ,
+    double[] out, int from, int to
+  ) {
+    int end = from + SPECIES.loopBound(to - from);
+    int i = from;
+    for(; i < end; i += SPECIES.length()) {
+      DoubleVector a = DoubleVector.fromArray(SPECIES, ct, i).mul(DoubleVector.fromArray(SPECIES, thatCt, i));
+      DoubleVector b = DoubleVector.fromArray(SPECIES, x, i).mul(DoubleVector.fromArray(SPECIES, thatX, i));
+      DoubleVector c = DoubleVector.fromArray(SPECIES, y, i).mul(DoubleVector.fromArray(SPECIES, thatY, i));
+      DoubleVector e = DoubleVector.fromArray(SPECIES, z, i).mul(DoubleVector.fromArray(SPECIES, thatZ, i));
+      a.sub(b).sub(c).sub(e).intoArray(out, i);
+    }
+    BatchKernel.SCALAR.dot(ct, x, y, z, thatCt, thatX, thatY, thatZ, out, i, to);
+  }
+
+  @Override public void interval(
+    double[] ct, double[] x, double[] y, double[] z,
+    double[] thatCt, double[] thatX, double[] thatY, double[] thatZ,
+    double[] out, int from, int to
+  ) {
+    int end = from + SPECIES.loopBound(to - from);
+    int i = from;
+    for(; i < end; i += SPECIES.length()) {
+      DoubleVector dct = DoubleVector.fromArray(SPECIES, thatCt, i).sub(DoubleVector.fromArray(SPECIES, ct, i));
+      DoubleVector dx = DoubleVector.fromArray(SPECIES, thatX, i).sub(DoubleVector.fromArray(SPECIES, x, i));
+      DoubleVector dy = DoubleVector.fromArray(SPECIES, thatY, i).sub(DoubleVector.fromArray(SPECIES, y, i));
+      DoubleVector dz = DoubleVector.fromArray(SPECIES, thatZ, i).sub(DoubleVector.fromArray(SPECIES, z, i));
+      dct.mul(dct).sub(dx.mul(dx)).sub(dy.mul(dy)).sub(dz.mul(dz)).intoArray(out, i);
+    }
+    BatchKernel.SCALAR.interval(ct, x, y, z, thatCt, thatX, thatY, thatZ, out, i, to);
+  }
+
+  // PRIVATE
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+}
@@ -0,0 +1,80 @@
+package sr.core;
+
+import sr.core.component.ops.Sense;
+import sr.core.vec3.Velocity;
+
+/**
+ The aberration and Doppler effect for light, under a boost. 
+ The boost is computed only once, and then applied to many photon directions, with no new objects created. 
+ 
+ <P>For a photon travelling in the direction of the unit vector <em>n</em>, and a boost of speed β along the 
+ unit vector <em>a</em>:
+ <ul>
+  <li>the Doppler factor is <em>D = Γ(1 + β<sub>s</sub> n<sub>a</sub>)</em>, where <em>n<sub>a</sub> = n.a</em>, 
+  and <em>β<sub>s</sub></em> is β with the sign of the given {@link Sense}.
+  <li>the new direction is <em>n' = (n + a ((Γ - 1) n<sub>a</sub> + Γ β<sub>s</sub>)) / D</em>.
+ </ul>
+ 
+ <P>This gives the same result as boosting a {@link sr.core.vec4.FourPhaseGradient} having a unit frequency.
+ The Doppler factor is the ratio of the frequencies (new/old).
+ 
+ <P>Objects of this class are immutable, and can be shared between threads.
+*/
+public final class Aberration {
+  
+  /** Factory method. The boost is in the same sense as {@link sr.core.component.ops.LorentzBoost}. */
+  public static Aberration of(Velocity boost_v, Sense sense) {
+    return new Aberration(boost_v, sense);
+  }
+  
+  /** 
+   The Doppler factor for a photon travelling in the given direction.
+   @param nx the X-component of the unit vector for the photon's direction (likewise for the other params).
+  */
+  public double doppler(double nx, double ny, double nz) {
+    return Γ + Γβ * (nx * ax + ny * ay + nz * az);
+  }
+  
+  /**
+   The Doppler factor and the new direction, for a photon travelling in the given direction. 
+   @param nx the X-component of the unit vector for the photon's direction (likewise for the other params).
+   @param out has length 4 at least; on return, holds <em>D</em>, then the X, Y, and Z components of the new direction, in that order.
+  */
+  public void apply(double nx, double ny, double nz, double[] out) {
+    double na = nx * ax + ny * ay + nz * az;
+    double D = Γ + Γβ * na;
+    double along = Γminus1 * na + Γβ;
+    out[0] = D;
+    out[1] = (nx + along * ax) / D;
+    out[2] = (ny + along * ay) / D;
+    out[3] = (nz + along * az) / D;
+  }
+  
+  // PRIVATE
+  
+  private final double Γ;
+  /** Γ - 1, without the cancellation near β = 0. */
+  private final double Γminus1;
+  /** Γ times the signed speed. */
+  private final double Γβ;
+  /** The unit vector along the boost. */
+  private final double ax, ay, az;
+  
+  private Aberration(Velocity boost_v, Sense sense) {
+    double β = boost_v.magnitude();
+    Util.mustHave(β < 1.0, "Boost speed must be less than 1: " + β);
+    this.Γ = boost_v.Γ();
+    this.Γminus1 = Util.sq(Γ * β) / (Γ + 1);
+    this.Γβ = Γ * β * sense.sign();
+    if (β == 0.0) {
+      this.ax = 0.0;
+      this.ay = 0.0;
+      this.az = 0.0;
+    }
+    else {
+      this.ax = boost_v.x() / β;
+      this.ay = boost_v.y() / β;
+      this.az = boost_v.z() / β;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package sr.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.component.ops.Sense;
+import sr.core.vec3.Direction;
+import sr.core.vec3.PhaseGradient;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourPhaseGradient;
+
+/** Unit test. */
+class AberrationTEST {
+
+  @Test void sameAsBoostingAPhaseGradient() {
+    Velocity[] boosts = {
+      Velocity.of(0.0, 0.0, 0.0), Velocity.of(0.6, Axis.X), Velocity.of(-0.99, Axis.Y), Velocity.of(0.3, -0.2, 0.7), Velocity.of(0.99999, Axis.Z)
+    };
+    Direction[] photons = {
+      Direction.of(Axis.X), Direction.of(-1.0, 0.0, 0.0), Direction.of(0.0, 1.0, 0.0), Direction.of(1.0, 2.0, 3.0), Direction.of(-0.5, 0.1, -2.0)
+    };
+    double[] out = new double[4];
+    for(Velocity v : boosts) {
+      for(Sense sense : new Sense[] {Sense.ChangeGrid, Sense.ChangeComponents}) {
+        Aberration aberration = Aberration.of(v, sense);
+        for(Direction n : photons) {
+          FourPhaseGradient k = FourPhaseGradient.of(PhaseGradient.of(1.0, n)).boost(v, sense);
+          aberration.apply(n.x(), n.y(), n.z(), out);
+          double D = k.ct();
+          assertEquals(D, out[0], SMALL * D);
+          assertEquals(D, aberration.doppler(n.x(), n.y(), n.z()), SMALL * D);
+          assertEquals(k.x() / D, out[1], SMALL);
+          assertEquals(k.y() / D, out[2], SMALL);
+          assertEquals(k.z() / D, out[3], SMALL);
+          assertEquals(1.0, out[1] * out[1] + out[2] * out[2] + out[3] * out[3], SMALL);
+        }
+      }
+    }
+  }
+  
+  @Test void headOnDoppler() {
+    //a photon moving along +X, seen from a frame moving along +X at 0.6: redshift by a factor of 2
+    Aberration aberration = Aberration.of(Velocity.of(0.6, Axis.X), Sense.ChangeGrid);
+    assertEquals(0.5, aberration.doppler(1.0, 0.0, 0.0), SMALL);
+    assertEquals(2.0, aberration.doppler(-1.0, 0.0, 0.0), SMALL);
+  }
+  
+  private static final double SMALL = 1.0E-12;
+}
@@ -0,0 +1,197 @@
+package sr.core;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ A floating point number having about 32 significant digits, represented as the unevaluated sum of two doubles.
+ Immutable.
+
+ <P>Used for speeds β that are so close to 1 that a {@link Double} can't represent them
+ (see {@link SpeedValues#PROTON_EXTREME_COSMIC_RAY}).
+ Much faster than {@link BigDecimal}, but with a fixed precision.
+
+ <P>The value is <em>hi + lo</em>, where <em>|lo|</em> is no more than half an ulp of <em>hi</em>.
+ The arithmetic uses the error-free transformations of Dekker and Knuth (two-sum and two-product).
+ The results of the basic operations have a relative error of about 10<sup>-32</sup>.
+
+ <P>Reference:
+ <pre>
+ Library for Double-Double and Quad-Double Arithmetic
+ Y. Hida, X.S. Li, D.H. Bailey
+ 2008
+ </pre>
+*/
+public final class DoubleDouble implements Comparable<DoubleDouble> {
+
+  public static final DoubleDouble ZERO = new DoubleDouble(0.0, 0.0);
+  public static final DoubleDouble ONE = new DoubleDouble(1.0, 0.0);
+
+  /** The number of significant digits used by {@link #toString()}: {@value}. */
+  public static final int NUM_DIGITS = 32;
+
+  /** Factory method. The value is exactly the given double. */
+  public static DoubleDouble of(double value) {
+    return new DoubleDouble(value, 0.0);
+  }
+
+  /** Factory method. The value is the given BigDecimal, rounded to about 32 significant digits. */
+  public static DoubleDouble of(BigDecimal value) {
+    double hi = value.doubleValue();
+    if (!Double.isFinite(hi)) {
+      throw new IllegalArgumentException("Value is out of range: " + value);
+    }
+    double lo = value.subtract(new BigDecimal(hi)).doubleValue();
+    return normalized(hi, lo);
+  }
+
+  /** Factory method. The value is parsed by {@link BigDecimal}, and rounded to about 32 significant digits. */
+  public static DoubleDouble of(String value) {
+    return of(new BigDecimal(value));
+  }
+
+  /** The leading part of this number. The nearest double to this number. */
+  public double hi() { return hi; }
+
+  /** The trailing part of this number. */
+  public double lo() { return lo; }
+
+  /** The nearest double to this number. */
+  public double doubleValue() { return hi; }
+
+  /** The exact value of this number. */
+  public BigDecimal toBigDecimal() {
+    return new BigDecimal(hi).add(new BigDecimal(lo));
+  }
+
+  public DoubleDouble plus(DoubleDouble that) {
+    //the accurate version, in which the low parts also get an error-free sum
+    double s = hi + that.hi;
+    double sErr = twoSumErr(hi, that.hi, s);
+    double t = lo + that.lo;
+    double tErr = twoSumErr(lo, that.lo, t);
+    sErr = sErr + t;
+    double hi1 = s + sErr;
+    double lo1 = sErr - (hi1 - s) + tErr;
+    return normalized(hi1, lo1);
+  }
+
+  public DoubleDouble plus(double that) {
+    double s = hi + that;
+    double sErr = twoSumErr(hi, that, s) + lo;
+    return normalized(s, sErr);
+  }
+
+  public DoubleDouble minus(DoubleDouble that) {
+    return plus(that.negate());
+  }
+
+  public DoubleDouble negate() {
+    return new DoubleDouble(-hi, -lo);
+  }
+
+  public DoubleDouble abs() {
+    return signum() < 0 ? negate() : this;
+  }
+
+  public DoubleDouble times(DoubleDouble that) {
+    double p = hi * that.hi;
+    double pErr = Math.fma(hi, that.hi, -p);
+    pErr = pErr + (hi * that.lo + lo * that.hi);
+    return normalized(p, pErr);
+  }
+
+  public DoubleDouble times(double that) {
+    double p = hi * that;
+    double pErr = Math.fma(hi, that, -p) + lo * that;
+    return normalized(p, pErr);
+  }
+
+  public DoubleDouble square() {
+    double p = hi * hi;
+    double pErr = Math.fma(hi, hi, -p) + 2.0 * hi * lo;
+    return normalized(p, pErr);
+  }
+
+  public DoubleDouble dividedBy(DoubleDouble that) {
+    Util.mustHave(that.hi != 0.0, "Division by zero.");
+    //long division: three quotient digits, each the size of a double
+    double q1 = hi / that.hi;
+    DoubleDouble r = minus(that.times(q1));
+    double q2 = r.hi / that.hi;
+    r = r.minus(that.times(q2));
+    double q3 = r.hi / that.hi;
+    return normalized(q1, q2).plus(q3);
+  }
+
+  /** The square root. This number must not be negative. */
+  public DoubleDouble sqrt() {
+    if (hi < 0.0) {
+      throw new IllegalArgumentException("Square root of a negative number: " + this);
+    }
+    if (hi == 0.0) {
+      return ZERO;
+    }
+    //one step of Newton's method, starting from the double result (Karp and Markstein)
+    double x = 1.0 / Math.sqrt(hi);
+    double y = hi * x;
+    DoubleDouble yy = of(y).square();
+    double correction = minus(yy).hi * (x * 0.5);
+    return of(y).plus(correction);
+  }
+
+  /** Return -1, 0, or +1, as this number is negative, zero, or positive. */
+  public int signum() {
+    return hi != 0.0 ? (int)Math.signum(hi) : (int)Math.signum(lo);
+  }
+
+  @Override public int compareTo(DoubleDouble that) {
+    int result = Double.compare(hi, that.hi);
+    if (result == 0) {
+      result = Double.compare(lo, that.lo);
+    }
+    return result;
+  }
+
+  @Override public boolean equals(Object aThat) {
+    if (this == aThat) return true;
+    if (!(aThat instanceof DoubleDouble)) return false;
+    DoubleDouble that = (DoubleDouble)aThat;
+    return Double.compare(hi, that.hi) == 0 && Double.compare(lo, that.lo) == 0;
+  }
+
+  @Override public int hashCode() {
+    return 31 * Double.hashCode(hi) + Double.hashCode(lo);
+  }
+
+  /** The value, rounded to {@value #NUM_DIGITS} significant digits, without an exponent. */
+  @Override public String toString() {
+    return toBigDecimal().round(DIGITS).stripTrailingZeros().toPlainString();
+  }
+
+  // PRIVATE
+
+  private static final MathContext DIGITS = new MathContext(NUM_DIGITS, RoundingMode.HALF_EVEN);
+
+  private final double hi;
+  private final double lo;
+
+  private DoubleDouble(double hi, double lo) {
+    this.hi = hi;
+    this.lo = lo;
+  }
+
+  /** The error in the sum s = a + b, with no condition on the size of a and b (Knuth). */
+  private static double twoSumErr(double a, double b, double s) {
+    double bb = s - a;
+    return (a - (s - bb)) + (b - bb);
+  }
+
+  /** Renormalize so that lo is no more than half an ulp of hi. Requires |a| >= |b|, or a == 0 (Dekker's fast two-sum). */
+  private static DoubleDouble normalized(double a, double b) {
+    double s = a + b;
+    double err = b - (s - a);
+    return new DoubleDouble(s, err);
+  }
+}
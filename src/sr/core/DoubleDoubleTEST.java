@@ -0,0 +1,106 @@
+package sr.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.component.ops.DoubleDoubleBoost;
+import sr.core.component.ops.Sense;
+
+/** 
+ Unit test. The BigDecimal calculations are taken as the exact values.
+ They start from the exact value of each DoubleDouble speed, which differs slightly from the decimal value in SpeedValues. 
+*/
+class DoubleDoubleTEST {
+
+  @Test void arithmetic() {
+    DoubleDouble third = DoubleDouble.ONE.dividedBy(DoubleDouble.of(3.0));
+    same(new BigDecimal(1).divide(new BigDecimal(3), MC), third);
+    same(BigDecimal.ONE, third.times(3.0));
+    same(new BigDecimal("0.3"), DoubleDouble.of("0.1").plus(DoubleDouble.of("0.2")));
+    same(new BigDecimal(2).sqrt(MC), DoubleDouble.of(2.0).sqrt());
+    same(new BigDecimal(2), DoubleDouble.of(2.0).sqrt().square());
+    //the low part can be far smaller than the high part
+    assertEquals(1.0E-40, DoubleDouble.ONE.plus(DoubleDouble.of(1.0E-40)).minus(DoubleDouble.ONE).doubleValue());
+    assertEquals("0.33333333333333333333333333333333", third.toString());
+  }
+
+  @Test void warpFactor() {
+    for(SpeedValues speed : SpeedValues.values()) {
+      DoubleDouble Γ = Physics.Γ(speed.βDoubleDouble());
+      same(Physics.Γ(exact(speed)), Γ);
+      //near 1, Γ is very sensitive to the rounding of the decimal β, so this agreement is looser
+      BigDecimal expected = Physics.Γ(speed.βBigDecimal());
+      assertEquals(0.0, expected.subtract(Γ.toBigDecimal()).divide(expected, MC).doubleValue(), 1.0E-15);
+    }
+    //the double can't represent this speed at all
+    assertTrue(Double.isInfinite(Physics.Γ(SpeedValues.PROTON_EXTREME_COSMIC_RAY.β())));
+  }
+
+  @Test void collinearSpeeds() {
+    for(SpeedValues boost : SpeedValues.values()) {
+      for(SpeedValues object : SpeedValues.values()) {
+        DoubleDouble β = boost.βDoubleDouble();
+        DoubleDouble u = object.βDoubleDouble();
+        //(u - β)/(1 - uβ)
+        BigDecimal numer = exact(object).subtract(exact(boost));
+        BigDecimal denom = BigDecimal.ONE.subtract(exact(object).multiply(exact(boost)));
+        DoubleDouble uPrimed = VelocityTransformation.primedSpeed(β, u);
+        if (denom.signum() != 0) {
+          sameAbsolute(numer.divide(denom, MC), uPrimed);
+        }
+        //(u + β)/(1 + uβ)
+        numer = exact(object).add(exact(boost));
+        denom = BigDecimal.ONE.add(exact(object).multiply(exact(boost)));
+        sameAbsolute(numer.divide(denom, MC), VelocityTransformation.unprimedSpeed(β, u));
+        //never more than 1; two cosmic-ray speeds combine to 1 - 10^-45, which rounds to 1
+        assertTrue(VelocityTransformation.unprimedSpeed(β, u).compareTo(DoubleDouble.ONE) <= 0);
+      }
+    }
+  }
+
+  @Test void boost() {
+    for(SpeedValues speed : SpeedValues.values()) {
+      DoubleDouble β = speed.βDoubleDouble();
+      DoubleDoubleBoost boost = DoubleDoubleBoost.of(β, Axis.X, Sense.ChangeGrid);
+      DoubleDoubleBoost inverse = DoubleDoubleBoost.of(β, Axis.X, Sense.ChangeComponents);
+      //an object at rest in K: moves in the negative-X direction in K'
+      DoubleDouble[] atRest = {DoubleDouble.ONE, DoubleDouble.ZERO, DoubleDouble.ONE, DoubleDouble.ZERO};
+      DoubleDouble[] boosted = boost.apply(atRest);
+      BigDecimal Γ = Physics.Γ(exact(speed));
+      same(Γ, boosted[0]);
+      same(Γ.multiply(exact(speed)).negate(), boosted[1]);
+      same(BigDecimal.ONE, boosted[2]);
+      //the speed in K', and back again
+      same(exact(speed), boosted[1].negate().dividedBy(boosted[0]));
+      DoubleDouble[] back = inverse.apply(boosted);
+      same(BigDecimal.ONE, back[0]);
+      sameAbsolute(BigDecimal.ZERO, back[1].dividedBy(boosted[0]));
+    }
+  }
+
+  private static final MathContext MC = Physics.LARGE_NUM_DECIMALS;
+
+  /** Relative error. */
+  private static final double SMALL = 1.0E-29;
+
+  private BigDecimal exact(SpeedValues speed) {
+    return speed.βDoubleDouble().toBigDecimal();
+  }
+
+  private void same(BigDecimal expected, DoubleDouble actual) {
+    BigDecimal diff = expected.subtract(actual.toBigDecimal()).abs();
+    BigDecimal relative = expected.signum() == 0 ? diff : diff.divide(expected.abs(), MC);
+    assertTrue(relative.doubleValue() < SMALL, "Expected " + expected + " but was " + actual);
+  }
+
+  /** Absolute error, for speeds (which are less than 1). */
+  private void sameAbsolute(BigDecimal expected, DoubleDouble actual) {
+    BigDecimal diff = expected.subtract(actual.toBigDecimal()).abs();
+    assertTrue(diff.doubleValue() < SMALL, "Expected " + expected + " but was " + actual);
+  }
+}
@@ -0,0 +1,90 @@
+package sr.core;
+
+import java.math.BigDecimal;
+
+/**
+ Compare the speed of {@link DoubleDouble} with that of {@link BigDecimal}, for the calculations that need more than a double:
+ the Lorentz factor Γ, and the composition of two speeds along the same line, <em>(u + β)/(1 + uβ)</em>.
+
+ <P>As in <em>sr.core.component.BatchKernelTiming</em>, this is a plain timing loop, not a JMH benchmark.
+ Each case is warmed up first, then the best of several runs is reported, in nanoseconds per call.
+ Each call uses one of the {@link SpeedValues}, in turn.
+*/
+public final class DoubleDoubleTiming {
+
+  public static void main(String... args) {
+    DoubleDoubleTiming timing = new DoubleDoubleTiming();
+    Util.log(String.format("%-12s %12s %12s %8s", "Calculation", "BigDecimal", "DoubleDouble", "Ratio"));
+    timing.run();
+  }
+
+  // PRIVATE
+
+  private static final int RUNS = 15;
+  /** About this many nanoseconds for each run. */
+  private static final long NANOS_PER_RUN = 200_000_000L;
+
+  private final SpeedValues[] speeds = SpeedValues.values();
+  private final BigDecimal[] bigs = new BigDecimal[speeds.length];
+  private final DoubleDouble[] doubleDoubles = new DoubleDouble[speeds.length];
+
+  /** Prevents the JIT compiler from removing the loops. */
+  private double sink;
+
+  private DoubleDoubleTiming() {
+    for(int i = 0; i < speeds.length; ++i) {
+      bigs[i] = speeds[i].βBigDecimal();
+      doubleDoubles[i] = speeds[i].βDoubleDouble();
+    }
+  }
+
+  private void run() {
+    double big = best(i -> Physics.Γ(bigs[i]).doubleValue());
+    double dd = best(i -> Physics.Γ(doubleDoubles[i]).doubleValue());
+    report("Γ", big, dd);
+
+    big = best(i -> {
+      BigDecimal u = bigs[i];
+      BigDecimal β = bigs[speeds.length - 1 - i];
+      BigDecimal numer = u.add(β);
+      BigDecimal denom = BigDecimal.ONE.add(u.multiply(β));
+      return numer.divide(denom, Physics.LARGE_NUM_DECIMALS).doubleValue();
+    });
+    dd = best(i -> VelocityTransformation.unprimedSpeed(doubleDoubles[speeds.length - 1 - i], doubleDoubles[i]).doubleValue());
+    report("composition", big, dd);
+    if (sink == 42.0) {
+      Util.log(sink);
+    }
+  }
+
+  /** One calculation, for the speed with the given index. */
+  private interface Calculation {
+    double apply(int i);
+  }
+
+  /** The best time of several runs, in nanoseconds per call. The first runs are the warm-up. */
+  private double best(Calculation calc) {
+    int reps = 1;
+    double result = Double.MAX_VALUE;
+    for(int run = 0; run < RUNS; ++run) {
+      long start = System.nanoTime();
+      for(int rep = 0; rep < reps; ++rep) {
+        for(int i = 0; i < speeds.length; ++i) {
+          sink = sink + calc.apply(i);
+        }
+      }
+      long elapsed = System.nanoTime() - start;
+      double nanosPerCall = elapsed / ((double)reps * speeds.length);
+      if (run >= RUNS / 3) {
+        result = Math.min(result, nanosPerCall);
+      }
+      //adjust the number of repetitions, so that each run takes about the same time
+      reps = (int)Math.max(1, Math.min(Integer.MAX_VALUE, NANOS_PER_RUN / (nanosPerCall * speeds.length)));
+    }
+    return result;
+  }
+
+  private void report(String calc, double big, double dd) {
+    Util.log(String.format("%-12s %12.1f %12.1f %8.1f", calc, big, dd, big / dd));
+  }
+}
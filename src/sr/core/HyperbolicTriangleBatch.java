@@ -0,0 +1,317 @@
+package sr.core;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static sr.core.Util.mustHave;
+
+import sr.core.component.FourVectorBatch;
+
+/**
+ A large number of triangles on the unit hyperboloid, stored in 6 parallel arrays of primitives
+ (one for each of the sides <em>A, B, C</em>, and one for each of the angles <em>a, b, c</em>).
+
+ <P>Use this class when many triangles are solved at once (for example, in a sweep over a range of parameters).
+ The names and meanings are the same as in {@link HyperbolicTriangle}, and so are the results, apart from rounding.
+ The difference is that cosh and sinh of a side come from a single call to {@link Math#expm1(double)},
+ each cos and sin of an angle is computed only once per triangle, and no objects are created per triangle.
+
+ <P>The methods whose names start with <em>solve</em> overwrite the data in this batch, and return this batch.
+ The methods whose names end in <em>InParallel</em> are the same, but they split large batches
+ into pieces, which are processed on many cores (see {@link ParallelRange}).
+ Their results are identical to the sequential results.
+
+ <P>When only the angular defect is needed, the static <em>angularDefects</em> methods are faster.
+ They use the area formulas directly, instead of solving for all three angles.
+ For thin triangles, they are also more accurate, since they don't subtract three angles from π.
+
+ <P>Objects of this class are mutable, and are not thread-safe.
+*/
+public final class HyperbolicTriangleBatch {
+
+  /** Factory method. All sides and angles are zero. */
+  public static HyperbolicTriangleBatch of(int size) {
+    mustHave(size >= 0, "Size cannot be negative: " + size);
+    return new HyperbolicTriangleBatch(size);
+  }
+
+  /** The number of triangles in this batch. */
+  public int size() { return A.length; }
+
+  /** Side opposite angle a. Arc-interval along the unit hyperboloid. */
+  public double A(int idx) { return A[idx]; }
+  /** Side opposite angle b. Arc-interval along the unit hyperboloid. */
+  public double B(int idx) { return B[idx]; }
+  /** Side opposite angle c. Arc-interval along the unit hyperboloid. */
+  public double C(int idx) { return C[idx]; }
+  /** Angle opposite side A, range 0..π. */
+  public double a(int idx) { return a[idx]; }
+  /** Angle opposite side B, range 0..π. */
+  public double b(int idx) { return b[idx]; }
+  /** Angle opposite side C, range 0..π. */
+  public double c(int idx) { return c[idx]; }
+
+  /** Return the triangle at the given index, as a new object. */
+  public HyperbolicTriangle get(int idx) {
+    HyperbolicTriangle result = new HyperbolicTriangle();
+    result.A = A[idx];
+    result.B = B[idx];
+    result.C = C[idx];
+    result.a = a[idx];
+    result.b = b[idx];
+    result.c = c[idx];
+    return result;
+  }
+
+  /** π - (sum of the interior angles of the triangle at the given index). See {@link HyperbolicTriangle#angularDefect()}. */
+  public double angularDefect(int idx) {
+    return Math.PI - (a[idx] + b[idx] + c[idx]);
+  }
+
+  /** The angular defect of each triangle, in a new array. See {@link #angularDefect(int)}. */
+  public double[] angularDefects() {
+    double[] result = new double[size()];
+    for(int i = 0; i < result.length; ++i) {
+      result[i] = angularDefect(i);
+    }
+    return result;
+  }
+
+  /**
+   Solve triangles from side-side-side information. See {@link HyperbolicTriangle#fromSideSideSide(double, double, double)}.
+   Each array must have the same size as this batch.
+  */
+  public HyperbolicTriangleBatch solveSideSideSide(double[] A, double[] B, double[] C) {
+    copySides(A, B, C);
+    sideSideSide(0, size());
+    return this;
+  }
+
+  /**
+   Solve triangles from side-angle-side information. See {@link HyperbolicTriangle#fromSideAngleSide(double, double, double)}.
+   Each array must have the same size as this batch.
+  */
+  public HyperbolicTriangleBatch solveSideAngleSide(double[] A, double[] b, double[] C) {
+    copySideAngleSide(A, b, C);
+    sideAngleSide(0, size());
+    return this;
+  }
+
+  /**
+   Solve triangles from all three angles. See {@link HyperbolicTriangle#fromAngleAngleAngle(double, double, double)}.
+   Each array must have the same size as this batch.
+  */
+  public HyperbolicTriangleBatch solveAngleAngleAngle(double[] a, double[] b, double[] c) {
+    copyAngles(a, b, c);
+    angleAngleAngle(0, size());
+    return this;
+  }
+
+  /**
+   Solve triangles whose vertices are triplets of four-velocities.
+   See {@link HyperbolicTriangle#fromFourVelocities(sr.core.vec4.FourVelocity, sr.core.vec4.FourVelocity, sr.core.vec4.FourVelocity)}.
+   IMPORTANT: each triplet of four-velocities must be with respect to the same frame of reference!
+   Each batch must have the same size as this batch.
+  */
+  public HyperbolicTriangleBatch solveFourVelocities(FourVectorBatch u1, FourVectorBatch u2, FourVectorBatch u3) {
+    return solveSideSideSide(arcIntervals(u2.dot(u3)), arcIntervals(u1.dot(u3)), arcIntervals(u1.dot(u2)));
+  }
+
+  /** Parallel version of {@link #solveSideSideSide(double[], double[], double[])}. */
+  public HyperbolicTriangleBatch solveSideSideSideInParallel(double[] A, double[] B, double[] C) {
+    copySides(A, B, C);
+    ParallelRange.forEach(size(), this::sideSideSide);
+    return this;
+  }
+
+  /** Parallel version of {@link #solveSideAngleSide(double[], double[], double[])}. */
+  public HyperbolicTriangleBatch solveSideAngleSideInParallel(double[] A, double[] b, double[] C) {
+    copySideAngleSide(A, b, C);
+    ParallelRange.forEach(size(), this::sideAngleSide);
+    return this;
+  }
+
+  /** Parallel version of {@link #solveAngleAngleAngle(double[], double[], double[])}. */
+  public HyperbolicTriangleBatch solveAngleAngleAngleInParallel(double[] a, double[] b, double[] c) {
+    copyAngles(a, b, c);
+    ParallelRange.forEach(size(), this::angleAngleAngle);
+    return this;
+  }
+
+  /**
+   The angular defect (the area) of triangles given by side-side-side, in a new array, without solving for the angles.
+
+   <P>This uses the hyperbolic version of L'Huilier's formula, with <em>s</em> the semi-perimeter:
+   <pre>tan(Δ/4) = sqrt(tanh(s/2) tanh((s-A)/2) tanh((s-B)/2) tanh((s-C)/2))</pre>
+   The arrays must all have the same length.
+  */
+  public static double[] angularDefectsFromSideSideSide(double[] A, double[] B, double[] C) {
+    double[] result = new double[sameLength(A, B, C)];
+    defectsSideSideSide(A, B, C, result, 0, result.length);
+    return result;
+  }
+
+  /**
+   The angular defect (the area) of triangles given by side-angle-side, in a new array, without solving for the rest.
+
+   <P>With <em>t = tanh(side/2)</em> for the two sides:
+   <pre>tan(Δ/2) = tA tC sin(b) / (1 - tA tC cos(b))</pre>
+   The arrays must all have the same length.
+  */
+  public static double[] angularDefectsFromSideAngleSide(double[] A, double[] b, double[] C) {
+    double[] result = new double[sameLength(A, b, C)];
+    defectsSideAngleSide(A, b, C, result, 0, result.length);
+    return result;
+  }
+
+  /** Parallel version of {@link #angularDefectsFromSideSideSide(double[], double[], double[])}. */
+  public static double[] angularDefectsFromSideSideSideInParallel(double[] A, double[] B, double[] C) {
+    double[] result = new double[sameLength(A, B, C)];
+    ParallelRange.forEach(result.length, (from, to) -> defectsSideSideSide(A, B, C, result, from, to));
+    return result;
+  }
+
+  /** Parallel version of {@link #angularDefectsFromSideAngleSide(double[], double[], double[])}. */
+  public static double[] angularDefectsFromSideAngleSideInParallel(double[] A, double[] b, double[] C) {
+    double[] result = new double[sameLength(A, b, C)];
+    ParallelRange.forEach(result.length, (from, to) -> defectsSideAngleSide(A, b, C, result, from, to));
+    return result;
+  }
+
+  /** This implementation shows at most the first few triangles. */
+  @Override public String toString() {
+    StringBuilder result = new StringBuilder("HyperbolicTriangleBatch size:" + size());
+    for(int i = 0; i < Math.min(size(), MAX_SHOWN); ++i) {
+      result.append(" ").append(get(i));
+    }
+    return result.toString();
+  }
+
+  // PRIVATE
+
+  private static final int MAX_SHOWN = 3;
+
+  private final double[] A;
+  private final double[] B;
+  private final double[] C;
+  private final double[] a;
+  private final double[] b;
+  private final double[] c;
+
+  private HyperbolicTriangleBatch(int size) {
+    this.A = new double[size];
+    this.B = new double[size];
+    this.C = new double[size];
+    this.a = new double[size];
+    this.b = new double[size];
+    this.c = new double[size];
+  }
+
+  /*
+   The kernels use the same laws of cosines as HyperbolicTriangle.
+   Math.cosh and Math.sinh are slow: one expm1 gives both, at less than half the cost of either one.
+  */
+
+  private void sideSideSide(int from, int to) {
+    for(int i = from; i < to; ++i) {
+      double emA = Math.expm1(A[i]), emB = Math.expm1(B[i]), emC = Math.expm1(C[i]);
+      double coshA = cosh(emA), coshB = cosh(emB), coshC = cosh(emC);
+      double sinhA = sinh(emA), sinhB = sinh(emB), sinhC = sinh(emC);
+      a[i] = Math.acos((coshB*coshC - coshA) / (sinhB*sinhC));
+      b[i] = Math.acos((coshA*coshC - coshB) / (sinhA*sinhC));
+      c[i] = Math.acos((coshA*coshB - coshC) / (sinhA*sinhB));
+    }
+  }
+
+  private void sideAngleSide(int from, int to) {
+    for(int i = from; i < to; ++i) {
+      double emA = Math.expm1(A[i]), emC = Math.expm1(C[i]);
+      double coshA = cosh(emA), coshC = cosh(emC);
+      double sinhA = sinh(emA), sinhC = sinh(emC);
+      B[i] = Util.arc_cosh(coshA*coshC - sinhA*sinhC*cos(b[i]));
+      double emB = Math.expm1(B[i]);
+      double coshB = cosh(emB), sinhB = sinh(emB);
+      a[i] = Math.acos((coshB*coshC - coshA) / (sinhB*sinhC));
+      c[i] = Math.acos((coshA*coshB - coshC) / (sinhA*sinhB));
+    }
+  }
+
+  private void angleAngleAngle(int from, int to) {
+    for(int i = from; i < to; ++i) {
+      double cos_a = cos(a[i]), cos_b = cos(b[i]), cos_c = cos(c[i]);
+      double sin_a = sin(a[i]), sin_b = sin(b[i]), sin_c = sin(c[i]);
+      A[i] = Util.arc_cosh((cos_b*cos_c + cos_a) / (sin_b*sin_c));
+      B[i] = Util.arc_cosh((cos_a*cos_c + cos_b) / (sin_a*sin_c));
+      C[i] = Util.arc_cosh((cos_a*cos_b + cos_c) / (sin_a*sin_b));
+    }
+  }
+
+  private static void defectsSideSideSide(double[] A, double[] B, double[] C, double[] result, int from, int to) {
+    for(int i = from; i < to; ++i) {
+      double s = (A[i] + B[i] + C[i]) / 2;
+      double product = tanhHalf(s) * tanhHalf(s - A[i]) * tanhHalf(s - B[i]) * tanhHalf(s - C[i]);
+      result[i] = 4 * Math.atan(Math.sqrt(product));
+    }
+  }
+
+  private static void defectsSideAngleSide(double[] A, double[] b, double[] C, double[] result, int from, int to) {
+    for(int i = from; i < to; ++i) {
+      double t = tanhHalf(A[i]) * tanhHalf(C[i]);
+      //t < 1, so the denominator is always positive
+      result[i] = 2 * Math.atan(t * sin(b[i]) / (1 - t * cos(b[i])));
+    }
+  }
+
+  /** cosh(x), from em = expm1(x): (e + 1/e)/2 = 1 + em<sup>2</sup>/2e. */
+  private static double cosh(double em) {
+    return 1 + em * em / (2 * (em + 1));
+  }
+
+  /** sinh(x), from em = expm1(x): (e - 1/e)/2 = em(em + 2)/2e, with no cancellation for small x. */
+  private static double sinh(double em) {
+    return em * (em + 2) / (2 * (em + 1));
+  }
+
+  /** tanh(x/2) = (e - 1)/(e + 1), from a single expm1. */
+  private static double tanhHalf(double x) {
+    double em = Math.expm1(x);
+    return em / (em + 2);
+  }
+
+  private void copySides(double[] A, double[] B, double[] C) {
+    sameSize(A, B, C);
+    System.arraycopy(A, 0, this.A, 0, size());
+    System.arraycopy(B, 0, this.B, 0, size());
+    System.arraycopy(C, 0, this.C, 0, size());
+  }
+
+  private void copySideAngleSide(double[] A, double[] b, double[] C) {
+    sameSize(A, b, C);
+    System.arraycopy(A, 0, this.A, 0, size());
+    System.arraycopy(b, 0, this.b, 0, size());
+    System.arraycopy(C, 0, this.C, 0, size());
+  }
+
+  private void copyAngles(double[] a, double[] b, double[] c) {
+    sameSize(a, b, c);
+    System.arraycopy(a, 0, this.a, 0, size());
+    System.arraycopy(b, 0, this.b, 0, size());
+    System.arraycopy(c, 0, this.c, 0, size());
+  }
+
+  private void sameSize(double[] one, double[] two, double[] three) {
+    mustHave(sameLength(one, two, three) == size(), "Arrays must have the same size as the batch: " + size());
+  }
+
+  private static int sameLength(double[] one, double[] two, double[] three) {
+    mustHave(one.length == two.length && two.length == three.length, "Arrays must have the same length.");
+    return one.length;
+  }
+
+  /** In place. See HyperbolicTriangle.arcIntervalBetween. */
+  private static double[] arcIntervals(double[] dots) {
+    for(int i = 0; i < dots.length; ++i) {
+      dots[i] = Util.arc_cosh(dots[i]);
+    }
+    return dots;
+  }
+}
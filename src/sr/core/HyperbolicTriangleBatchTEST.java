@@ -0,0 +1,104 @@
+package sr.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.component.FourVectorBatch;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourVelocity;
+
+/** Unit test. */
+class HyperbolicTriangleBatchTEST {
+
+  @Test void sideSideSide() {
+    HyperbolicTriangleBatch batch = HyperbolicTriangleBatch.of(SIDE_1.length).solveSideSideSide(SIDE_1, SIDE_2, SIDE_3);
+    for(int i = 0; i < batch.size(); ++i) {
+      sameAs(HyperbolicTriangle.fromSideSideSide(SIDE_1[i], SIDE_2[i], SIDE_3[i]), batch, i, SMALL);
+    }
+    double[] fast = HyperbolicTriangleBatch.angularDefectsFromSideSideSide(SIDE_1, SIDE_2, SIDE_3);
+    double[] defects = batch.angularDefects();
+    for(int i = 0; i < batch.size(); ++i) {
+      assertEquals(defects[i], fast[i], SMALL);
+    }
+  }
+
+  @Test void sideAngleSide() {
+    HyperbolicTriangleBatch batch = HyperbolicTriangleBatch.of(SIDE_1.length).solveSideAngleSide(SIDE_1, ANGLE_1, SIDE_3);
+    for(int i = 0; i < batch.size(); ++i) {
+      sameAs(HyperbolicTriangle.fromSideAngleSide(SIDE_1[i], ANGLE_1[i], SIDE_3[i]), batch, i, SMALL);
+    }
+    double[] fast = HyperbolicTriangleBatch.angularDefectsFromSideAngleSide(SIDE_1, ANGLE_1, SIDE_3);
+    for(int i = 0; i < batch.size(); ++i) {
+      assertEquals(batch.angularDefect(i), fast[i], SMALL);
+    }
+  }
+
+  @Test void angleAngleAngle() {
+    HyperbolicTriangleBatch batch = HyperbolicTriangleBatch.of(ANGLE_1.length).solveAngleAngleAngle(ANGLE_1, ANGLE_2, ANGLE_3);
+    for(int i = 0; i < batch.size(); ++i) {
+      sameAs(HyperbolicTriangle.fromAngleAngleAngle(ANGLE_1[i], ANGLE_2[i], ANGLE_3[i]), batch, i, SMALL);
+    }
+  }
+
+  @Test void fourVelocities() {
+    FourVelocity u1 = FourVelocity.of(Velocity.zero());
+    FourVelocity u2 = FourVelocity.of(Velocity.of(-0.2, 0.0, 0.0));
+    FourVelocity u3 = FourVelocity.of(Velocity.of(0.1, 0.2, 0.3));
+    HyperbolicTriangleBatch batch = HyperbolicTriangleBatch.of(1).solveFourVelocities(
+      FourVectorBatch.of(List.of(u1)), FourVectorBatch.of(List.of(u2)), FourVectorBatch.of(List.of(u3))
+    );
+    HyperbolicTriangle expected = HyperbolicTriangle.fromFourVelocities(u1, u2, u3);
+    assertEquals(expected.angularDefect(), batch.angularDefect(0), SMALL);
+    assertEquals(expected.A, batch.A(0), SMALL);
+    assertEquals(expected.B, batch.B(0), SMALL);
+    assertEquals(expected.C, batch.C(0), SMALL);
+  }
+
+  @Test void parallelIsSameAsSequential() {
+    int size = 3 * ParallelRange.threshold() + 7;
+    double[] one = new double[size];
+    double[] two = new double[size];
+    double[] angle = new double[size];
+    for(int i = 0; i < size; ++i) {
+      one[i] = 0.1 + (i % 97) / 20.0;
+      two[i] = 0.1 + (i % 89) / 25.0;
+      angle[i] = 0.01 + (i % 311) / 100.0;
+    }
+    HyperbolicTriangleBatch seq = HyperbolicTriangleBatch.of(size).solveSideAngleSide(one, angle, two);
+    HyperbolicTriangleBatch par = HyperbolicTriangleBatch.of(size).solveSideAngleSideInParallel(one, angle, two);
+    for(int i = 0; i < size; ++i) {
+      sameAs(seq.get(i), par, i, 0.0);
+    }
+    assertEquals(true, Arrays.equals(
+      HyperbolicTriangleBatch.angularDefectsFromSideAngleSide(one, angle, two),
+      HyperbolicTriangleBatch.angularDefectsFromSideAngleSideInParallel(one, angle, two)
+    ));
+  }
+
+  @Test void sizesMustMatch() {
+    assertThrows(RuntimeException.class, () -> HyperbolicTriangleBatch.of(2).solveSideSideSide(SIDE_1, SIDE_2, SIDE_3));
+    assertThrows(RuntimeException.class, () -> HyperbolicTriangleBatch.angularDefectsFromSideSideSide(SIDE_1, SIDE_2, new double[1]));
+  }
+
+  private void sameAs(HyperbolicTriangle expected, HyperbolicTriangleBatch batch, int idx, double tolerance) {
+    assertEquals(expected.A, batch.A(idx), tolerance);
+    assertEquals(expected.B, batch.B(idx), tolerance);
+    assertEquals(expected.C, batch.C(idx), tolerance);
+    assertEquals(expected.a, batch.a(idx), tolerance);
+    assertEquals(expected.b, batch.b(idx), tolerance);
+    assertEquals(expected.c, batch.c(idx), tolerance);
+  }
+
+  private static final double[] SIDE_1 = {0.001, 1.0, 4.0, 1.0, 0.1, 2.5};
+  private static final double[] SIDE_2 = {0.001, 1.0, 5.0, 1.5, 0.12, 3.0};
+  private static final double[] SIDE_3 = {0.001, 1.2, 8.0, 2.0, 0.15, 0.8};
+  private static final double[] ANGLE_1 = {Math.PI/3, Math.PI/2, 0.3, 2.0, 1.0, 0.5};
+  private static final double[] ANGLE_2 = {Math.PI/3, Math.PI/4, 0.4, 0.3, 1.0, 0.5};
+  private static final double[] ANGLE_3 = {Math.PI/3, Math.PI/5, 0.2, 0.3, 1.0, 0.5};
+  private static final double SMALL = 1.0E-9;
+}
@@ -2,6 +2,7 @@ package sr.core;
 
 import sr.core.vec3.AxisAngle;
 import sr.core.vec3.Direction;
+import sr.core.vec3.Rapidity;
 import sr.core.vec3.ThreeVector;
 import sr.core.vec3.Velocity;
 import sr.core.vec4.FourVelocity;
@@ -29,6 +30,20 @@ public final class KinematicRotation {
   public static KinematicRotation of(Velocity veloOne, Velocity veloTwo) {
     return new KinematicRotation(veloOne, veloTwo);
   }  
+
+  /**
+   Factory method, using rapidities.
+   When the rapidities are along the same line, or either is zero, the kinematic rotation is known to be 0,
+   and no velocities are built.
+   Otherwise, as in {@link #of(Velocity, Velocity)}.
+  */
+  public static KinematicRotation of(Rapidity one, Rapidity two) {
+    if (one.isCollinearWith(two)) {
+      return NONE;
+    }
+    return new KinematicRotation(one.velocity(), two.velocity());
+  }
+  
   /**
    The full kinematic (Wigner) rotation as a rotation, with both direction and magnitude.
    The direction is parallel to the direction of the cross-product <em>veloTwo x veloOne</em>.
@@ -95,8 +110,74 @@ public final class KinematicRotation {
     return result;
   }
 
+  /**
+   The magnitude of the kinematic (Wigner) rotation angle, from a closed-form expression.
+   No objects are created.
+   
+   <P>The triangle on the unit hyperboloid (see {@link #θw()}) has two sides meeting at the point at rest.
+   If <em>t = tanh(φ/2)</em> for each rapidity, then its angular defect satisfies
+   <pre>tan(θw/2) = t1 t2 sin(θ) / (1 + t1 t2 cos(θ))</pre>
+   where <em>θ</em> is the angle between the two velocities.
+   
+   @param β1 the speed of the first velocity, in the range [0,1), excluding 1.
+   @param β2 the speed of the second velocity, in the range [0,1), excluding 1.
+   @param angleBetween the angle between the two velocities, in radians.
+   @return range 0..π when the angle between is in the range 0..π. 
+  */
+  public static double θw(double β1, double β2, double angleBetween) {
+    double t = tanhHalfRapidity(β1) * tanhHalfRapidity(β2);
+    //t < 1, so the denominator is always positive, and atan is enough (it's faster than atan2)
+    return 2 * Math.atan(t * Math.sin(angleBetween) / (1 + t * Math.cos(angleBetween)));
+  }
+  
+  /**
+   The same as {@link #θw(double, double, double)}, for many triples <em>(β1, β2, angleBetween)</em>.
+   Large arrays are split into pieces, which are processed on many cores (see {@link ParallelRange}).
+   The results are identical to the sequential results. 
+   All arrays must have the same length.
+   @param result receives the kinematic rotation angle for each triple.
+  */
+  public static void θw(double[] β1, double[] β2, double[] angleBetween, double[] result) {
+    int size = result.length;
+    Util.mustHave(
+      β1.length == size && β2.length == size && angleBetween.length == size, 
+      "Arrays must have the same length."
+    );
+    ParallelRange.forEach(size, (from, to) -> {
+      for(int i = from; i < to; ++i) {
+        result[i] = θw(β1[i], β2[i], angleBetween[i]);
+      }
+    });
+  }
+  
+  /**
+   The full kinematic (Wigner) rotation, from a closed-form expression. 
+   The same as {@link #rotation()}, but without building a hyperbolic triangle.
+   
+   <P>The angle is from {@link #θw(double, double, double)}, using the dot and cross products in place of 
+   the speeds and the angle between the velocities.
+   
+   @return (0,0,0) if either speed is 0, or if the velocities are in the same line. 
+  */
+  public static AxisAngle rotation(Velocity veloOne, Velocity veloTwo) {
+    Util.mustHaveSpeedRange(veloOne.magnitude());
+    Util.mustHaveSpeedRange(veloTwo.magnitude());
+    double s = 1.0 / ((1 + 1 / veloOne.Γ()) * (1 + 1 / veloTwo.Γ()));
+    ThreeVector axis = veloTwo.cross(veloOne);
+    double sinPart = axis.magnitude();
+    if (sinPart == 0.0) {
+      return AxisAngle.zero();
+    }
+    double θw = 2 * Math.atan(s * sinPart / (1 + s * veloOne.dot(veloTwo)));
+    ThreeVector rot = axis.times(θw / sinPart);
+    return AxisAngle.of(rot.x(), rot.y(), rot.z());
+  }
+
   private Velocity veloOne;
   private Velocity veloTwo;
+  
+  /** No rotation. Zero velocities along the same line. */
+  private static final KinematicRotation NONE = new KinematicRotation(Velocity.zero(), Velocity.zero());
 
   private KinematicRotation(Velocity one, Velocity two) {
     check(one, two);
@@ -127,6 +208,15 @@ public final class KinematicRotation {
     }
   }
   
+  /** 
+   tanh(φ/2) = β / (1 + 1/Γ). 
+   The square root uses (1 - β)(1 + β), which keeps its digits when β is near 1. 
+  */
+  private static double tanhHalfRapidity(double β) {
+    Util.mustHaveSpeedRange(β);
+    return β / (1 + Math.sqrt((1 - β) * (1 + β)));
+  }
+  
   private boolean noZeroes() {
     return 
       veloOne.magnitude() > 0 && 
@@ -86,6 +86,40 @@ class KinematicRotationTEST {
     assertEquals(direction.on(Axis.Z), crossProductDir.z());
   }
   
+  @Test void closedFormAgrees() {
+    for(SpeedValues β1 : SpeedValues.upToFourNines()) {
+      for(SpeedValues β2 : SpeedValues.upToFourNines()) {
+        Velocity one = Velocity.of(β1.β(), Axis.X);
+        for(int deg = 0; deg <= 180; deg += 15) {
+          double angle = Util.degsToRads(deg);
+          Velocity two = Velocity.of(β2.β(), Direction.of(Math.cos(angle), Math.sin(angle), 0.0));
+          KinematicRotation kr = KinematicRotation.of(one, two);
+          double θw = KinematicRotation.θw(β1.β(), β2.β(), angle);
+          assertEquals(kr.θw(), θw, smallDiff);
+          assertEquals(kr.θwAngleBetweenTwoResultants(), θw, 1.0E-6);
+          AxisAngle rotation = KinematicRotation.rotation(one, two);
+          assertEquals(0.0, rotation.minus(kr.rotation()).magnitude(), smallDiff);
+        }
+      }
+    }
+  }
+
+  @Test void closedFormBatch() {
+    double[] β1 = {0.0, 0.5, 0.6, 0.9999, 0.3};
+    double[] β2 = {0.7, 0.3, 0.8, 0.9999, 0.3};
+    double[] angle = {1.0, Math.PI/2, Math.PI/2, 3.1, Math.PI};
+    double[] result = new double[β1.length];
+    KinematicRotation.θw(β1, β2, angle, result);
+    for(int i = 0; i < result.length; ++i) {
+      assertEquals(KinematicRotation.θw(β1[i], β2[i], angle[i]), result[i]);
+    }
+    assertEquals(0.0, result[0]);
+    assertEquals(0.0822333198675178, result[1], onlyTinyDiff);
+    assertEquals(0.3302973548292538, result[2], onlyTinyDiff);
+    assertEquals(0.0, result[4], onlyTinyDiff);
+    assertThrows(RuntimeException.class, () -> KinematicRotation.θw(1.0, 0.5, 1.0));
+  }
+
   /** Not really a test per se. Meant to flag changes to the outputs after code changes. */
   @Test void testChangesAlterCalc() {
     KinematicRotation kr = KinematicRotation.of(veloX, veloY);
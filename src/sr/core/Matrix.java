@@ -5,6 +5,8 @@ import sr.core.component.Components;
 /**
  Basic matrix operations. 
  Based on https://introcs.cs.princeton.edu/java/95linear/Matrix.java.html
+ 
+ <P>For 4x4 matrices, {@link Matrix4} is much faster.
 */
 public final class Matrix {
 
@@ -0,0 +1,288 @@
+package sr.core;
+
+import static sr.core.Util.mustHave;
+
+import sr.core.component.Components;
+
+/**
+ A 4x4 matrix, for the Lorentz transformations and other operations on 4-vectors.
+ 
+ <P>All 16 elements are held in fields, and every operation is written out in full, with no loops. 
+ No arrays are created.
+ Use this class instead of {@link Matrix} when the matrix is 4x4, since it's much faster.
+ 
+ <P>Here, ct-x-y-z maps to index 0-1-2-3. 
+ The first index is the row, and the second index is the column.
+ Objects of this class are immutable.
+*/
+public final class Matrix4 {
+  
+  /** Factory method. The data are passed row by row. */
+  public static Matrix4 of(
+    double m00, double m01, double m02, double m03,
+    double m10, double m11, double m12, double m13,
+    double m20, double m21, double m22, double m23,
+    double m30, double m31, double m32, double m33
+  ) {
+    return new Matrix4(
+      m00, m01, m02, m03, 
+      m10, m11, m12, m13, 
+      m20, m21, m22, m23, 
+      m30, m31, m32, m33
+    );
+  }
+  
+  /** 
+   Factory method based on an array of arrays.
+   @param data has data[1][2] for row 1, column 2, for example. Must be 4x4.
+  */
+  public static Matrix4 of(double[][] data) {
+    Util.mustHave(data.length == 4 && data[0].length == 4 && data[1].length == 4 && data[2].length == 4 && data[3].length == 4, "Data must be 4x4.");
+    return new Matrix4(
+      data[0][0], data[0][1], data[0][2], data[0][3], 
+      data[1][0], data[1][1], data[1][2], data[1][3], 
+      data[2][0], data[2][1], data[2][2], data[2][3], 
+      data[3][0], data[3][1], data[3][2], data[3][3]
+    );
+  }
+  
+  /** The 4x4 identity matrix. */
+  public static Matrix4 identity() {
+    return IDENTITY;
+  }
+  
+  /** A matrix with the given values on the diagonal, and 0 elsewhere. */
+  public static Matrix4 diagonal(double m00, double m11, double m22, double m33) {
+    return new Matrix4(
+      m00, 0.0, 0.0, 0.0, 
+      0.0, m11, 0.0, 0.0, 
+      0.0, 0.0, m22, 0.0, 
+      0.0, 0.0, 0.0, m33
+    );
+  }
+  
+  /** Return an element of the matrix. @param row 0..3 @param col 0..3 */
+  public double get(int row, int col) {
+    mustHave(row >= 0 && row <= 3 && col >= 0 && col <= 3, () -> "Index out of range 0..3: " + row + "," + col);
+    switch (4 * row + col) {
+      case 0: return m00;
+      case 1: return m01;
+      case 2: return m02;
+      case 3: return m03;
+      case 4: return m10;
+      case 5: return m11;
+      case 6: return m12;
+      case 7: return m13;
+      case 8: return m20;
+      case 9: return m21;
+      case 10: return m22;
+      case 11: return m23;
+      case 12: return m30;
+      case 13: return m31;
+      case 14: return m32;
+      default: return m33;
+    }
+  }
+  
+  /** Matrix multiplication, return this * that. */
+  public Matrix4 times(Matrix4 that) {
+    Matrix4 b = that;
+    return new Matrix4(
+      m00 * b.m00 + m01 * b.m10 + m02 * b.m20 + m03 * b.m30,
+      m00 * b.m01 + m01 * b.m11 + m02 * b.m21 + m03 * b.m31,
+      m00 * b.m02 + m01 * b.m12 + m02 * b.m22 + m03 * b.m32,
+      m00 * b.m03 + m01 * b.m13 + m02 * b.m23 + m03 * b.m33,
+      
+      m10 * b.m00 + m11 * b.m10 + m12 * b.m20 + m13 * b.m30,
+      m10 * b.m01 + m11 * b.m11 + m12 * b.m21 + m13 * b.m31,
+      m10 * b.m02 + m11 * b.m12 + m12 * b.m22 + m13 * b.m32,
+      m10 * b.m03 + m11 * b.m13 + m12 * b.m23 + m13 * b.m33,
+      
+      m20 * b.m00 + m21 * b.m10 + m22 * b.m20 + m23 * b.m30,
+      m20 * b.m01 + m21 * b.m11 + m22 * b.m21 + m23 * b.m31,
+      m20 * b.m02 + m21 * b.m12 + m22 * b.m22 + m23 * b.m32,
+      m20 * b.m03 + m21 * b.m13 + m22 * b.m23 + m23 * b.m33,
+      
+      m30 * b.m00 + m31 * b.m10 + m32 * b.m20 + m33 * b.m30,
+      m30 * b.m01 + m31 * b.m11 + m32 * b.m21 + m33 * b.m31,
+      m30 * b.m02 + m31 * b.m12 + m32 * b.m22 + m33 * b.m32,
+      m30 * b.m03 + m31 * b.m13 + m32 * b.m23 + m33 * b.m33
+    );
+  }
+  
+  /** Matrix multiplication, return this * v. */
+  public Vector4 times(Vector4 v) {
+    return Vector4.of(
+      m00 * v.ct() + m01 * v.x() + m02 * v.y() + m03 * v.z(),
+      m10 * v.ct() + m11 * v.x() + m12 * v.y() + m13 * v.z(),
+      m20 * v.ct() + m21 * v.x() + m22 * v.y() + m23 * v.z(),
+      m30 * v.ct() + m31 * v.x() + m32 * v.y() + m33 * v.z()
+    );
+  }
+  
+  /** Matrix multiplication, return this * v. The components must include the time component. */
+  public Components times(Components v) {
+    mustHave(v.hasSpaceAndTime(), () -> "Doesn't have both space and time components: " + v);
+    double ct = v.ct(); 
+    double x = v.x(); 
+    double y = v.y(); 
+    double z = v.z();
+    return Components.of(
+      m00 * ct + m01 * x + m02 * y + m03 * z, 
+      m10 * ct + m11 * x + m12 * y + m13 * z, 
+      m20 * ct + m21 * x + m22 * y + m23 * z, 
+      m30 * ct + m31 * x + m32 * y + m33 * z
+    );
+  }
+  
+  /**
+   Multiply this matrix by the given column (<em>ct,x,y,z</em>), and place the result in the given array.
+   Creates no objects.
+   @param out has length 4 at least; on return, holds the resulting <em>ct,x,y,z</em>, in that order.
+  */
+  public void times(double ct, double x, double y, double z, double[] out) {
+    out[0] = m00 * ct + m01 * x + m02 * y + m03 * z;
+    out[1] = m10 * ct + m11 * x + m12 * y + m13 * z;
+    out[2] = m20 * ct + m21 * x + m22 * y + m23 * z;
+    out[3] = m30 * ct + m31 * x + m32 * y + m33 * z;
+  }
+  
+  /** Matrix addition this + that. */
+  public Matrix4 plus(Matrix4 that) {
+    Matrix4 b = that;
+    return new Matrix4(
+      m00 + b.m00, m01 + b.m01, m02 + b.m02, m03 + b.m03, 
+      m10 + b.m10, m11 + b.m11, m12 + b.m12, m13 + b.m13, 
+      m20 + b.m20, m21 + b.m21, m22 + b.m22, m23 + b.m23, 
+      m30 + b.m30, m31 + b.m31, m32 + b.m32, m33 + b.m33
+    );
+  }
+  
+  /** Return new matrix, each component of which is multiplied by the given scalar. */
+  public Matrix4 scalarMultiple(double val) {
+    return new Matrix4(
+      val * m00, val * m01, val * m02, val * m03, 
+      val * m10, val * m11, val * m12, val * m13, 
+      val * m20, val * m21, val * m22, val * m23, 
+      val * m30, val * m31, val * m32, val * m33
+    );
+  }
+  
+  /** Return the transpose of this matrix. */
+  public Matrix4 transpose() {
+    return new Matrix4(
+      m00, m10, m20, m30, 
+      m01, m11, m21, m31, 
+      m02, m12, m22, m32, 
+      m03, m13, m23, m33
+    );
+  }
+  
+  /** The determinant of this matrix. */
+  public double determinant() {
+    //Laplace expansion, using the 2x2 determinants from the top two rows and the bottom two rows
+    double s0 = m00 * m11 - m10 * m01;
+    double s1 = m00 * m12 - m10 * m02;
+    double s2 = m00 * m13 - m10 * m03;
+    double s3 = m01 * m12 - m11 * m02;
+    double s4 = m01 * m13 - m11 * m03;
+    double s5 = m02 * m13 - m12 * m03;
+    double c5 = m22 * m33 - m32 * m23;
+    double c4 = m21 * m33 - m31 * m23;
+    double c3 = m21 * m32 - m31 * m22;
+    double c2 = m20 * m33 - m30 * m23;
+    double c1 = m20 * m32 - m30 * m22;
+    double c0 = m20 * m31 - m30 * m21;
+    return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+  }
+  
+  /** 
+   The determinant of the lower-right 3x3 part of this matrix.
+   For a Lorentz transformation, this is negative only when the spatial axes are reversed. 
+  */
+  public double spatialDeterminant() {
+    return 
+      m11 * (m22 * m33 - m23 * m32) - 
+      m12 * (m21 * m33 - m23 * m31) + 
+      m13 * (m21 * m32 - m22 * m31)
+    ;
+  }
+  
+  /** 
+   Return the inverse of this matrix.
+   @throws RuntimeException if the determinant is 0. 
+  */
+  public Matrix4 inverse() {
+    //the same 2x2 determinants as in determinant(); the inverse is the adjugate divided by the determinant
+    double s0 = m00 * m11 - m10 * m01;
+    double s1 = m00 * m12 - m10 * m02;
+    double s2 = m00 * m13 - m10 * m03;
+    double s3 = m01 * m12 - m11 * m02;
+    double s4 = m01 * m13 - m11 * m03;
+    double s5 = m02 * m13 - m12 * m03;
+    double c5 = m22 * m33 - m32 * m23;
+    double c4 = m21 * m33 - m31 * m23;
+    double c3 = m21 * m32 - m31 * m22;
+    double c2 = m20 * m33 - m30 * m23;
+    double c1 = m20 * m32 - m30 * m22;
+    double c0 = m20 * m31 - m30 * m21;
+    double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+    Util.mustHave(det != 0.0, "Can't invert. The determinant is 0.");
+    double k = 1.0 / det;
+    return new Matrix4(
+      ( m11 * c5 - m12 * c4 + m13 * c3) * k,
+      (-m01 * c5 + m02 * c4 - m03 * c3) * k,
+      ( m31 * s5 - m32 * s4 + m33 * s3) * k,
+      (-m21 * s5 + m22 * s4 - m23 * s3) * k,
+      
+      (-m10 * c5 + m12 * c2 - m13 * c1) * k,
+      ( m00 * c5 - m02 * c2 + m03 * c1) * k,
+      (-m30 * s5 + m32 * s2 - m33 * s1) * k,
+      ( m20 * s5 - m22 * s2 + m23 * s1) * k,
+      
+      ( m10 * c4 - m11 * c2 + m13 * c0) * k,
+      (-m00 * c4 + m01 * c2 - m03 * c0) * k,
+      ( m30 * s4 - m31 * s2 + m33 * s0) * k,
+      (-m20 * s4 + m21 * s2 - m23 * s0) * k,
+      
+      (-m10 * c3 + m11 * c1 - m12 * c0) * k,
+      ( m00 * c3 - m01 * c1 + m02 * c0) * k,
+      (-m30 * s3 + m31 * s1 - m32 * s0) * k,
+      ( m20 * s3 - m21 * s1 + m22 * s0) * k
+    );
+  }
+  
+  /** This implementation applies rounding. */
+  @Override public String toString() {
+    StringBuilder result = new StringBuilder("[");
+    for(int row = 0; row < 4; ++row) {
+      result.append("[");
+      for(int col = 0; col < 4; ++col) {
+        result.append(Util.round(get(row, col), 5)).append(col < 3 ? ", " : "]");
+      }
+    }
+    return result.append("]").toString();
+  }
+  
+  // PRIVATE
+  
+  private static final Matrix4 IDENTITY = diagonal(1.0, 1.0, 1.0, 1.0);
+  
+  /** First index is the row, and the second index is the column, 0..3. */
+  private final double m00, m01, m02, m03;
+  private final double m10, m11, m12, m13;
+  private final double m20, m21, m22, m23;
+  private final double m30, m31, m32, m33;
+  
+  private Matrix4(
+    double m00, double m01, double m02, double m03,
+    double m10, double m11, double m12, double m13,
+    double m20, double m21, double m22, double m23,
+    double m30, double m31, double m32, double m33
+  ) {
+    this.m00 = m00; this.m01 = m01; this.m02 = m02; this.m03 = m03;
+    this.m10 = m10; this.m11 = m11; this.m12 = m12; this.m13 = m13;
+    this.m20 = m20; this.m21 = m21; this.m22 = m22; this.m23 = m23;
+    this.m30 = m30; this.m31 = m31; this.m32 = m32; this.m33 = m33;
+  }
+}
@@ -0,0 +1,103 @@
+package sr.core;
+
+import static sr.core.Util.mustHave;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ Run an action over a range of indices, in parallel, on the common {@link ForkJoinPool}.
+ 
+ <P>The range is split in half, again and again, until each piece is no larger than a threshold.
+ Each piece is then processed sequentially.
+ Each index is processed exactly once, by exactly one thread. 
+ If the action for an index writes only to that index, then the result is the same as the sequential result, 
+ whatever the number of cores.
+ 
+ <P>The default threshold is {@value #DEFAULT_THRESHOLD}.
+ Ranges no larger than the threshold are processed on the calling thread.  
+*/
+public final class ParallelRange {
+  
+  /** 
+   Allows override of the default threshold, by using a System property.
+   
+   <P>Example: 
+   <pre>java -Dsr-core-parallel-threshold=20000</pre>
+   
+   Value - {@value}.
+  */
+  public static final String THRESHOLD = "sr-core-parallel-threshold";
+  
+  /** 
+   The default threshold: {@value}. 
+   For 4 arrays of doubles, this is 256K bytes, the size of a typical L2 cache.  
+  */
+  public static final int DEFAULT_THRESHOLD = 8192;
+  
+  /** An action on the indices from <em>from</em> (inclusive) to <em>to</em> (exclusive). */
+  public interface RangeAction {
+    void run(int from, int to);
+  }
+  
+  /** The largest range that is processed sequentially. */
+  public static int threshold() {
+    return THRESHOLD_VALUE;
+  }
+  
+  /** Run the given action over the indices 0..size-1, using the default threshold. */
+  public static void forEach(int size, RangeAction action) {
+    forEach(size, threshold(), action);
+  }
+  
+  /** 
+   Run the given action over the indices 0..size-1.
+   @param threshold the largest range that is processed sequentially; must be positive. 
+  */
+  public static void forEach(int size, int threshold, RangeAction action) {
+    mustHave(threshold > 0, "Threshold must be positive: " + threshold);
+    if (size <= threshold) {
+      action.run(0, size);
+    }
+    else {
+      ForkJoinPool.commonPool().invoke(new Split(0, size, threshold, action));
+    }
+  }
+  
+  // PRIVATE
+  
+  private static final int THRESHOLD_VALUE = thresholdFromSystemProperty();
+  
+  private static int thresholdFromSystemProperty() {
+    int result = DEFAULT_THRESHOLD;
+    String sysProperty = System.getProperty(THRESHOLD);
+    if (Util.hasContent(sysProperty)) {
+      result = Integer.valueOf(sysProperty);
+      mustHave(result > 0, "Threshold must be positive: " + result);
+    }
+    return result;
+  }
+  
+  private static final class Split extends RecursiveAction {
+    Split(int from, int to, int threshold, RangeAction action){
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+      this.action = action;
+    }
+    @Override protected void compute() {
+      if (to - from <= threshold) {
+        action.run(from, to);
+      }
+      else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new Split(from, middle, threshold, action), new Split(middle, to, threshold, action));
+      }
+    }
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final RangeAction action;
+    private static final long serialVersionUID = 1L;
+  }
+}
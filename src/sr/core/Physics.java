@@ -101,12 +101,23 @@ public final class Physics {
   */
   public static final BigDecimal Γ(BigDecimal β) {
     BigDecimal numer = new BigDecimal("1.0");
-    BigDecimal a = BigDecimal.ONE.subtract(β.pow(2, LARGE_NUM_DECIMALS));
+    //1 - β^2 = (1 - β)(1 + β): rounding β^2 to NUM_DECIMALS digits would lose most of the digits of the small difference
+    BigDecimal a = BigDecimal.ONE.subtract(β).multiply(BigDecimal.ONE.add(β), LARGE_NUM_DECIMALS);
     BigDecimal denom = a.sqrt(LARGE_NUM_DECIMALS);
     BigDecimal result = numer.divide(denom, LARGE_NUM_DECIMALS);
     return result;
   }
   
+  /** 
+   The warp factor (Lorentz factor). Dimensionless.
+   For β extremely close to 1, as for {@link #Γ(BigDecimal)}, but with about 32 significant digits, and much faster. 
+   Uses 1 - β<sup>2</sup> = (1 - β)(1 + β), which keeps all the digits of the small difference between β and 1. 
+  */
+  public static final DoubleDouble Γ(DoubleDouble β) {
+    DoubleDouble a = DoubleDouble.ONE.minus(β).times(DoubleDouble.ONE.plus(β));
+    return DoubleDouble.ONE.dividedBy(a.sqrt());
+  }
+  
   /**
    New angle for a boosted stick.
    
@@ -39,12 +39,15 @@ public enum SpeedValues {
   /** 
    Speed of a proton having an energy of 10^20 eV, as seen in the most extreme cosmic rays. 
    WARNING: this speed is very close to 1, and {@link Double} cannot be used to represent it.  
-   Use {@link BigDecimal} instead!
+   Use {@link BigDecimal} or {@link DoubleDouble} instead!
   */
   PROTON_EXTREME_COSMIC_RAY("0.99999999999999999999995598229");
   
   public BigDecimal βBigDecimal() { return β; }
   
+  /** With about 32 significant digits, enough to represent all of these speeds. */
+  public DoubleDouble βDoubleDouble() { return DoubleDouble.of(β); }
+  
   /** WARNING: when very close to 1, a double has insufficient precision to represent this value. */
   public Double β() { return β.doubleValue(); }
   public Double Γ() { return Γ.doubleValue(); }
@@ -9,6 +9,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.function.Supplier;
 
 /** 
  Utility constants and methods. 
@@ -49,11 +50,54 @@ public final class Util {
     return rads * 1.0/CONVERT_RADS;
   }
   
+  /**
+   Round to the given number of decimal places, using {@link RoundingMode#HALF_EVEN} on the digits of {@link Double#toString(double)}.
+   
+   <P>The result is the same as using {@link BigDecimal#valueOf(double)}. 
+   But {@link BigDecimal} is used only when needed: when the value is very close to a tie, or very large.
+   The result is never a negative zero. 
+  */
   public static double round(double value, int places) {
     if (places < 0) throw new IllegalArgumentException();
-    BigDecimal bd = BigDecimal.valueOf(value);
-    bd = bd.setScale(places, RoundingMode.HALF_EVEN);
-    return bd.doubleValue();
+    long scaled = roundedScaled(value, places);
+    if (scaled < 0) {
+      BigDecimal bd = BigDecimal.valueOf(value);
+      bd = bd.setScale(places, RoundingMode.HALF_EVEN);
+      return bd.doubleValue();
+    }
+    if (scaled == 0) {
+      return 0.0;
+    }
+    //both are exact, so the division is correctly rounded, as in BigDecimal.doubleValue
+    double result = scaled / POWERS_OF_TEN[places];
+    return value < 0 ? -result : result;
+  }
+  
+  /**
+   Return <em>|value| * 10<sup>places</sup></em>, rounded to the nearest integer.
+   Return -1 if the result is not certain to be the same as rounding the digits of {@link Double#toString(double)} 
+   with {@link BigDecimal}. 
+   That happens when the value is not finite, when it's too large, or when it's so close to a tie that the rounding 
+   errors of double arithmetic might matter.
+   
+   <P>Away from ties, half-even rounding and half-up rounding agree, so this method serves both. 
+  */
+  public static long roundedScaled(double value, int places) {
+    if (!Double.isFinite(value) || places < 0 || places >= POWERS_OF_TEN.length) {
+      return -1;
+    }
+    double scaled = Math.abs(value) * POWERS_OF_TEN[places];
+    if (scaled >= TWO_TO_THE_52) {
+      return -1;
+    }
+    double floor = Math.floor(scaled);
+    double fraction = scaled - floor;
+    //the error of the multiplication, plus the gap between the value and the digits of its toString 
+    double margin = 2 * (Math.ulp(scaled) + Math.ulp(value) * POWERS_OF_TEN[places]);
+    if (Math.abs(fraction - 0.5) <= margin) {
+      return -1;
+    }
+    return (long)floor + (fraction > 0.5 ? 1 : 0);
   }
   
   /** Compare to {@link Epsilon#ε()}. */
@@ -77,6 +121,13 @@ public final class Util {
     }
   }
   
+  /** Check data: if the test fails, a RuntimeException is thrown. The message is built only when the test fails. */
+  public static void mustHave(boolean test, Supplier<String> msg) {
+    if (!test) {
+      throw new RuntimeException(msg.get());
+    }
+  }
+  
   /** Check data: the given axis must be spatial, not temporal. */
   public static void mustBeSpatial(Axis axis) {
     mustHave(axis.isSpatial(), "Cannot use the time axis for this operation.");
@@ -84,7 +135,8 @@ public final class Util {
   
   /** Check data: the speed must be in the range (-1,1). */
   public static void mustHaveSpeedRange(double β) {
-    mustHave(β > -1 && β < 1, "Speed β=" + β + " is not in the range (-1,1).");
+    //called very often
+    mustHave(β > -1 && β < 1, () -> "Speed β=" + β + " is not in the range (-1,1).");
   }
 
   /**
@@ -93,8 +145,7 @@ public final class Util {
    You can override the user.dir directory location by setting a system property named 'sr-output-dir'. 
   */
   public static void writeToFile(Class<?> aClass, String fileName, List<String> lines) {
-    String dir = outputDirectory(aClass);
-    Path path = Paths.get(dir, fileName);
+    Path path = outputPath(aClass, fileName);
     try {
       Files.write(path, lines, ENCODING);
     } 
@@ -103,6 +154,14 @@ public final class Util {
     }
   }
 
+  /** 
+   The path of an output file, in the directory used by {@link #writeToFile(Class, String, List)}.
+   The directory is not created by this method. 
+  */
+  public static Path outputPath(Class<?> aClass, String fileName) {
+    return Paths.get(outputDirectory(aClass), fileName);
+  }
+
   /** For logging, a separation line for titles and so on. */
   public static String separator(int length) {
     StringBuilder result = new StringBuilder();
@@ -138,6 +197,13 @@ public final class Util {
   private static final String SEP = "-";
 
   
+  /** Exact, as doubles. */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  
+  private static final double TWO_TO_THE_52 = 4503599627370496.0;
+  
   /** The default is the directory of the given class. Override the base dir with a System property 'sr-output-dir'. */
   private static String outputDirectory(Class<?> aClass) {
     String sep = System.getProperty("file.separator");
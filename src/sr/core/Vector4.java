@@ -0,0 +1,81 @@
+package sr.core;
+
+import sr.core.component.Components;
+
+/**
+ A 4x1 column of numbers, to be multiplied by a {@link Matrix4}.
+ 
+ <P>Here, ct-x-y-z maps to index 0-1-2-3.
+ This class knows nothing of the metric; it's simply a column of numbers.
+ Objects of this class are immutable.
+*/
+public final class Vector4 {
+  
+  /** Factory method. */
+  public static Vector4 of(double ct, double x, double y, double z) {
+    return new Vector4(ct, x, y, z);
+  }
+  
+  /** Factory method. The components must include the time component. */
+  public static Vector4 of(Components components) {
+    Util.mustHave(components.hasSpaceAndTime(), "Doesn't have both space and time components: " + components);
+    return new Vector4(components.ct(), components.x(), components.y(), components.z());
+  }
+  
+  /** All components are 0. */
+  public static Vector4 zero() {
+    return ZERO;
+  }
+  
+  public double ct() { return ct; }
+  public double x() { return x; }
+  public double y() { return y; }
+  public double z() { return z; }
+  
+  /** Return an element of the vector. @param idx 0..3 for ct-x-y-z */
+  public double get(int idx) {
+    switch (idx) {
+      case 0: return ct;
+      case 1: return x;
+      case 2: return y;
+      case 3: return z;
+      default: throw new IllegalArgumentException("Index out of range 0..3: " + idx);
+    }
+  }
+  
+  /** Return this + that. */
+  public Vector4 plus(Vector4 that) {
+    return new Vector4(ct + that.ct, x + that.x, y + that.y, z + that.z);
+  }
+  
+  /** Return a new object, each component of which is multiplied by the given scalar. */
+  public Vector4 times(double scalar) {
+    return new Vector4(scalar * ct, scalar * x, scalar * y, scalar * z);
+  }
+  
+  /** Convert to {@link Components}. */
+  public Components toComponents() {
+    return Components.of(ct, x, y, z);
+  }
+  
+  /** This implementation applies rounding. */
+  @Override public String toString() {
+    return "(" + Util.round(ct, 5) + ", " + Util.round(x, 5) + ", " + Util.round(y, 5) + ", " + Util.round(z, 5) + ")";
+  }
+  
+  // PRIVATE
+  
+  private static final Vector4 ZERO = new Vector4(0.0, 0.0, 0.0, 0.0);
+  
+  private final double ct;
+  private final double x;
+  private final double y;
+  private final double z;
+
+  private Vector4(double ct, double x, double y, double z) {
+    this.ct = ct;
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+}
@@ -1,8 +1,10 @@
 package sr.core;
 
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
 import sr.core.vec3.Direction;
 import sr.core.vec3.PhaseGradient;
+import sr.core.vec3.Rapidity;
 import sr.core.vec3.Velocity;
 import sr.core.vec4.FourPhaseGradient;
 import sr.core.vec4.FourVelocity;
@@ -41,6 +43,49 @@ public final class VelocityTransformation {
     return transform(boost_v, object_v_prime, Sense.Unprimed);
   }
   
+  /**
+   As in {@link #primedVelocity(Velocity, Velocity)}, using rapidities.
+   If the two are along the same line, the rapidities are simply subtracted.
+   Otherwise, the four-velocity (cosh φ, sinh φ <b>n</b>) is boosted.
+   Either way, Γ is never computed from β, and there's no loss of precision near β = 1.
+  */
+  public static Rapidity primedVelocity(Rapidity boost, Rapidity object) {
+    return boost.isCollinearWith(object) ? object.plus(boost.negate()) : transform(boost, object, Sense.Primed);
+  }
+  
+  /**
+   As in {@link #unprimedVelocity(Velocity, Velocity)}, using rapidities.
+   If the two are along the same line, the rapidities are simply added.
+   Otherwise, the four-velocity (cosh φ, sinh φ <b>n</b>) is boosted.
+  */
+  public static Rapidity unprimedVelocity(Rapidity boost, Rapidity object_prime) {
+    return boost.isCollinearWith(object_prime) ? boost.plus(object_prime) : transform(boost, object_prime, Sense.Unprimed);
+  }
+  
+  /**
+   As in {@link #primedVelocity(Velocity, Velocity)}, for the case in which the two velocities are along the same line.
+   Uses {@link DoubleDouble}, for speeds extremely close to 1.
+   
+   @param boost_β speed of K' in K, along some line. Either sign. Magnitude less than 1.
+   @param object_β speed of the object in K, along the same line. Either sign.
+   @return speed of the object in K', along the same line
+  */
+  public static DoubleDouble primedSpeed(DoubleDouble boost_β, DoubleDouble object_β) {
+    return transform(boost_β, object_β, Sense.Primed);
+  }
+  
+  /**
+   As in {@link #unprimedVelocity(Velocity, Velocity)}, for the case in which the two velocities are along the same line.
+   Uses {@link DoubleDouble}, for speeds extremely close to 1.
+   
+   @param boost_β speed of K' in K, along some line. Either sign. Magnitude less than 1.
+   @param object_β_prime speed of the object in K', along the same line. Either sign.
+   @return speed of the object in K, along the same line
+  */
+  public static DoubleDouble unprimedSpeed(DoubleDouble boost_β, DoubleDouble object_β_prime) {
+    return transform(boost_β, object_β_prime, Sense.Unprimed);
+  }
+  
   /**
    Do the transform.
    Because of the behaviour of Γ, this isn't very precise for the lowest speeds. 
@@ -68,6 +113,38 @@ public final class VelocityTransformation {
     return result;
   }
   
+  /** The rapidity of the boosted four-velocity comes from its spatial part, sinh φ, not from its time part. */
+  private static Rapidity transform(Rapidity boost, Rapidity u, Sense sense) {
+    Direction n = u.direction();
+    double[] u4 = new double[4];
+    LorentzBoost.of(boost, sense).apply(u.Γ(), u.βΓ() * n.x(), u.βΓ() * n.y(), u.βΓ() * n.z(), u4);
+    double βΓ = Math.sqrt(u4[1] * u4[1] + u4[2] * u4[2] + u4[3] * u4[3]);
+    if (βΓ == 0.0) {
+      return Rapidity.zero();
+    }
+    //asinh(x) = log(x + sqrt(x^2 + 1)), with log1p for small x 
+    double φ = Math.log1p(βΓ + βΓ * βΓ / (1.0 + Math.sqrt(βΓ * βΓ + 1.0)));
+    return Rapidity.of(φ, Direction.of(u4[1], u4[2], u4[3]));
+  }
+  
+  /** The usual formula for collinear speeds, (u ± β)/(1 ± uβ). */
+  private static DoubleDouble transform(DoubleDouble boost_β, DoubleDouble u, Sense sense) {
+    if (boost_β.abs().compareTo(DoubleDouble.ONE) >= 0) {
+      throw new IllegalArgumentException("Boost speed must have magnitude less than 1: " + boost_β);
+    }
+    DoubleDouble β = sense.sign() > 0 ? boost_β : boost_β.negate();
+    DoubleDouble denom = null;
+    if (u.signum() * β.signum() < 0) {
+      //uβ can be near -1: 1 - |u||β| = (1 - |u|) + |u|(1 - |β|), in which nothing cancels 
+      DoubleDouble absU = u.abs();
+      denom = DoubleDouble.ONE.minus(absU).plus(absU.times(DoubleDouble.ONE.minus(β.abs())));
+    }
+    else {
+      denom = DoubleDouble.ONE.plus(u.times(β));
+    }
+    return u.plus(β).dividedBy(denom);
+  }
+  
   private static void check(Velocity boost_v) {
      if (boost_v.magnitude() >= 1) {
        throw new IllegalArgumentException("Boost velocity must have magnitude less than 1: " + boost_v.magnitude());
@@ -0,0 +1,213 @@
+package sr.core.component;
+
+import sr.core.Matrix4;
+import sr.core.Util;
+import sr.core.Vector4;
+
+/**
+ The loops shared by {@link EventBatch} and {@link FourVectorBatch}.
+
+ <P>The data are held in 4 parallel arrays, one for each of <em>ct,x,y,z</em>.
+ The output arrays can be the same as the input arrays (for operations in place).
+ Each loop reads all 4 components for an index before writing any of them.
+
+ <P>The scalar loops are kept simple on purpose: a counted loop over an index, with no method calls,
+ no branches, and no data shared between iterations. 
+ This lets the JIT compiler turn them into SIMD instructions by itself.
+
+ <P>The transform, dot and interval loops can also use a second {@link Backend}, which calls the
+ <em>jdk.incubator.vector</em> module explicitly.
+ That backend is in a separate source tree, <em>src-vector</em>, since it needs extra compiler flags.
+ It's chosen when this class is loaded, but only if:
+ <ul>
+  <li>the module is in the boot layer (launch with <em>--add-modules jdk.incubator.vector</em>)
+  <li>its class is on the class path
+  <li>it isn't turned off with the System property {@value #VECTOR_API}
+ </ul>
+ Otherwise, the scalar loops are used.
+ Both backends do the same operations in the same order, with no fused multiply-add, so their results are identical.
+*/
+final class BatchKernel {
+
+  /** 
+   Turn off the Vector API backend, by setting this System property to <em>false</em>.
+
+   <P>Example:
+   <pre>java -Dsr-core-vector-api=false</pre>
+
+   Value - {@value}.
+  */
+  static final String VECTOR_API = "sr-core-vector-api";
+
+  /** The loops that have more than one implementation. The ranges go from <em>from</em> (inclusive) to <em>to</em> (exclusive). */
+  interface Backend {
+
+    /** Multiply each item in the range by the given matrix, and add the given displacement. */
+    void transform(
+      Matrix4 m, Vector4 d, 
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] outCt, double[] outX, double[] outY, double[] outZ, 
+      int from, int to
+    );
+
+    /** The scalar product of corresponding items in the range, with signature (+---). */
+    void dot(
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+      double[] out, int from, int to
+    );
+
+    /** The squared interval between corresponding items in the range, with signature (+---), as <em>that - this</em>. */
+    void interval(
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+      double[] out, int from, int to
+    );
+  }
+
+  /** The scalar loops. Also used by the other backend, for the items left over after its last full vector. */
+  static final Backend SCALAR = new Scalar();
+
+  /** The backend in use. */
+  static Backend backend() {
+    return BACKEND;
+  }
+
+  /** 
+   Multiply each item in the range by the given matrix, and add the given displacement.
+   @param from inclusive
+   @param to exclusive
+  */
+  static void transform(
+    Matrix4 m, Vector4 d, 
+    double[] ct, double[] x, double[] y, double[] z, 
+    double[] outCt, double[] outX, double[] outY, double[] outZ, 
+    int from, int to
+  ) {
+    BACKEND.transform(m, d, ct, x, y, z, outCt, outX, outY, outZ, from, to);
+  }
+
+  /** 
+   Multiply each item in the range by the given matrix.
+   @param from inclusive
+   @param to exclusive
+  */
+  static void transform(
+    Matrix4 m, 
+    double[] ct, double[] x, double[] y, double[] z, 
+    double[] outCt, double[] outX, double[] outY, double[] outZ, 
+    int from, int to
+  ) {
+    transform(m, Vector4.zero(), ct, x, y, z, outCt, outX, outY, outZ, from, to);
+  }
+
+  /** Multiply each item in the range by the given factor. */
+  static void scale(double factor, double[] in, double[] out, int from, int to) {
+    for(int i = from; i < to; ++i) {
+      out[i] = factor * in[i];
+    }
+  }
+
+  /** Add the given amount to each item in the range. */
+  static void add(double amount, double[] in, double[] out, int from, int to) {
+    for(int i = from; i < to; ++i) {
+      out[i] = in[i] + amount;
+    }
+  }
+
+  /** 
+   The scalar product of corresponding items in the range, with signature (+---). 
+   Can be used for the square of each item, by passing the same arrays twice.
+  */
+  static void dot(
+    double[] ct, double[] x, double[] y, double[] z, 
+    double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+    double[] out, int from, int to
+  ) {
+    BACKEND.dot(ct, x, y, z, thatCt, thatX, thatY, thatZ, out, from, to);
+  }
+
+  /** 
+   The squared interval between corresponding items in the range, with signature (+---). 
+   The difference is taken as <em>that - this</em>.
+  */
+  static void interval(
+    double[] ct, double[] x, double[] y, double[] z, 
+    double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+    double[] out, int from, int to
+  ) {
+    BACKEND.interval(ct, x, y, z, thatCt, thatX, thatY, thatZ, out, from, to);
+  }
+
+  // PRIVATE
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_BACKEND = "sr.core.component.VectorBatchKernel";
+
+  /** Static final, so the JIT compiler treats the call to the backend as a direct call. */
+  private static final Backend BACKEND = chooseBackend();
+
+  /** The Vector API backend if it can be used, and the scalar loops otherwise. */
+  private static Backend chooseBackend() {
+    Backend result = SCALAR;
+    boolean wanted = !"false".equalsIgnoreCase(System.getProperty(VECTOR_API, "").trim());
+    if (wanted && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+      try {
+        result = (Backend)Class.forName(VECTOR_BACKEND).getDeclaredConstructor().newInstance();
+      }
+      catch (ReflectiveOperationException | LinkageError ex) {
+        //not compiled, or not on the class path
+        Util.log("Using scalar batch kernels. Cannot load " + VECTOR_BACKEND + ": " + ex);
+      }
+    }
+    return result;
+  }
+
+  private static final class Scalar implements Backend {
+
+    @Override public void transform(
+      Matrix4 m, Vector4 d, 
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] outCt, double[] outX, double[] outY, double[] outZ, 
+      int from, int to
+    ) {
+      //copy to locals, so that the loop body has no method calls
+      double m00 = m.get(0, 0), m01 = m.get(0, 1), m02 = m.get(0, 2), m03 = m.get(0, 3);
+      double m10 = m.get(1, 0), m11 = m.get(1, 1), m12 = m.get(1, 2), m13 = m.get(1, 3);
+      double m20 = m.get(2, 0), m21 = m.get(2, 1), m22 = m.get(2, 2), m23 = m.get(2, 3);
+      double m30 = m.get(3, 0), m31 = m.get(3, 1), m32 = m.get(3, 2), m33 = m.get(3, 3);
+      double d0 = d.ct(), d1 = d.x(), d2 = d.y(), d3 = d.z();
+      for(int i = from; i < to; ++i) {
+        double a = ct[i], b = x[i], c = y[i], e = z[i];
+        outCt[i] = m00 * a + m01 * b + m02 * c + m03 * e + d0;
+        outX[i] = m10 * a + m11 * b + m12 * c + m13 * e + d1;
+        outY[i] = m20 * a + m21 * b + m22 * c + m23 * e + d2;
+        outZ[i] = m30 * a + m31 * b + m32 * c + m33 * e + d3;
+      }
+    }
+
+    @Override public void dot(
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+      double[] out, int from, int to
+    ) {
+      for(int i = from; i < to; ++i) {
+        out[i] = ct[i] * thatCt[i] - x[i] * thatX[i] - y[i] * thatY[i] - z[i] * thatZ[i];
+      }
+    }
+
+    @Override public void interval(
+      double[] ct, double[] x, double[] y, double[] z, 
+      double[] thatCt, double[] thatX, double[] thatY, double[] thatZ, 
+      double[] out, int from, int to
+    ) {
+      for(int i = from; i < to; ++i) {
+        double dct = thatCt[i] - ct[i]; 
+        double dx = thatX[i] - x[i]; 
+        double dy = thatY[i] - y[i]; 
+        double dz = thatZ[i] - z[i];
+        out[i] = dct * dct - dx * dx - dy * dy - dz * dz;
+      }
+    }
+  }
+}
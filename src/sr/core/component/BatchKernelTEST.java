@@ -0,0 +1,94 @@
+package sr.core.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Matrix4;
+import sr.core.Vector4;
+import sr.core.component.ops.Sense;
+import sr.core.ops.PoincareTransform;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+
+/**
+ Unit test.
+ The backend in use is the scalar one, unless the tests are run with the Vector API (see {@link BatchKernel}).
+*/
+class BatchKernelTEST {
+
+  @Test void transformSameAsScalar() {
+    Matrix4 m = PoincareTransform.identity()
+      .boost(Velocity.of(0.6, -0.2, 0.3), Sense.ChangeGrid)
+      .rotate(AxisAngle.of(0.5, -0.2, 0.7), Sense.ChangeGrid)
+      .linear()
+    ;
+    Vector4 d = Vector4.of(1.0, -2.0, 3.0, 0.5);
+    for(int[] range : RANGES) {
+      double[][] in = randomArrays(4);
+      double[][] expected = copy(in);
+      double[][] actual = copy(in);
+      BatchKernel.SCALAR.transform(m, d, in[0], in[1], in[2], in[3], expected[0], expected[1], expected[2], expected[3], range[0], range[1]);
+      BatchKernel.backend().transform(m, d, in[0], in[1], in[2], in[3], actual[0], actual[1], actual[2], actual[3], range[0], range[1]);
+      for(int i = 0; i < 4; ++i) {
+        sameBits(expected[i], actual[i]);
+      }
+      //in place
+      BatchKernel.backend().transform(m, d, in[0], in[1], in[2], in[3], in[0], in[1], in[2], in[3], range[0], range[1]);
+      for(int i = 0; i < 4; ++i) {
+        sameBits(expected[i], in[i]);
+      }
+    }
+  }
+
+  @Test void dotAndIntervalSameAsScalar() {
+    for(int[] range : RANGES) {
+      double[][] a = randomArrays(4);
+      double[][] b = randomArrays(4);
+      double[] expected = new double[SIZE];
+      double[] actual = new double[SIZE];
+      BatchKernel.SCALAR.dot(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], expected, range[0], range[1]);
+      BatchKernel.backend().dot(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], actual, range[0], range[1]);
+      sameBits(expected, actual);
+      //the square
+      BatchKernel.SCALAR.dot(a[0], a[1], a[2], a[3], a[0], a[1], a[2], a[3], expected, range[0], range[1]);
+      BatchKernel.backend().dot(a[0], a[1], a[2], a[3], a[0], a[1], a[2], a[3], actual, range[0], range[1]);
+      sameBits(expected, actual);
+      BatchKernel.SCALAR.interval(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], expected, range[0], range[1]);
+      BatchKernel.backend().interval(a[0], a[1], a[2], a[3], b[0], b[1], b[2], b[3], actual, range[0], range[1]);
+      sameBits(expected, actual);
+    }
+  }
+
+  private static final int SIZE = 1037;
+  /** Empty, shorter than a vector, not aligned at either end, and everything. */
+  private static final int[][] RANGES = {{0, 0}, {5, 7}, {3, 1030}, {0, SIZE}};
+
+  private final SplittableRandom random = new SplittableRandom(11);
+
+  private double[][] randomArrays(int count) {
+    double[][] result = new double[count][SIZE];
+    for(double[] array : result) {
+      for(int i = 0; i < SIZE; ++i) {
+        array[i] = random.nextDouble(-100.0, 100.0);
+      }
+    }
+    return result;
+  }
+
+  private double[][] copy(double[][] arrays) {
+    double[][] result = new double[arrays.length][];
+    for(int i = 0; i < arrays.length; ++i) {
+      result[i] = arrays[i].clone();
+    }
+    return result;
+  }
+
+  private void sameBits(double[] expected, double[] actual) {
+    for(int i = 0; i < expected.length; ++i) {
+      assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]));
+    }
+  }
+}
@@ -1,14 +1,10 @@
 package sr.core.component;
 
 import static sr.core.Axis.CT;
-import static sr.core.Axis.X;
-import static sr.core.Axis.Y;
-import static sr.core.Axis.Z;
 import static sr.core.Util.round;
 
 import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.EnumSet;
 import java.util.Set;
 
 import sr.core.Axis;
@@ -16,32 +12,33 @@ import sr.core.Axis;
 /** 
  Three or four components corresponding the <em>ct</em>, <em>x</em>, <em>y</em>, and <em>z</em> axes.
  
- <P>For 3-vectors, any <em>ct</em>-component will be silently ignored, if it's present. 
+ <P>For 3-vectors, any <em>ct</em>-component will be silently ignored, if it's present.
+ 
+ <P>Implementation note: the components are stored in primitive fields, not in a collection. 
+ Events and vectors are created in very large numbers, so a small, flat layout matters here.
+ Objects of this class are immutable.
 */
 public final class Components {
 
   /** Space and time components (1+3). */
   public static Components of(double ct, double x, double y, double z) {
-    Components result = new Components();
-    result.comps.put(CT, ct);
-    result.comps.put(X, x);
-    result.comps.put(Y, y);
-    result.comps.put(Z, z);
-    return result;
+    return new Components(ct, x, y, z, false);
   }
   
   /** Space components only (3). */
   public static Components of(double x, double y, double z) {
-    Components result = new Components();
-    result.comps.put(X, x);
-    result.comps.put(Y, y);
-    result.comps.put(Z, z);
-    return result;
+    return new Components(0.0, x, y, z, true);
   }
   
   /** Read the component value on the given axis. */
   public double on(Axis axis) {
-    return comps.get(axis);
+    switch(axis) {
+      case CT: return ct();
+      case X: return x;
+      case Y: return y;
+      case Z: return z;
+      default: throw new AssertionError("Unknown axis: " + axis);
+    }
   }
   
   /** The time component (not present for items having no time-component). */
@@ -49,14 +46,14 @@ public final class Components {
     if (hasSpaceOnly()) {
       throw new IllegalStateException("No time component is present.");
     }
-    return on(CT);  
+    return ct;  
   }
   /** The x-component. */
-  public double x() { return on(X);  }
+  public double x() { return x;  }
   /** The y-component. */
-  public double y() { return on(Y);  }
+  public double y() { return y;  }
   /** The z-component. */
-  public double z() { return on(Z);  }
+  public double z() { return z;  }
   
   /** 
    Return a new object with an overwrite of the value on the given axis.
@@ -64,50 +61,67 @@ public final class Components {
    @param overwriteAxis must be already present in this object. 
   */
   public Components overwrite(Axis overwriteAxis, double value) {
-    Components result = new Components();
-    if(axes().contains(overwriteAxis)) {
-      for(Axis existingAxis : this.axes()) {
-        result.comps.put(existingAxis, this.comps.get(existingAxis));
-      }
-      result.comps.put(overwriteAxis, value);
-    }
-    else {
+    if(!axes().contains(overwriteAxis)) {
       throw new IllegalStateException("Trying to update component " + overwriteAxis + ", but that component is not present.");
     }
-    return result;
+    return new Components(
+      overwriteAxis == CT ? value : ct, 
+      overwriteAxis == Axis.X ? value : x, 
+      overwriteAxis == Axis.Y ? value : y, 
+      overwriteAxis == Axis.Z ? value : z, 
+      spaceOnly
+    );
   }
 
-  /** Return the axes currently in use. */
+  /** Return the axes currently in use, in the order ct-x-y-z. */
   public Set<Axis> axes(){
-    return Collections.unmodifiableSet(comps.keySet());
+    return spaceOnly ? SPACE_ONLY : SPACE_AND_TIME;
   };
   
   /** The number of components currently in use. */
   public int size() { 
-    return comps.size();
+    return spaceOnly ? 3 : 4;
   }
   
   public boolean hasSpaceOnly() {
-    return size() == 3;
+    return spaceOnly;
   }
   
   public boolean hasSpaceAndTime() {
-    return size() == 4;
+    return !spaceOnly;
   }
   
   /** This implementation applies rounding. */
   @Override public String toString() {
-    String sep = ",";
-    String result = "[";
-    for(Axis axis : comps.keySet()) {
-      result = result + roundIt(on(axis)) + sep + " ";
+    StringBuilder result = new StringBuilder("[");
+    for(Axis axis : axes()) {
+      if (result.length() > 1) {
+        result.append(", ");
+      }
+      result.append(roundIt(on(axis)));
     }
-    //chop off the final separator+space characters 
-    result = result.substring(0, result.length() - 2);
-    return result + "]";
+    return result.append("]").toString();
   }
 
-  private Map<Axis, Double> comps = new LinkedHashMap<>();
+  // PRIVATE
+  
+  private static final Set<Axis> SPACE_AND_TIME = Collections.unmodifiableSet(EnumSet.allOf(Axis.class));
+  private static final Set<Axis> SPACE_ONLY = Collections.unmodifiableSet(EnumSet.of(Axis.X, Axis.Y, Axis.Z));
+
+  /** Not used when spaceOnly is true. */
+  private final double ct;
+  private final double x;
+  private final double y;
+  private final double z;
+  private final boolean spaceOnly;
+  
+  private Components(double ct, double x, double y, double z, boolean spaceOnly) {
+    this.ct = ct;
+    this.x = x;
+    this.y = y;
+    this.z = z;
+    this.spaceOnly = spaceOnly;
+  }
   
   private double roundIt(Double val) {
     return round(val, 5);
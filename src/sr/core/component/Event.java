@@ -8,8 +8,8 @@ import static sr.core.Util.mustHave;
 import static sr.core.Util.round;
 
 import sr.core.Axis;
-import sr.core.component.ops.Boost;
 import sr.core.component.ops.Displace;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.ReverseSpatialComponents;
 import sr.core.component.ops.ReverseTimeComponent;
 import sr.core.component.ops.Rotate;
@@ -75,7 +75,15 @@ public final class Event implements AffineOp<Event>, LinearOps<Event>, LinearBoo
   }
   
   @Override public Event boost(Velocity v, Sense sense) {
-    Components comps = Boost.of(v, sense).applyTo(components);
+    return boost(LorentzBoost.of(v, sense));
+  }
+  
+  /** 
+   Boost using a {@link LorentzBoost} whose matrix has already been computed.
+   Use this method when applying the same boost to many events. 
+  */
+  public Event boost(LorentzBoost lorentzBoost) {
+    Components comps = lorentzBoost.applyTo(components);
     return Event.of(comps);
   }
   
@@ -86,14 +94,14 @@ public final class Event implements AffineOp<Event>, LinearOps<Event>, LinearBoo
   
   /** This implementation applies rounding. */
   @Override public String toString() {
-    String sep = ",";
-    String result = "[";
+    StringBuilder result = new StringBuilder("[");
     for(Axis axis : Axis.values()) {
-      result = result + roundIt(on(axis)) + sep + " ";
+      if (result.length() > 1) {
+        result.append(", ");
+      }
+      result.append(roundIt(on(axis)));
     }
-    //chop off the final separator+space characters 
-    result = result.substring(0, result.length() - 2);
-    return result + "]";
+    return result.append("]").toString();
   }
   
   // PRIVATE
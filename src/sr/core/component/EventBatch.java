@@ -0,0 +1,254 @@
+package sr.core.component;
+
+import static sr.core.Util.mustHave;
+
+import java.util.List;
+
+import sr.core.Matrix4;
+import sr.core.ParallelRange;
+import sr.core.Vector4;
+import sr.core.component.ops.LorentzBoost;
+import sr.core.component.ops.Rotate;
+import sr.core.component.ops.Sense;
+import sr.core.ops.AffineOp;
+import sr.core.ops.LinearBoostOp;
+import sr.core.ops.LinearOps;
+import sr.core.ops.PoincareTransform;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+
+/**
+ A large number of events, stored in 4 parallel arrays of primitives (one for each of <em>ct,x,y,z</em>).
+ 
+ <P>Use this class when the same operation is applied to many events.
+ The operations have the same meaning as the corresponding operations on {@link Event}.
+ The matrix for an operation is computed only once for the whole batch, and no {@link Event} objects are created.
+ 
+ <P>The methods of the implemented interfaces return a new batch, and leave this batch unchanged.
+ The methods whose names end in <em>InPlace</em> overwrite the data in this batch, and return this batch.
+ The methods whose names end in <em>InParallel</em> are the same, but they split large batches 
+ into pieces, which are processed on many cores (see {@link ParallelRange}).
+ Their results are identical to the sequential results.
+ 
+ <P>Objects of this class are mutable, and are not thread-safe.
+*/
+public final class EventBatch implements AffineOp<EventBatch>, LinearOps<EventBatch>, LinearBoostOp<EventBatch> {
+  
+  /** Factory method. All events are at the origin. */
+  public static EventBatch of(int size) {
+    mustHave(size >= 0, "Size cannot be negative: " + size);
+    return new EventBatch(new double[size], new double[size], new double[size], new double[size]);
+  }
+  
+  /** Factory method. */
+  public static EventBatch of(List<Event> events) {
+    EventBatch result = of(events.size());
+    for(int i = 0; i < events.size(); ++i) {
+      result.set(i, events.get(i));
+    }
+    return result;
+  }
+  
+  /** Factory method. The arrays are copied, and must all have the same length. */
+  public static EventBatch of(double[] ct, double[] x, double[] y, double[] z) {
+    mustHave(ct.length == x.length && x.length == y.length && y.length == z.length, "Arrays must have the same length.");
+    return new EventBatch(ct.clone(), x.clone(), y.clone(), z.clone());
+  }
+  
+  /** The number of events in this batch. */
+  public int size() { return ct.length; }
+  
+  public double ct(int idx) { return ct[idx]; }
+  public double x(int idx) { return x[idx]; }
+  public double y(int idx) { return y[idx]; }
+  public double z(int idx) { return z[idx]; }
+  
+  /** Return the event at the given index, as a new object. */
+  public Event get(int idx) {
+    return Event.of(ct[idx], x[idx], y[idx], z[idx]);
+  }
+  
+  /** Overwrite the event at the given index. */
+  public void set(int idx, double ct, double x, double y, double z) {
+    this.ct[idx] = ct;
+    this.x[idx] = x;
+    this.y[idx] = y;
+    this.z[idx] = z;
+  }
+  
+  /** Overwrite the event at the given index. */
+  public void set(int idx, Event event) {
+    set(idx, event.ct(), event.x(), event.y(), event.z());
+  }
+  
+  /** 
+   The squared interval between each event in this batch and the event at the same index in that batch, in a new array.
+   Signature (+---) for (ct,x,y,z). See {@link FourDelta#square()}.
+   @param that must have the same size as this batch. 
+  */
+  public double[] intervals(EventBatch that) {
+    mustHave(size() == that.size(), "Batches must have the same size: " + size() + " " + that.size());
+    double[] result = new double[size()];
+    BatchKernel.interval(ct, x, y, z, that.ct, that.x, that.y, that.z, result, 0, size());
+    return result;
+  }
+  
+  /** Return a copy of this batch. */
+  public EventBatch copy() {
+    return new EventBatch(ct.clone(), x.clone(), y.clone(), z.clone());
+  }
+  
+  @Override public EventBatch boost(Velocity v, Sense sense) {
+    return copy().boostInPlace(v, sense);
+  }
+  
+  @Override public EventBatch rotate(AxisAngle axisAngle, Sense sense) {
+    return copy().rotateInPlace(axisAngle, sense);
+  }
+  
+  @Override public EventBatch reverseClocks() {
+    return copy().reverseClocksInPlace();
+  }
+  
+  @Override public EventBatch reverseSpatialAxes() {
+    return copy().reverseSpatialAxesInPlace();
+  }
+  
+  @Override public EventBatch moveZeroPointBy(FourDelta displacement, Sense sense) {
+    return copy().moveZeroPointByInPlace(displacement, sense);
+  }
+  
+  /** Apply the given transform to each event. Returns a new batch. */
+  public EventBatch transform(PoincareTransform transform) {
+    return copy().transformInPlace(transform);
+  }
+  
+  /** See {@link #boost(Velocity, Sense)}. */
+  public EventBatch boostInPlace(Velocity v, Sense sense) {
+    return boostInPlace(LorentzBoost.of(v, sense));
+  }
+  
+  /** Boost using a {@link LorentzBoost} whose matrix has already been computed. */
+  public EventBatch boostInPlace(LorentzBoost lorentzBoost) {
+    return linearInPlace(lorentzBoost.matrix());
+  }
+  
+  /** See {@link #rotate(AxisAngle, Sense)}. */
+  public EventBatch rotateInPlace(AxisAngle axisAngle, Sense sense) {
+    return linearInPlace(Rotate.of(axisAngle, sense).matrix());
+  }
+  
+  /** See {@link #reverseClocks()}. */
+  public EventBatch reverseClocksInPlace() {
+    BatchKernel.scale(-1.0, ct, ct, 0, size());
+    return this;
+  }
+  
+  /** See {@link #reverseSpatialAxes()}. */
+  public EventBatch reverseSpatialAxesInPlace() {
+    BatchKernel.scale(-1.0, x, x, 0, size());
+    BatchKernel.scale(-1.0, y, y, 0, size());
+    BatchKernel.scale(-1.0, z, z, 0, size());
+    return this;
+  }
+  
+  /** See {@link #moveZeroPointBy(FourDelta, Sense)}. */
+  public EventBatch moveZeroPointByInPlace(FourDelta displacement, Sense sense) {
+    BatchKernel.add(sense.sign() * displacement.ct(), ct, ct, 0, size());
+    BatchKernel.add(sense.sign() * displacement.x(), x, x, 0, size());
+    BatchKernel.add(sense.sign() * displacement.y(), y, y, 0, size());
+    BatchKernel.add(sense.sign() * displacement.z(), z, z, 0, size());
+    return this;
+  }
+  
+  /** See {@link #transform(PoincareTransform)}. */
+  public EventBatch transformInPlace(PoincareTransform transform) {
+    BatchKernel.transform(transform.linear(), displacementOf(transform), ct, x, y, z, ct, x, y, z, 0, size());
+    return this;
+  }
+  
+  /** Parallel version of {@link #boostInPlace(LorentzBoost)}. */
+  public EventBatch boostInParallel(LorentzBoost lorentzBoost) {
+    return linearInParallel(lorentzBoost.matrix());
+  }
+  
+  /** Parallel version of {@link #rotateInPlace(AxisAngle, Sense)}. */
+  public EventBatch rotateInParallel(AxisAngle axisAngle, Sense sense) {
+    return linearInParallel(Rotate.of(axisAngle, sense).matrix());
+  }
+  
+  /** Parallel version of {@link #moveZeroPointByInPlace(FourDelta, Sense)}. */
+  public EventBatch moveZeroPointByInParallel(FourDelta displacement, Sense sense) {
+    Vector4 d = Vector4.of(displacement.ct(), displacement.x(), displacement.y(), displacement.z()).times(sense.sign());
+    ParallelRange.forEach(size(), (from, to) -> {
+      BatchKernel.add(d.ct(), ct, ct, from, to);
+      BatchKernel.add(d.x(), x, x, from, to);
+      BatchKernel.add(d.y(), y, y, from, to);
+      BatchKernel.add(d.z(), z, z, from, to);
+    });
+    return this;
+  }
+  
+  /** Parallel version of {@link #transformInPlace(PoincareTransform)}. */
+  public EventBatch transformInParallel(PoincareTransform transform) {
+    Matrix4 matrix = transform.linear();
+    Vector4 displacement = displacementOf(transform);
+    ParallelRange.forEach(size(), (from, to) -> 
+      BatchKernel.transform(matrix, displacement, ct, x, y, z, ct, x, y, z, from, to)
+    );
+    return this;
+  }
+  
+  /** Parallel version of {@link #intervals(EventBatch)}. */
+  public double[] intervalsInParallel(EventBatch that) {
+    mustHave(size() == that.size(), "Batches must have the same size: " + size() + " " + that.size());
+    double[] result = new double[size()];
+    ParallelRange.forEach(size(), (from, to) -> 
+      BatchKernel.interval(ct, x, y, z, that.ct, that.x, that.y, that.z, result, from, to)
+    );
+    return result;
+  }
+  
+  /** This implementation shows at most the first few events. */
+  @Override public String toString() {
+    StringBuilder result = new StringBuilder("EventBatch size:" + size());
+    for(int i = 0; i < Math.min(size(), MAX_SHOWN); ++i) {
+      result.append(" ").append(get(i));
+    }
+    return result.toString();
+  }
+  
+  // PRIVATE
+  
+  private static final int MAX_SHOWN = 3;
+  
+  private final double[] ct;
+  private final double[] x;
+  private final double[] y;
+  private final double[] z;
+  
+  private EventBatch(double[] ct, double[] x, double[] y, double[] z) {
+    this.ct = ct;
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+  
+  private EventBatch linearInPlace(Matrix4 matrix) {
+    BatchKernel.transform(matrix, ct, x, y, z, ct, x, y, z, 0, size());
+    return this;
+  }
+  
+  private EventBatch linearInParallel(Matrix4 matrix) {
+    ParallelRange.forEach(size(), (from, to) -> 
+      BatchKernel.transform(matrix, ct, x, y, z, ct, x, y, z, from, to)
+    );
+    return this;
+  }
+  
+  private static Vector4 displacementOf(PoincareTransform transform) {
+    FourDelta d = transform.displacement();
+    return Vector4.of(d.ct(), d.x(), d.y(), d.z());
+  }
+}
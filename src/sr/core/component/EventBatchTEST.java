@@ -0,0 +1,121 @@
+package sr.core.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.Epsilon;
+import sr.core.ParallelRange;
+import sr.core.component.ops.LorentzBoost;
+import sr.core.component.ops.Sense;
+import sr.core.ops.PoincareTransform;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+import sr.core.vec4.FourVelocity;
+
+/** Unit test. */
+class EventBatchTEST {
+
+  @Test void sameAsOneAtATime() {
+    List<Event> events = someEvents();
+    EventBatch batch = EventBatch.of(events);
+    EventBatch result = batch
+      .boost(v, Sense.ChangeGrid)
+      .rotate(r, Sense.ChangeComponents)
+      .reverseClocks()
+      .moveZeroPointBy(d, Sense.ChangeGrid)
+      .reverseSpatialAxes()
+    ;
+    for(int i = 0; i < events.size(); ++i) {
+      Event expected = events.get(i)
+        .boost(v, Sense.ChangeGrid)
+        .rotate(r, Sense.ChangeComponents)
+        .reverseClocks()
+        .moveZeroPointBy(d, Sense.ChangeGrid)
+        .reverseSpatialAxes()
+      ;
+      assertSame(expected, result.get(i));
+      //the original is unchanged
+      assertSame(events.get(i), batch.get(i));
+    }
+  }
+  
+  @Test void inPlaceSameAsComposite() {
+    List<Event> events = someEvents();
+    PoincareTransform transform = PoincareTransform.identity().boost(v, Sense.ChangeGrid).rotate(r, Sense.ChangeGrid).moveZeroPointBy(d, Sense.ChangeComponents);
+    EventBatch batch = EventBatch.of(events).transformInPlace(transform);
+    for(int i = 0; i < events.size(); ++i) {
+      assertSame(transform.applyTo(events.get(i)), batch.get(i));
+    }
+  }
+  
+  @Test void fourVectors() {
+    List<FourVelocity> vectors = new ArrayList<>();
+    vectors.add(FourVelocity.of(Velocity.of(0.1, 0.2, 0.3)));
+    vectors.add(FourVelocity.of(Velocity.of(-0.5, 0.0, 0.6)));
+    FourVectorBatch batch = FourVectorBatch.of(vectors).boost(v, Sense.ChangeGrid).rotate(r, Sense.ChangeGrid);
+    for(int i = 0; i < vectors.size(); ++i) {
+      FourVelocity expected = vectors.get(i).boost(v, Sense.ChangeGrid).rotate(r, Sense.ChangeGrid);
+      assertEquals(expected.ct(), batch.ct(i), Epsilon.ε());
+      assertEquals(expected.x(), batch.x(i), Epsilon.ε());
+      assertEquals(expected.y(), batch.y(i), Epsilon.ε());
+      assertEquals(expected.z(), batch.z(i), Epsilon.ε());
+      assertEquals(1.0, batch.square(i), Epsilon.ε());
+      assertEquals(1.0, batch.squares()[i], Epsilon.ε());
+      assertEquals(1.0, batch.dot(batch)[i], Epsilon.ε());
+    }
+  }
+  
+  @Test void intervals() {
+    List<Event> events = someEvents();
+    EventBatch batch = EventBatch.of(events);
+    EventBatch moved = batch.boost(v, Sense.ChangeGrid).moveZeroPointBy(d, Sense.ChangeGrid);
+    double[] intervals = batch.intervals(moved);
+    for(int i = 0; i < events.size(); ++i) {
+      assertEquals(FourDelta.of(batch.get(i), moved.get(i)).square(), intervals[i], Epsilon.ε());
+    }
+  }
+  
+  @Test void parallelIdenticalToSequential() {
+    int size = 3 * ParallelRange.DEFAULT_THRESHOLD + 7;
+    EventBatch batch = EventBatch.of(size);
+    for(int i = 0; i < size; ++i) {
+      batch.set(i, i, Math.sin(i), Math.cos(i), 1.0/(i + 1));
+    }
+    LorentzBoost boost = LorentzBoost.of(v, Sense.ChangeGrid);
+    EventBatch sequential = batch.copy().boostInPlace(boost).rotateInPlace(r, Sense.ChangeGrid).moveZeroPointByInPlace(d, Sense.ChangeGrid);
+    EventBatch parallel = batch.copy().boostInParallel(boost).rotateInParallel(r, Sense.ChangeGrid).moveZeroPointByInParallel(d, Sense.ChangeGrid);
+    double[] sequentialIntervals = batch.intervals(sequential);
+    double[] parallelIntervals = batch.intervalsInParallel(parallel);
+    for(int i = 0; i < size; ++i) {
+      assertEquals(sequential.ct(i), parallel.ct(i));
+      assertEquals(sequential.x(i), parallel.x(i));
+      assertEquals(sequential.y(i), parallel.y(i));
+      assertEquals(sequential.z(i), parallel.z(i));
+      assertEquals(sequentialIntervals[i], parallelIntervals[i]);
+    }
+  }
+  
+  private static final Velocity v = Velocity.of(0.6, -0.2, 0.3);
+  private static final AxisAngle r = AxisAngle.of(0.5, -0.2, 0.7);
+  private static final FourDelta d = FourDelta.withRespectToOrigin(Event.of(1, 2, 3, 4));
+  
+  private List<Event> someEvents(){
+    List<Event> result = new ArrayList<>();
+    for(int i = 0; i < 20; ++i) {
+      result.add(Event.of(10 + i, 22 - i, 15 * Math.sin(i), 16 * i));
+    }
+    return result;
+  }
+  
+  private void assertSame(Event a, Event b) {
+    for(Axis axis : Axis.values()) {
+      assertEquals(a.on(axis), b.on(axis), Epsilon.ε());
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package sr.core.component;
+
+import static sr.core.Util.mustHave;
+
+import java.util.List;
+
+import sr.core.Matrix4;
+import sr.core.ParallelRange;
+import sr.core.component.ops.LorentzBoost;
+import sr.core.component.ops.Rotate;
+import sr.core.component.ops.Sense;
+import sr.core.ops.LinearBoostOp;
+import sr.core.ops.LinearOps;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourVector;
+
+/**
+ A large number of 4-vectors, stored in 4 parallel arrays of primitives (one for each of <em>ct,x,y,z</em>).
+ 
+ <P>Use this class when the same operation is applied to many 4-vectors (for example, many wave vectors).
+ The operations have the same meaning as the corresponding operations on a single 4-vector.
+ Since vectors aren't affected by a displacement in space-time, there is no <em>moveZeroPointBy</em> operation.
+ 
+ <P>The methods of the implemented interfaces return a new batch, and leave this batch unchanged.
+ The methods whose names end in <em>InPlace</em> overwrite the data in this batch, and return this batch.
+ The methods whose names end in <em>InParallel</em> are the same, but they split large batches 
+ into pieces, which are processed on many cores (see {@link ParallelRange}).
+ Their results are identical to the sequential results.
+ 
+ <P>Objects of this class are mutable, and are not thread-safe.
+*/
+public final class FourVectorBatch implements LinearOps<FourVectorBatch>, LinearBoostOp<FourVectorBatch> {
+  
+  /** Factory method. All 4-vectors are zero. */
+  public static FourVectorBatch of(int size) {
+    mustHave(size >= 0, "Size cannot be negative: " + size);
+    return new FourVectorBatch(new double[size], new double[size], new double[size], new double[size]);
+  }
+  
+  /** Factory method. */
+  public static FourVectorBatch of(List<? extends FourVector> vectors) {
+    FourVectorBatch result = of(vectors.size());
+    for(int i = 0; i < vectors.size(); ++i) {
+      FourVector vector = vectors.get(i);
+      result.set(i, vector.ct(), vector.x(), vector.y(), vector.z());
+    }
+    return result;
+  }
+  
+  /** Factory method. The arrays are copied, and must all have the same length. */
+  public static FourVectorBatch of(double[] ct, double[] x, double[] y, double[] z) {
+    mustHave(ct.length == x.length && x.length == y.length && y.length == z.length, "Arrays must have the same length.");
+    return new FourVectorBatch(ct.clone(), x.clone(), y.clone(), z.clone());
+  }
+  
+  /** The number of 4-vectors in this batch. */
+  public int size() { return ct.length; }
+  
+  public double ct(int idx) { return ct[idx]; }
+  public double x(int idx) { return x[idx]; }
+  public double y(int idx) { return y[idx]; }
+  public double z(int idx) { return z[idx]; }
+  
+  /** Return the components of the 4-vector at the given index, as a new object. */
+  public Components get(int idx) {
+    return Components.of(ct[idx], x[idx], y[idx], z[idx]);
+  }
+  
+  /** Overwrite the 4-vector at the given index. */
+  public void set(int idx, double ct, double x, double y, double z) {
+    this.ct[idx] = ct;
+    this.x[idx] = x;
+    this.y[idx] = y;
+    this.z[idx] = z;
+  }
+  
+  /** 
+   The dot product of the 4-vector at the given index with itself.
+   Signature (+---) for (ct,x,y,z). See {@link FourVector#square()}. 
+  */
+  public double square(int idx) {
+    return ct[idx] * ct[idx] - x[idx] * x[idx] - y[idx] * y[idx] - z[idx] * z[idx];
+  }
+  
+  /** 
+   The dot product of each 4-vector with itself, in a new array.
+   See {@link #square(int)}. 
+  */
+  public double[] squares() {
+    double[] result = new double[size()];
+    BatchKernel.dot(ct, x, y, z, ct, x, y, z, result, 0, size());
+    return result;
+  }
+  
+  /** 
+   The dot product of each 4-vector in this batch with the 4-vector at the same index in that batch, in a new array.
+   Signature (+---) for (ct,x,y,z). See {@link FourVector#dot(FourVector)}.
+   @param that must have the same size as this batch. 
+  */
+  public double[] dot(FourVectorBatch that) {
+    mustHave(size() == that.size(), "Batches must have the same size: " + size() + " " + that.size());
+    double[] result = new double[size()];
+    BatchKernel.dot(ct, x, y, z, that.ct, that.x, that.y, that.z, result, 0, size());
+    return result;
+  }
+  
+  /** Return a copy of this batch. */
+  public FourVectorBatch copy() {
+    return new FourVectorBatch(ct.clone(), x.clone(), y.clone(), z.clone());
+  }
+  
+  @Override public FourVectorBatch boost(Velocity v, Sense sense) {
+    return copy().boostInPlace(v, sense);
+  }
+  
+  @Override public FourVectorBatch rotate(AxisAngle axisAngle, Sense sense) {
+    return copy().rotateInPlace(axisAngle, sense);
+  }
+  
+  @Override public FourVectorBatch reverseClocks() {
+    return copy().reverseClocksInPlace();
+  }
+  
+  @Override public FourVectorBatch reverseSpatialAxes() {
+    return copy().reverseSpatialAxesInPlace();
+  }
+  
+  /** See {@link #boost(Velocity, Sense)}. */
+  public FourVectorBatch boostInPlace(Velocity v, Sense sense) {
+    return boostInPlace(LorentzBoost.of(v, sense));
+  }
+  
+  /** Boost using a {@link LorentzBoost} whose matrix has already been computed. */
+  public FourVectorBatch boostInPlace(LorentzBoost lorentzBoost) {
+    return linearInPlace(lorentzBoost.matrix());
+  }
+  
+  /** See {@link #rotate(AxisAngle, Sense)}. */
+  public FourVectorBatch rotateInPlace(AxisAngle axisAngle, Sense sense) {
+    return linearInPlace(Rotate.of(axisAngle, sense).matrix());
+  }
+  
+  /** See {@link #reverseClocks()}. */
+  public FourVectorBatch reverseClocksInPlace() {
+    BatchKernel.scale(-1.0, ct, ct, 0, size());
+    return this;
+  }
+  
+  /** See {@link #reverseSpatialAxes()}. */
+  public FourVectorBatch reverseSpatialAxesInPlace() {
+    BatchKernel.scale(-1.0, x, x, 0, size());
+    BatchKernel.scale(-1.0, y, y, 0, size());
+    BatchKernel.scale(-1.0, z, z, 0, size());
+    return this;
+  }
+  
+  /** Parallel version of {@link #boostInPlace(LorentzBoost)}. */
+  public FourVectorBatch boostInParallel(LorentzBoost lorentzBoost) {
+    return linearInParallel(lorentzBoost.matrix());
+  }
+  
+  /** Parallel version of {@link #rotateInPlace(AxisAngle, Sense)}. */
+  public FourVectorBatch rotateInParallel(AxisAngle axisAngle, Sense sense) {
+    return linearInParallel(Rotate.of(axisAngle, sense).matrix());
+  }
+  
+  /** Parallel version of {@link #dot(FourVectorBatch)}. */
+  public double[] dotInParallel(FourVectorBatch that) {
+    mustHave(size() == that.size(), "Batches must have the same size: " + size() + " " + that.size());
+    double[] result = new double[size()];
+    ParallelRange.forEach(size(), (from, to) -> 
+      BatchKernel.dot(ct, x, y, z, that.ct, that.x, that.y, that.z, result, from, to)
+    );
+    return result;
+  }
+  
+  /** This implementation shows at most the first few 4-vectors. */
+  @Override public String toString() {
+    StringBuilder result = new StringBuilder("FourVectorBatch size:" + size());
+    for(int i = 0; i < Math.min(size(), MAX_SHOWN); ++i) {
+      result.append(" ").append(get(i));
+    }
+    return result.toString();
+  }
+  
+  // PRIVATE
+  
+  private static final int MAX_SHOWN = 3;
+  
+  private final double[] ct;
+  private final double[] x;
+  private final double[] y;
+  private final double[] z;
+  
+  private FourVectorBatch(double[] ct, double[] x, double[] y, double[] z) {
+    this.ct = ct;
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+  
+  private FourVectorBatch linearInPlace(Matrix4 matrix) {
+    BatchKernel.transform(matrix, ct, x, y, z, ct, x, y, z, 0, size());
+    return this;
+  }
+  
+  private FourVectorBatch linearInParallel(Matrix4 matrix) {
+    ParallelRange.forEach(size(), (from, to) -> 
+      BatchKernel.transform(matrix, ct, x, y, z, ct, x, y, z, from, to)
+    );
+    return this;
+  }
+}
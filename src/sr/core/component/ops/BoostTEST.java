@@ -12,6 +12,8 @@ import static sr.core.Util.equalsWithEpsilon;
 import org.junit.jupiter.api.Test;
 
 import sr.core.Axis;
+import sr.core.Epsilon;
+import sr.core.Matrix4;
 import sr.core.component.Event;
 import sr.core.vec3.Velocity;
 import sr.core.vec4.FourDelta;
@@ -101,6 +103,33 @@ class BoostTEST {
     nulls(fourDiff(-7,-7,0,0));
   }
   
+  @Test void reusedBoostGivesSameResult() {
+    Velocity v = Velocity.of(0.1, 0.2, 0.3);
+    LorentzBoost boost = LorentzBoost.of(v, Sense.Primed);
+    double[] out = new double[4];
+    for(int i = 0; i < 10; ++i) {
+      Event input = event(10 + i, 22 - i, 15, 16 * i);
+      assertSame(input.boost(v, Sense.Primed), input.boost(boost));
+      boost.apply(input.ct(), input.x(), input.y(), input.z(), out);
+      assertSame(input.boost(v, Sense.Primed), event(out[0], out[1], out[2], out[3]));
+    }
+  }
+  
+  @Test void inverseMatrixIsTheReverseBoost() {
+    Velocity v = Velocity.of(0.1, 0.2, 0.3);
+    Matrix4 primed = LorentzBoost.of(v, Sense.Primed).matrix();
+    Matrix4 unprimed = LorentzBoost.of(v, Sense.Unprimed).matrix();
+    Matrix4 inverse = primed.inverse();
+    assertEquals(1.0, primed.determinant(), Epsilon.ε());
+    for(int row = 0; row < 4; ++row) {
+      for(int col = 0; col < 4; ++col) {
+        assertEquals(unprimed.get(row, col), inverse.get(row, col), Epsilon.ε());
+        assertEquals(primed.get(row, col), primed.transpose().get(col, row));
+        assertEquals(row == col ? 1.0 : 0.0, primed.times(unprimed).get(row, col), Epsilon.ε());
+      }
+    }
+  }
+  
   private void nulls(FourDelta input) {
     assertEquals(input.square(), 0);
     FourDelta output = input.boost(Velocity.of(0.2, 0, 0), Sense.Primed);
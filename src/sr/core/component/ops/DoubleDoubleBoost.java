@@ -0,0 +1,64 @@
+package sr.core.component.ops;
+
+import sr.core.Axis;
+import sr.core.DoubleDouble;
+import sr.core.Physics;
+import sr.core.Util;
+
+/**
+ A boost (Lorentz Transformation) along a spatial coordinate axis, using {@link DoubleDouble}.
+ For boost speeds that are extremely close to 1, such as those of the fastest cosmic rays.
+ 
+ <P>This is the extended-precision counterpart of a {@link Boost} whose velocity is parallel to an axis.
+ The same sign conventions are used. 
+ Only the component along the axis of the boost, and the <em>ct</em> component, are changed.
+ 
+ <P>Objects of this class are immutable, and can be shared between threads.
+*/
+public final class DoubleDoubleBoost {
+  
+  /**
+   Factory method.
+   @param β the boost speed along the given spatial axis. Either sign. Magnitude less than 1.
+  */
+  public static DoubleDoubleBoost of(DoubleDouble β, Axis axis, Sense sense) {
+    return new DoubleDoubleBoost(β, axis, sense);
+  }
+  
+  /** The warp factor of the boost. */
+  public DoubleDouble Γ() { return Γ; }
+  
+  /**
+   Apply the boost to the given components, and return the result, as a new array.
+   @param components <em>ct,x,y,z</em>, in that order. Not changed by this method.
+  */
+  public DoubleDouble[] apply(DoubleDouble[] components) {
+    if (components.length != 4) {
+      throw new IllegalArgumentException("Expected 4 components, not " + components.length);
+    }
+    DoubleDouble ct = components[Axis.CT.idx()];
+    DoubleDouble a = components[axis.idx()];
+    DoubleDouble[] result = components.clone();
+    result[Axis.CT.idx()] = Γ.times(ct).plus(Γβ.times(a));
+    result[axis.idx()] = Γβ.times(ct).plus(Γ.times(a));
+    return result;
+  }
+  
+  // PRIVATE
+  
+  private final Axis axis;
+  private final DoubleDouble Γ;
+  /** Includes the sign of the sense. */
+  private final DoubleDouble Γβ;
+  
+  private DoubleDoubleBoost(DoubleDouble β, Axis axis, Sense sense) {
+    Util.mustBeSpatial(axis);
+    this.axis = axis;
+    if (β.abs().compareTo(DoubleDouble.ONE) >= 0) {
+      throw new IllegalArgumentException("Boost speed must have magnitude less than 1: " + β);
+    }
+    this.Γ = Physics.Γ(β);
+    DoubleDouble Γβ = Γ.times(β);
+    this.Γβ = sense.sign() > 0 ? Γβ : Γβ.negate();
+  }
+}
@@ -0,0 +1,151 @@
+package sr.core.component.ops;
+
+import static sr.core.Util.sq;
+
+import sr.core.Matrix4;
+import sr.core.component.Components;
+import sr.core.vec3.Direction;
+import sr.core.vec3.Rapidity;
+import sr.core.vec3.ThreeVector;
+import sr.core.vec3.Velocity;
+
+/**
+ A boost (Lorentz Transformation) in any direction, with no spatial rotation, whose matrix is computed only once.
+ 
+ <P>Use this class when the same boost is applied to many events or 4-vectors.
+ The 16 coefficients of the boost {@link Matrix4} are computed when the object is built, and are then simply re-used.
+ The {@link #apply(double, double, double, double, double[])} method creates no objects.
+ 
+ <P>Objects of this class are immutable, and can be shared between threads.
+*/
+public final class LorentzBoost {
+
+  /** 
+   Factory method for a Lorentz Transformation in any direction, of the given velocity.
+   No rotation of the spatial axes occurs. 
+  */
+  public static LorentzBoost of(Velocity velocity, Sense sense) {
+    return new LorentzBoost(velocity, sense);
+  }
+  
+  /** 
+   Factory method for a Lorentz Transformation in any direction, of the given rapidity.
+   The matrix is built from cosh φ and sinh φ, with no loss of precision near β = 1.
+  */
+  public static LorentzBoost of(Rapidity rapidity, Sense sense) {
+    return new LorentzBoost(rapidity, sense);
+  }
+  
+  /** 
+   The boost velocity passed to the factory method. 
+   For a boost built from a {@link Rapidity}, the speed must be less than 1 as a double (see {@link Rapidity#velocity()}). 
+  */
+  public Velocity velocity() { 
+    return velocity != null ? velocity : rapidity.velocity(); 
+  }
+  
+  /** The sense passed to the factory method. */
+  public Sense sense() { return sense; }
+  
+  /** The 4x4 matrix of this boost. */
+  public Matrix4 matrix() { return matrix; }
+  
+  /**
+   Apply the boost to the given components (<em>ct,x,y,z</em>), and place the result in the given array.
+   @param out has length 4 at least; on return, holds the transformed <em>ct,x,y,z</em> components, in that order.
+  */
+  public void apply(double ct, double x, double y, double z, double[] out) {
+    matrix.times(ct, x, y, z, out);
+  }
+  
+  /** Apply the boost to the given components, and return a new object. */
+  public Components applyTo(Components source) {
+    return matrix.times(source);
+  }
+  
+  // PRIVATE
+  
+  /** Exactly one of the velocity and the rapidity is not null. */
+  private final Velocity velocity;
+  private final Rapidity rapidity;
+  private final Sense sense;
+  
+  private final Matrix4 matrix;
+  
+  private LorentzBoost(Velocity velocity, Sense sense) {
+    this.velocity = velocity;
+    this.rapidity = null;
+    this.sense = sense;
+    this.matrix = boostMatrix(sense.sign());
+  }
+  
+  private LorentzBoost(Rapidity rapidity, Sense sense) {
+    this.velocity = null;
+    this.rapidity = rapidity;
+    this.sense = sense;
+    this.matrix = boostMatrix(rapidity, sense.sign());
+  }
+  
+  /**
+   The matrix style is bulky but completely general.
+   It can be applied both to 4-vectors and to tensors such as the electromagnetic field. 
+   @param sign +1 for returning primed quantities, -1 for returning unprimed quantities. Flips the sign of the boost velocity.
+  */
+  private Matrix4 boostMatrix(int sign){
+    //avoid division by zero errors
+    if (velocity.magnitude() == 0.0) {
+      return Matrix4.identity();
+    }
+    
+    //https://en.wikipedia.org/wiki/Lorentz_transformation#Proper_transformations
+    //BUT I CHANGE THE SENSE (REVERSE THE SIGN) of their formula, to change from passive to active
+    
+    //the inverse simply reverses the direction of the boost
+    ThreeVector v = velocity.times(sign);
+    
+    double Γ = velocity.Γ();
+    double vsq = v.square();
+    
+    return Matrix4.of(
+      Γ, 
+      Γ * v.x(), 
+      Γ * v.y(), 
+      Γ * v.z(),
+      
+      Γ * v.x(), 
+      1 + (Γ-1) * (sq(v.x()) / vsq), 
+      (Γ-1) * (v.x() * v.y() / vsq), 
+      (Γ-1) * (v.x() * v.z() / vsq),
+      
+      Γ * v.y(), 
+      (Γ-1) * (v.y() * v.x() / vsq), 
+      1 + (Γ-1) * (sq(v.y()) / vsq), 
+      (Γ-1) * (v.y() * v.z() / vsq),
+      
+      Γ * v.z(), 
+      (Γ-1) * (v.z() * v.x() / vsq), 
+      (Γ-1) * (v.z() * v.y() / vsq), 
+      1 + (Γ-1) * (sq(v.z()) / vsq)
+    );
+  }
+  
+  /** As above, but with Γ = cosh φ and Γβ = sinh φ. */
+  private static Matrix4 boostMatrix(Rapidity rapidity, int sign) {
+    if (rapidity.φ() == 0.0) {
+      return Matrix4.identity();
+    }
+    Direction n = rapidity.direction();
+    double Γ = rapidity.Γ();
+    double Γβ = sign * rapidity.βΓ();
+    double k = rapidity.ΓMinusOne();
+    double x = n.x();
+    double y = n.y();
+    double z = n.z();
+    return Matrix4.of(
+      Γ, Γβ * x, Γβ * y, Γβ * z,
+      Γβ * x, 1 + k * x * x, k * x * y, k * x * z,
+      Γβ * y, k * y * x, 1 + k * y * y, k * y * z,
+      Γβ * z, k * z * x, k * z * y, 1 + k * z * z
+    );
+  }
+}
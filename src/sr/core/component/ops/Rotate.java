@@ -1,5 +1,6 @@
 package sr.core.component.ops;
 
+import sr.core.Matrix4;
 import sr.core.vec3.AxisAngle;
 import sr.core.vec3.ThreeVector;
 import static sr.core.Axis.*;
@@ -38,6 +39,32 @@ public final class Rotate implements ComponentOp {
     return result;
   }
   
+  /** 
+   The 4x4 matrix of this rotation. 
+   The time component is unaffected.
+   Use this when the same rotation is applied to many items. 
+  */
+  public Matrix4 matrix() {
+    //https://en.wikipedia.org/wiki/Rodrigues%27_rotation_formula#Matrix_notation
+    double θ = sense.sign() * θ();
+    if (θ == 0.0) {
+      return Matrix4.identity();
+    }
+    ThreeVector e = unitVector();
+    double x = e.x(); 
+    double y = e.y(); 
+    double z = e.z();
+    double cosθ = Math.cos(θ);
+    double sinθ = Math.sin(θ);
+    double k = 1 - cosθ;
+    return Matrix4.of(
+      1.0, 0.0, 0.0, 0.0,
+      0.0, cosθ + k * x * x, k * x * y - sinθ * z, k * x * z + sinθ * y,
+      0.0, k * y * x + sinθ * z, cosθ + k * y * y, k * y * z - sinθ * x,
+      0.0, k * z * x - sinθ * y, k * z * y + sinθ * x, cosθ + k * z * z
+    );
+  }
+  
   private AxisAngle axisAngle;
   private Sense sense;
 
@@ -52,6 +79,6 @@ public final class Rotate implements ComponentOp {
   
   private ThreeVector unitVector() {
     //be careful of division by 0
-    return axisAngle.times(1.0/θ());
+    return axisAngle.unitAxis();
   }
 }
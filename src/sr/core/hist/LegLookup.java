@@ -0,0 +1,78 @@
+package sr.core.hist;
+
+import java.util.Arrays;
+
+/**
+ Find which leg of a stitched history is active for a given time.
+ 
+ <P>Each leg starts at a branch-point, and stays active until the next branch-point.
+ The branch-points are held in a sorted array of primitives, and are searched with a binary search.
+ Since histories are usually queried with increasing times, the most recent result is tried first, 
+ along with the leg that follows it.
+ 
+ <P>Objects of this class are immutable, except for the hint (an index) of the most recent result.
+ The hint is shared between threads without synchronization. 
+ That's benign: any valid index is an acceptable hint, and the hint is always checked before being used.
+*/
+public final class LegLookup {
+  
+  /** 
+   Factory method.
+   @param branchPoints the start of each leg, in strictly increasing order; the array is copied. 
+   The first leg is treated as starting at -infinity, whatever its branch-point.
+  */
+  public static LegLookup of(double[] branchPoints) {
+    if (branchPoints.length == 0) {
+      throw new IllegalArgumentException("There must be at least 1 leg.");
+    }
+    for(int i = 1; i < branchPoints.length; ++i) {
+      if (!(branchPoints[i] > branchPoints[i-1])) {
+        throw new IllegalArgumentException("Branch-point " + branchPoints[i] + " must come after " + branchPoints[i-1]);
+      }
+    }
+    return new LegLookup(branchPoints.clone());
+  }
+  
+  /** The number of legs. */
+  public int size() {
+    return branchPoints.length;
+  }
+  
+  /** 
+   Return the index of the leg active for the given time.
+   This is the last leg whose branch-point is less than or equal to the given time.
+  */
+  public int legFor(double target) {
+    int h = hint;
+    if (isActive(h, target)) {
+      return h;
+    }
+    if (h + 1 < branchPoints.length && isActive(h + 1, target)) {
+      hint = h + 1;
+      return h + 1;
+    }
+    //binarySearch puts -0.0 before 0.0, but the comparisons above don't; adding 0.0 turns -0.0 into 0.0
+    int idx = Arrays.binarySearch(branchPoints, target + 0.0);
+    //when not found, binarySearch returns -(insertion point) - 1, and the leg starts just before the insertion point 
+    int result = idx >= 0 ? idx : Math.max(0, -idx - 2);
+    hint = result;
+    return result;
+  }
+  
+  // PRIVATE
+  
+  private final double[] branchPoints;
+  
+  /** The most recent result. Not volatile; see class comment. */
+  private int hint;
+  
+  private LegLookup(double[] branchPoints) {
+    this.branchPoints = branchPoints;
+  }
+  
+  private boolean isActive(int idx, double target) {
+    boolean afterStart = idx == 0 || branchPoints[idx] <= target;
+    boolean beforeEnd = idx + 1 == branchPoints.length || target < branchPoints[idx + 1];
+    return afterStart && beforeEnd;
+  }
+}
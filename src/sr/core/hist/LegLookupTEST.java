@@ -0,0 +1,94 @@
+package sr.core.hist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test. */
+class LegLookupTEST {
+
+  @Test void boundaries() {
+    LegLookup lookup = LegLookup.of(BRANCH_POINTS);
+    assertEquals(4, lookup.size());
+    assertEquals(0, lookup.legFor(Math.nextDown(0.0)));
+    assertEquals(1, lookup.legFor(0.0));
+    assertEquals(1, lookup.legFor(Math.nextDown(10.0)));
+    assertEquals(2, lookup.legFor(10.0));
+    assertEquals(2, lookup.legFor(Math.nextDown(20.0)));
+    assertEquals(3, lookup.legFor(20.0));
+    //the same, going backwards, so that the hint never applies
+    assertEquals(3, lookup.legFor(20.0));
+    assertEquals(2, lookup.legFor(Math.nextDown(20.0)));
+    assertEquals(2, lookup.legFor(10.0));
+    assertEquals(1, lookup.legFor(Math.nextDown(10.0)));
+    assertEquals(1, lookup.legFor(0.0));
+    assertEquals(0, lookup.legFor(Math.nextDown(0.0)));
+  }
+
+  @Test void beforeTheFirstLeg() {
+    LegLookup lookup = LegLookup.of(BRANCH_POINTS);
+    assertEquals(0, lookup.legFor(-Double.MAX_VALUE));
+    assertEquals(0, lookup.legFor(Double.NEGATIVE_INFINITY));
+    //the first leg starts at -infinity, whatever its branch-point
+    LegLookup late = LegLookup.of(new double[] {5.0, 10.0});
+    assertEquals(0, late.legFor(0.0));
+    assertEquals(0, late.legFor(Double.NEGATIVE_INFINITY));
+    assertEquals(1, late.legFor(10.0));
+    assertEquals(0, late.legFor(-1.0E300));
+  }
+
+  @Test void afterTheLastLeg() {
+    LegLookup lookup = LegLookup.of(BRANCH_POINTS);
+    assertEquals(3, lookup.legFor(1.0E300));
+    assertEquals(3, lookup.legFor(Double.POSITIVE_INFINITY));
+    assertEquals(0, LegLookup.of(new double[] {0.0}).legFor(Double.POSITIVE_INFINITY));
+  }
+
+  @Test void negativeZero() {
+    //-0.0 == 0.0, so it's in the leg that starts at 0.0, with or without the hint
+    LegLookup lookup = LegLookup.of(BRANCH_POINTS);
+    assertEquals(1, lookup.legFor(-0.0));
+    assertEquals(3, lookup.legFor(25.0));
+    assertEquals(1, lookup.legFor(-0.0));
+  }
+
+  @Test void sameAsLinearScan() {
+    double[] branchPoints = new double[200];
+    branchPoints[0] = -Double.MAX_VALUE;
+    for(int i = 1; i < branchPoints.length; ++i) {
+      branchPoints[i] = i * 0.5;
+    }
+    LegLookup lookup = LegLookup.of(branchPoints);
+    SplittableRandom random = new SplittableRandom(7);
+    for(int i = 0; i < 10_000; ++i) {
+      //mostly increasing, with some jumps in both directions
+      double target = i % 10 == 0 ? random.nextDouble(-10.0, 110.0) : (i % 1000) * 0.1;
+      assertEquals(linearScan(branchPoints, target), lookup.legFor(target));
+    }
+    for(int i = 1; i < branchPoints.length; ++i) {
+      assertEquals(i, lookup.legFor(branchPoints[i]));
+    }
+  }
+
+  @Test void branchPointsMustIncrease() {
+    assertThrows(IllegalArgumentException.class, () -> LegLookup.of(new double[0]));
+    assertThrows(IllegalArgumentException.class, () -> LegLookup.of(new double[] {0.0, 1.0, 1.0}));
+    assertThrows(IllegalArgumentException.class, () -> LegLookup.of(new double[] {0.0, 2.0, 1.0}));
+    assertThrows(IllegalArgumentException.class, () -> LegLookup.of(new double[] {0.0, Double.NaN}));
+  }
+
+  private int linearScan(double[] branchPoints, double target) {
+    int result = 0;
+    for(int i = 1; i < branchPoints.length; ++i) {
+      if (branchPoints[i] <= target) {
+        result = i;
+      }
+    }
+    return result;
+  }
+
+  private static final double[] BRANCH_POINTS = {-Double.MAX_VALUE, 0.0, 10.0, 20.0};
+}
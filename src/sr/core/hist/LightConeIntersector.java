@@ -0,0 +1,286 @@
+package sr.core.hist;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import sr.core.Axis;
+import sr.core.Epsilon;
+import sr.core.component.Event;
+import sr.core.component.EventBatch;
+import sr.core.hist.lightlike.MirrorReflection;
+import sr.core.hist.lightlike.PhotonStraight;
+import sr.core.hist.timelike.FindEvent;
+import sr.core.hist.timelike.ThereAndBack;
+import sr.core.hist.timelike.UniformAcceleration;
+import sr.core.hist.timelike.UniformVelocity;
+import sr.core.vec3.ThreeVector;
+
+/**
+ Find where the past light-cone of a detection event meets a {@link History}.
+ 
+ <P>That is, find the event on the history from which a photon can reach the detection event.
+ The intersection is found exactly, using the roots of a quadratic equation, for these histories:
+ <ul>
+  <li>{@link UniformVelocity}
+  <li>{@link UniformAcceleration}
+  <li>{@link PhotonStraight}
+  <li>{@link ThereAndBack}
+  <li>{@link MirrorReflection}
+ </ul>
+ For all other histories, the intersection is found numerically, using a bracketed search (see {@link FindEvent#searchBetween(double, double)}).
+ 
+ <P>For a history of a particle with mass, the past light-cone meets the history at most once.
+ If there's no intersection, then the coordinate-time returned by this class is <em>NaN</em>.
+ 
+ <P>Objects of this class are immutable. 
+ They are as thread-safe as the underlying history.
+*/
+public final class LightConeIntersector {
+  
+  /** Factory method. */
+  public static LightConeIntersector of(History history) {
+    return new LightConeIntersector(history);
+  }
+  
+  /** Return true only if the intersection is calculated exactly, with no iteration. */
+  public boolean isClosedForm() {
+    return !(solver instanceof Numeric);
+  }
+  
+  /** 
+   Return the coordinate-time of the event on the history that's on the past light-cone of the given detection event.
+   Returns <em>NaN</em> if there is no such event.  
+  */
+  public double ctOnPastLightConeOf(Event detection) {
+    return solver.ct(detection.ct(), detection.x(), detection.y(), detection.z());
+  }
+  
+  /** Return the event on the history that's on the past light-cone of the given detection event, if any. */
+  public Optional<Event> eventOnPastLightConeOf(Event detection) {
+    double ct = ctOnPastLightConeOf(detection);
+    return Double.isNaN(ct) ? Optional.empty() : Optional.of(history.event(ct));
+  }
+  
+  /** 
+   Return the coordinate-times of the events on the history that are on the past light-cone of each of the given detection events.
+   Each item in the returned array has the same index as the corresponding detection event, and is <em>NaN</em> if there's no such event.  
+  */
+  public double[] ctOnPastLightConeOf(EventBatch detections) {
+    double[] result = new double[detections.size()];
+    for(int i = 0; i < result.length; ++i) {
+      result[i] = solver.ct(detections.ct(i), detections.x(i), detections.y(i), detections.z(i));
+    }
+    return result;
+  }
+  
+  // PRIVATE
+  
+  private final History history;
+  private final Solver solver;
+  
+  /** The number of times the search interval is doubled, when looking for a bracket in the numerical case. */
+  private static final int MAX_DOUBLINGS = 100;
+  
+  private LightConeIntersector(History history) {
+    this.history = history;
+    this.solver = solverFor(history);
+  }
+  
+  /** Return the ct of the intersection with the past light-cone of the detection event (ct,x,y,z); NaN if none.  */
+  private interface Solver {
+    double ct(double ct, double x, double y, double z);
+  }
+  
+  private Solver solverFor(History h) {
+    Solver result = null;
+    if (h instanceof UniformVelocity) {
+      UniformVelocity uv = (UniformVelocity)h;
+      result = new Straight(uv.deltaBase().baseEvent(), uv.velocity(), uv.velocity().square());
+    }
+    else if (h instanceof PhotonStraight) {
+      PhotonStraight photon = (PhotonStraight)h;
+      result = new Straight(photon.deltaBase().baseEvent(), photon.direction(), 1.0);
+    }
+    else if (h instanceof UniformAcceleration) {
+      UniformAcceleration ua = (UniformAcceleration)h;
+      result = new Hyperbola(ua.deltaBase().baseEvent(), ua.axis(), ua.gee());
+    }
+    else if (h instanceof ThereAndBack) {
+      ThereAndBack tab = (ThereAndBack)h;
+      Event base = tab.deltaBase().baseEvent();
+      double uu = tab.velocity().square();
+      result = new TwoLegs(base.ct(), new Straight(base, tab.velocity(), uu), new Straight(base, tab.velocity().times(-1), uu));
+    }
+    else if (h instanceof MirrorReflection) {
+      MirrorReflection mirror = (MirrorReflection)h;
+      Event base = mirror.deltaBase().baseEvent();
+      result = new TwoLegs(base.ct(), new Straight(base, mirror.direction(), 1.0), new Straight(base, mirror.direction().times(-1), 1.0));
+    }
+    else {
+      result = new Numeric();
+    }
+    return result;
+  }
+  
+  /** 
+   Motion in a straight line at constant velocity <em>u</em>.
+   With <em>s</em> the time before the detection, and <em>w</em> the displacement of the detection from the history
+   at the time of detection, the light-cone condition is <em>s = |w + u s|</em>. 
+   That's the quadratic <em>(1-u<sup>2</sup>) s<sup>2</sup> - 2 (w.u) s - w<sup>2</sup> = 0</em>, which has at most one 
+   non-negative root.
+  */
+  private static final class Straight implements Solver {
+    Straight(Event base, ThreeVector u, double uu){
+      this.bct = base.ct(); this.bx = base.x(); this.by = base.y(); this.bz = base.z();
+      this.ux = u.x(); this.uy = u.y(); this.uz = u.z();
+      this.a = 1.0 - uu;
+    }
+    @Override public double ct(double ct, double x, double y, double z) {
+      double Δct = ct - bct;
+      double wx = x - bx - ux * Δct;
+      double wy = y - by - uy * Δct;
+      double wz = z - bz - uz * Δct;
+      double ww = wx * wx + wy * wy + wz * wz;
+      if (ww == 0.0) {
+        return ct;
+      }
+      double b = wx * ux + wy * uy + wz * uz;
+      double disc = Math.sqrt(b * b + a * ww);
+      double s = Double.NaN;
+      //choose the form of the root that avoids cancellation
+      if (b < 0) {
+        s = ww / (disc - b);
+      }
+      else if (a > 0) {
+        s = (b + disc) / a;
+      }
+      return ct - s;
+    }
+    private final double bct, bx, by, bz;
+    private final double ux, uy, uz;
+    /** 1 - u.u */
+    private final double a;
+  }
+  
+  /**
+   Uniform proper-acceleration <em>g</em> along an axis, at rest at the base event.
+   With Δ the time since the base event, the position along the axis is <em>x<sub>c</sub> + H(Δ)</em>, 
+   where <em>H = (1/g) sqrt(1 + g<sup>2</sup> Δ<sup>2</sup>)</em>, and <em>x<sub>c</sub></em> is the center of the hyperbola.
+   Squaring the light-cone condition <em>(T - Δ)<sup>2</sup> = (X - H)<sup>2</sup> + ρ<sup>2</sup></em> twice gives a quadratic in Δ.
+   Its roots are then checked against the unsquared conditions.
+  */
+  private static final class Hyperbola implements Solver {
+    Hyperbola(Event base, Axis axis, double g){
+      this.bct = base.ct(); this.bx = base.x(); this.by = base.y(); this.bz = base.z();
+      this.axis = axis;
+      this.g = g;
+    }
+    @Override public double ct(double ct, double x, double y, double z) {
+      double T = ct - bct;
+      double dx = x - bx; 
+      double dy = y - by; 
+      double dz = z - bz;
+      //X is measured from the center of the hyperbola; ρ is the distance from the line of motion
+      double along = axis == Axis.X ? dx : (axis == Axis.Y ? dy : dz);
+      double X = along + 1.0 / g;
+      double ρρ = dx * dx + dy * dy + dz * dz - along * along;
+      double ig2 = 1.0 / (g * g);
+      double K = X * X + ρρ + ig2 - T * T;
+      //(X² - T²)Δ² - KTΔ + (X²/g² - K²/4) = 0
+      double A = X * X - T * T;
+      double B = -K * T;
+      double C = X * X * ig2 - K * K / 4.0;
+      double discSq = X * X * (K * K - 4.0 * A * ig2);
+      if (discSq < 0) {
+        return Double.NaN;
+      }
+      double disc = Math.sqrt(discSq);
+      double root1 = Double.NaN;
+      double root2 = Double.NaN;
+      if (A == 0.0) {
+        root1 = -C / B;
+      }
+      else {
+        double q = -0.5 * (B + Math.copySign(disc, B));
+        root1 = q / A;
+        root2 = C / q;
+      }
+      double best = Double.NaN;
+      for (double Δ : new double[] {root1, root2}) {
+        if (isValid(Δ, T, X, K) && !(Δ <= best)) {
+          best = Δ;
+        }
+      }
+      return bct + best;
+    }
+    /** The unsquared conditions: the photon travels forward in time, and 2XH = K + 2TΔ. */
+    private boolean isValid(double Δ, double T, double X, double K) {
+      if (!Double.isFinite(Δ) || T - Δ < 0) {
+        return false;
+      }
+      double H = Math.copySign(Math.sqrt(1.0 / (g * g) + Δ * Δ), g);
+      double lhs = 2 * X * H;
+      double rhs = K + 2 * T * Δ;
+      double scale = Math.abs(lhs) + Math.abs(rhs);
+      return Math.signum(lhs) == Math.signum(rhs) || Math.abs(lhs - rhs) <= TOLERANCE * scale;
+    }
+    private static final double TOLERANCE = 1.0E-9;
+    private final double bct, bx, by, bz;
+    private final Axis axis;
+    private final double g;
+  }
+  
+  /** Two legs that meet at a turnaround event: the second leg is active for ct at or after the turnaround. */
+  private static final class TwoLegs implements Solver {
+    TwoLegs(double turnaround, Solver first, Solver second){
+      this.turnaround = turnaround;
+      this.first = first;
+      this.second = second;
+    }
+    @Override public double ct(double ct, double x, double y, double z) {
+      double result = second.ct(ct, x, y, z);
+      if (!(result >= turnaround)) {
+        result = first.ct(ct, x, y, z);
+        if (!(result < turnaround)) {
+          result = Double.NaN;
+        }
+      }
+      return result;
+    }
+    private final double turnaround;
+    private final Solver first;
+    private final Solver second;
+  }
+  
+  /**
+   Any history. 
+   The function <em>(ct<sub>detection</sub> - ct) - distance</em> is positive before the intersection, and negative after it.
+   Step back in time from the detection event until the function is positive, and then search the bracket.
+  */
+  private final class Numeric implements Solver {
+    @Override public double ct(double ct, double x, double y, double z) {
+      Function<Event, Double> criterion = event -> (ct - event.ct()) - distance(event, x, y, z);
+      FindEvent find = new FindEvent(history, criterion, Epsilon.ε());
+      double hi = ct;
+      if (criterion.apply(history.event(hi)) >= 0) {
+        return hi;
+      }
+      double step = Math.max(1.0, distance(history.event(hi), x, y, z));
+      for (int i = 0; i < MAX_DOUBLINGS; ++i) {
+        double lo = ct - step;
+        if (criterion.apply(history.event(lo)) > 0) {
+          return find.searchBetween(lo, hi);
+        }
+        hi = lo;
+        step = 2 * step;
+      }
+      return Double.NaN;
+    }
+    private double distance(Event event, double x, double y, double z) {
+      double dx = x - event.x();
+      double dy = y - event.y();
+      double dz = z - event.z();
+      return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package sr.core.hist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.component.Event;
+import sr.core.component.EventBatch;
+import sr.core.component.Position;
+import sr.core.hist.lightlike.MirrorReflection;
+import sr.core.hist.lightlike.PhotonStraight;
+import sr.core.hist.timelike.CircularMotion;
+import sr.core.hist.timelike.ThereAndBack;
+import sr.core.hist.timelike.TimelikeDeltaBase;
+import sr.core.hist.timelike.UniformAcceleration;
+import sr.core.hist.timelike.UniformVelocity;
+import sr.core.vec3.Direction;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+
+/** Unit test. */
+class LightConeIntersectorTEST {
+  
+  @Test void closedFormsAgreeWithNumericalSearch() {
+    TimelikeDeltaBase base = TimelikeDeltaBase.of(Event.of(1.0, 2.0, -1.0, 0.5), 0.0);
+    check(UniformVelocity.stationary(Position.of(3.0, 0.0, 0.0)));
+    check(UniformVelocity.of(base, Velocity.of(0.6, -0.3, 0.2)));
+    check(UniformVelocity.of(base, Velocity.of(0.9999, Axis.Y)));
+    check(UniformAcceleration.of(base, Axis.X, 0.7));
+    check(UniformAcceleration.of(base, Axis.Z, -2.0));
+    check(ThereAndBack.of(base, Velocity.of(-0.8, 0.1, 0.0)));
+    check(PhotonStraight.of(DeltaBase.of(Event.of(-50.0, 0.0, 0.0, 0.0)), Direction.of(1.0, 1.0, 0.0)));
+    check(MirrorReflection.of(DeltaBase.of(Event.of(-50.0, 0.0, 0.0, 0.0)), Direction.of(1.0, 1.0, 0.0)));
+  }
+  
+  @Test void otherHistoriesUseNumericalSearch() {
+    History circle = CircularMotion.of(TimelikeDeltaBase.origin(), 2.0, 0.5, Axis.Z, 0.0);
+    LightConeIntersector intersector = LightConeIntersector.of(circle);
+    assertFalse(intersector.isClosedForm());
+    for(Event detection : detections()) {
+      assertOnPastLightCone(detection, intersector.eventOnPastLightConeOf(detection).get());
+    }
+  }
+  
+  @Test void noIntersection() {
+    //a detector off to the side of a photon's line never sees it: the photon's light never reaches the detector
+    History photon = PhotonStraight.of(DeltaBase.origin(), Direction.of(1.0, 0.0, 0.0));
+    assertTrue(Double.isNaN(LightConeIntersector.of(photon).ctOnPastLightConeOf(Event.of(0.0, 0.0, 1.0, 0.0))));
+  }
+  
+  @Test void batch() {
+    History history = UniformAcceleration.of(Position.origin(), Axis.X, 1.0);
+    LightConeIntersector intersector = LightConeIntersector.of(history);
+    EventBatch batch = EventBatch.of(detections());
+    double[] cts = intersector.ctOnPastLightConeOf(batch);
+    for(int i = 0; i < batch.size(); ++i) {
+      assertEquals(intersector.ctOnPastLightConeOf(batch.get(i)), cts[i]);
+    }
+  }
+  
+  private static final double SMALL = 1.0E-9;
+  
+  private java.util.List<Event> detections(){
+    java.util.List<Event> result = new java.util.ArrayList<>();
+    result.add(Event.of(10.0, 5.0, 0.0, 0.0));
+    result.add(Event.of(10.0, -5.0, 3.0, 0.0));
+    result.add(Event.of(0.0, 1.0, 1.0, 1.0));
+    result.add(Event.of(-3.0, 0.5, -2.0, 4.0));
+    result.add(Event.of(100.0, 20.0, -30.0, 1.0));
+    return result;
+  }
+  
+  private void check(History history) {
+    LightConeIntersector exact = LightConeIntersector.of(history);
+    assertTrue(exact.isClosedForm());
+    //a lambda hides the type of the history, and forces the numerical search 
+    LightConeIntersector numerical = LightConeIntersector.of(ct -> history.event(ct));
+    assertFalse(numerical.isClosedForm());
+    for(Event detection : detections()) {
+      double ct = exact.ctOnPastLightConeOf(detection);
+      double expected = numerical.ctOnPastLightConeOf(detection);
+      if (Double.isNaN(expected)) {
+        assertTrue(Double.isNaN(ct));
+      }
+      else {
+        assertEquals(expected, ct, SMALL * (1 + Math.abs(expected)));
+        assertOnPastLightCone(detection, history.event(ct));
+      }
+    }
+  }
+  
+  private void assertOnPastLightCone(Event detection, Event event) {
+    FourDelta delta = FourDelta.of(event, detection);
+    assertTrue(delta.ct() >= 0);
+    assertEquals(0.0, delta.square() / (1 + delta.ct() * delta.ct()), SMALL);
+  }
+}
@@ -1,7 +1,7 @@
 package sr.core.hist;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import sr.core.component.Event;
 
@@ -11,7 +11,10 @@ import sr.core.component.Event;
  <P>The mental model: the history-parts are full histories in themselves.
  But this class 'pays attention' to only one of those histories at a time, according the value of the coordinate-time.
  The history-parts are stitched together using various branch-points (values of <em>ct</em>) to determine which history 
- to use for a given coordinate-time. 
+ to use for a given coordinate-time.
+ 
+ <P>This class is a builder. The history returned by {@link #build()} is immutable: it's a snapshot of the legs added 
+ up to that point. It finds the leg for a given coordinate-time using a {@link LegLookup}.
 */
 public final class StitchedHistory {
 
@@ -30,35 +33,32 @@ public final class StitchedHistory {
   */
   public void addTheNext(History leg, Double branchPoint) {
     checkOrder(branchPoint);
-    legs.put(branchPoint, leg);
+    branchPoints.add(branchPoint);
+    legs.add(leg);
   }
   
   /**  Return a full history whose pieces are the legs passed in previously. */
   public History build() {
+    History[] legsSnapshot = legs.toArray(new History[0]);
+    LegLookup lookup = LegLookup.of(branchPoints.stream().mapToDouble(Double::doubleValue).toArray());
     return new History() {
       @Override public Event event(double ct) {
-        return legFor(ct).event(ct);
+        return legsSnapshot[lookup.legFor(ct)].event(ct);
       }
     };
   }
 
-  //LinkedHashMap: iteration order = insertion order; that's important here
-  private Map<Double /*branch-point*/, History> legs = new LinkedHashMap<>();
+  // PRIVATE
+  
+  /** The same order as the legs. */
+  private List<Double> branchPoints = new ArrayList<>();
+  private List<History> legs = new ArrayList<>();
   
   private StitchedHistory(History firstLeg) {
     double infin = Double.MAX_VALUE;
     double initialBranchPoint = -infin;
-    this.legs.put(initialBranchPoint, firstLeg); 
-  }
-  
-  private History legFor(double target) {
-    History result = null;
-    for(Double branchPoint : legs.keySet()) {
-      if (target >= branchPoint) {
-        result = legs.get(branchPoint);
-      }
-    }
-    return result;
+    branchPoints.add(initialBranchPoint);
+    legs.add(firstLeg);
   }
   
   private void checkOrder(Double nextBranchPoint) {
@@ -68,10 +68,6 @@ public final class StitchedHistory {
   }
   
   private Double mostRecentlyAddedBranchPoint() {
-    Double result = null;
-    for(Double branchPoint : legs.keySet() /* assume same order as the map */) {
-      result = branchPoint;
-    }
-    return result;
+    return branchPoints.get(branchPoints.size() - 1);
   }
 }
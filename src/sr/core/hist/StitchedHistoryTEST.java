@@ -0,0 +1,52 @@
+package sr.core.hist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.component.Position;
+import sr.core.hist.timelike.UniformVelocity;
+
+/** Unit test. */
+class StitchedHistoryTEST {
+
+  @Test void legForEachTime() {
+    History history = stitched().build();
+    //each leg is stationary at x = its index
+    assertEquals(0.0, history.event(-1.0E300).x());
+    assertEquals(0.0, history.event(Math.nextDown(0.0)).x());
+    assertEquals(1.0, history.event(0.0).x());
+    assertEquals(1.0, history.event(Math.nextDown(10.0)).x());
+    assertEquals(2.0, history.event(10.0).x());
+    assertEquals(2.0, history.event(1.0E300).x());
+    assertEquals(10.0, history.event(10.0).ct());
+  }
+
+  @Test void buildIsASnapshot() {
+    StitchedHistory builder = stitched();
+    History before = builder.build();
+    builder.addTheNext(leg(3.0), 20.0);
+    assertEquals(2.0, before.event(25.0).x());
+    assertEquals(3.0, builder.build().event(25.0).x());
+  }
+
+  @Test void branchPointsMustIncrease() {
+    StitchedHistory builder = stitched();
+    assertThrows(IllegalArgumentException.class, () -> builder.addTheNext(leg(3.0), 10.0));
+    assertThrows(IllegalArgumentException.class, () -> builder.addTheNext(leg(3.0), 5.0));
+  }
+
+  /** Legs at x = 0, 1, 2, starting at ct = -infinity, 0, 10. */
+  private StitchedHistory stitched() {
+    StitchedHistory result = StitchedHistory.startingWith(leg(0.0));
+    result.addTheNext(leg(1.0), 0.0);
+    result.addTheNext(leg(2.0), 10.0);
+    return result;
+  }
+
+  private History leg(double x) {
+    return UniformVelocity.stationary(Position.of(Axis.X, x));
+  }
+}
@@ -41,13 +41,27 @@ public final class MirrorReflection implements History {
     return stitchedHistory.event(ct);
   }
 
+  /** The delta-base passed to the factory method. The reflection takes place at its base event. */
+  public DeltaBase deltaBase() {
+    return deltaBase;
+  }
+  
+  /** The direction before the reflection. */
+  public Direction direction() {
+    return direction;
+  }
+  
   @Override public String toString() {
     return "PhotonReflection history: " + stitchedHistory;
   }
 
   private History stitchedHistory;
+  private DeltaBase deltaBase;
+  private Direction direction;
   
   private MirrorReflection(DeltaBase deltaBase, Direction direction) {
+    this.deltaBase = deltaBase;
+    this.direction = direction;
     this.stitchedHistory = stitchedHistory(deltaBase, direction);
   }
   
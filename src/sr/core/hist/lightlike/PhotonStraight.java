@@ -38,6 +38,11 @@ public final class PhotonStraight extends MoveableHistory {
     return Velocity.unity(direction);
   }
   
+  /** The direction of motion passed to the factory method. */
+  public Direction direction() {
+    return direction;
+  }
+  
   @Override protected FourDelta delta(double Δct) {
     Event b = Event.of(Δct, Δct*direction.x(), Δct*direction.y(), Δct*direction.z());
     return FourDelta.withRespectToOrigin(b);
@@ -14,6 +14,10 @@ final class BranchPoint {
   double ct() { return ct; }
   double τ() { return τ; }
   
+  @Override public String toString() {
+    return "ct:" + ct + " τ:" + τ;
+  }
+  
   private BranchPoint(double ct, double τ) {
     this.ct = ct;
     this.τ = τ;
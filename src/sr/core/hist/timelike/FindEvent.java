@@ -4,20 +4,33 @@ import java.util.function.Function;
 
 import sr.core.Util;
 import sr.core.component.Event;
+import sr.core.hist.History;
 
 /** 
  Find the λ value (usually a ct-coordinate) along a {@link TimelikeHistory} for which the corresponding event satisfies a given criterion.
+ Any {@link History} can be searched, but the search is usually along a {@link TimelikeHistory}.
 
- <P> This implementation is basic; it's not super-robust!
- It's highly recommended that you:
+ <P>There are three ways of searching:
+ <ul>
+  <li>{@link #search(double)}: the Newton-Raphson method, using a numerical approximation to the derivative. 
+  Each step calls {@link History#event(double)} twice.
+  <li>{@link #searchWithDerivative(double, Function)}: the Newton-Raphson method, using a derivative supplied by the caller.
+  Each step calls {@link History#event(double)} only once.
+  <li>{@link #searchBetween(double, double)}: Brent's method, for a root known to be in a given interval.
+  This method always converges. It's the most robust of the three.
+ </ul> 
+ 
+ <P>The Newton-Raphson methods are basic; they're not super-robust!
+ When using them, it's highly recommended that you:
  <ul>
   <li>make an effort to provide a good first-guess to the search method. 
   This can usually be done by drawing a simple sketch of the scenario.
   <li>inspect the number of iterations needed to find the returned result.
  </ul> 
-  
- <P>The data is expected to be simple, monotonic, and with a single root.
- <P>This implementation uses the Newton-Raphson method.
+ The data is expected to be simple, monotonic, and with a single root.
+ 
+ <P>If a search fails to find a root, then it throws a RuntimeException. 
+ It never returns a bad λ silently.
 */
 public final class FindEvent {
 
@@ -27,15 +40,15 @@ public final class FindEvent {
    @param criterion the function that returns 0.0 for the caller's target event.
    @param epsilon the difference-level down to which this class pursues the target-zero; a small positive number.
   */
-  public FindEvent(TimelikeHistory history, Function<Event, Double> criterion, Double epsilon) {
+  public FindEvent(History history, Function<Event, Double> criterion, Double epsilon) {
    Util.mustHave(epsilon > 0, "The epsilon interval must be positive.");
    this.history = history;
    this.criterion = criterion;
    this.epsilon = epsilon;
   }
   
-  /** Call {@link #FindEvent(TimelikeHistory, Function, Double)} with epsilon equal to {@link #EPSILON}. */
-  public FindEvent(TimelikeHistory history, Function<Event, Double> criterion) {
+  /** Call {@link #FindEvent(History, Function, Double)} with epsilon equal to {@link #EPSILON}. */
+  public FindEvent(History history, Function<Event, Double> criterion) {
     this(history, criterion, EPSILON);
    }
 
@@ -50,6 +63,9 @@ public final class FindEvent {
   */
   public static final double EPSILON = 0.00001;
   
+  /** The maximum number of iterations for any search: {@value}. */
+  public static final int MAX_ITERATIONS = 1000;
+  
   /**  Execute the {@link #search(double, double)} using {@link #SMALL_H} as the h-value.  */
   public double search(double λ) {
     return search(λ, SMALL_H);
@@ -63,19 +79,112 @@ public final class FindEvent {
   public double search(double λ, double h) {
     Util.mustHave(h>0, "The h-interval must be positive.");
     
-    numIterations = 0;
-    NewtonGuess guess = new NewtonGuess(λ, h);
-    while (Math.abs(guess.fλ) > epsilon) {
-      guess = guess.again();
-      ++numIterations;
-      if (numIterations > 1000) {
-        break; //avoid getting into an infinite loop, in case of unexpected conditions
-      }
+    startSearch();
+    double fλ = f(λ);
+    while (!isRoot(fλ)) {
+      double fλ_plus_h = f(λ + h);
+      double derivative = (fλ_plus_h - fλ)/h;
+      λ = nextNewtonStep(λ, fλ, derivative);
+      fλ = f(λ);
     }
-    if (numIterations < 1) {
-      //throw new RuntimeException("Probable search error. The number of iterations is under 1.");
+    return λ;
+  }
+  
+  /** 
+   Return the λ for which the history satisfies the given criterion.
+   Each step calls {@link History#event(double)} only once.
+   @param λ an initial guess for the return value.
+   @param derivative the rate of change of the criterion with respect to λ, at the given event on the history.  
+  */
+  public double searchWithDerivative(double λ, Function<Event, Double> derivative) {
+    startSearch();
+    Event event = eventAt(λ);
+    double fλ = criterion.apply(event);
+    while (!isRoot(fλ)) {
+      λ = nextNewtonStep(λ, fλ, derivative.apply(event));
+      event = eventAt(λ);
+      fλ = criterion.apply(event);
+    }
+    return λ;
+  }
+  
+  /**
+   Return the λ for which the history satisfies the given criterion, where λ is in the given interval.
+   Uses Brent's method. 
+   The criterion must have opposite signs (or be 0) at the two ends of the interval.
+   @param λa one end of the interval 
+   @param λb the other end of the interval 
+  */
+  public double searchBetween(double λa, double λb) {
+    //Brent's method; see https://en.wikipedia.org/wiki/Brent%27s_method, and Numerical Recipes (zbrent)
+    startSearch();
+    double a = λa;
+    double b = λb;
+    double fa = f(a);
+    double fb = f(b);
+    Util.mustHave(!(fa > 0 && fb > 0) && !(fa < 0 && fb < 0), "The criterion has the same sign at both ends of the interval: " + fa + " " + fb);
+    double c = b;
+    double fc = fb;
+    double d = b - a;
+    double e = d;
+    while (true) {
+      if ((fb > 0 && fc > 0) || (fb < 0 && fc < 0)) {
+        //the root is between a and b
+        c = a;
+        fc = fa;
+        d = b - a;
+        e = d;
+      }
+      if (Math.abs(fc) < Math.abs(fb)) {
+        //b is always the best guess
+        a = b; b = c; c = a;
+        fa = fb; fb = fc; fc = fa;
+      }
+      double tol = 2 * Math.ulp(b);
+      double half = 0.5 * (c - b);
+      if (isRoot(fb) || Math.abs(half) <= tol) {
+        return b;
+      }
+      checkIterations();
+      if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+        //try interpolation: secant if only two points, otherwise inverse quadratic
+        double p, q;
+        double s = fb / fa;
+        if (a == c) {
+          p = 2 * half * s;
+          q = 1 - s;
+        }
+        else {
+          double qq = fa / fc;
+          double r = fb / fc;
+          p = s * (2 * half * qq * (qq - r) - (b - a) * (r - 1));
+          q = (qq - 1) * (r - 1) * (s - 1);
+        }
+        if (p > 0) {
+          q = -q;
+        }
+        p = Math.abs(p);
+        if (2 * p < Math.min(3 * half * q - Math.abs(tol * q), Math.abs(e * q))) {
+          //accept the interpolation
+          e = d;
+          d = p / q;
+        }
+        else {
+          //bisection
+          d = half;
+          e = d;
+        }
+      }
+      else {
+        //bisection
+        d = half;
+        e = d;
+      }
+      a = b;
+      fa = fb;
+      b = b + (Math.abs(d) > tol ? d : Math.copySign(tol, half));
+      fb = f(b);
     }
-    return guess.λ;
   }
   
   /** The number of loops used by a search method to find its answer. */
@@ -83,33 +192,47 @@ public final class FindEvent {
     return numIterations;
   }
 
+  /** The number of calls to {@link History#event(double)} made by a search method to find its answer. */
+  public int numEvaluationsUsedBySearch() {
+    return numEvaluations;
+  }
+
   // PRIVATE
   
-  private TimelikeHistory history;
+  private History history;
   private Function<Event, Double> criterion;
   private Double epsilon;
   private int numIterations;
+  private int numEvaluations;
+  
+  private void startSearch() {
+    numIterations = 0;
+    numEvaluations = 0;
+  }
+  
+  private Event eventAt(double λ) {
+    ++numEvaluations;
+    return history.event(λ);
+  }
+  
+  private double f(double λ) {
+    return criterion.apply(eventAt(λ));
+  }
+  
+  private boolean isRoot(double fλ) {
+    Util.mustHave(!Double.isNaN(fλ), () -> "Search failed. The criterion is NaN, after " + numIterations + " iterations.");
+    return Math.abs(fλ) <= epsilon;
+  }
   
   /** Newton-Raphson method. */
-  private final class NewtonGuess {
-    double λ;
-    double fλ;
-    double derivfτ;
-    double h;
-    NewtonGuess(double λ, double h){
-      this.λ = λ;
-      this.fλ = criterion.apply(history.event(λ));
-      this.h = h;
-      this.derivfτ = derivative();
-    }
-    /** Returns a new object. */
-    NewtonGuess again() {
-      double nextλ =  λ - (fλ/derivfτ);
-      return new NewtonGuess(nextλ, h);
-    }
-    double derivative() {
-      double fλ_plus_h = criterion.apply(history.event(λ + h));
-      return (fλ_plus_h - fλ)/h;
-    }
+  private double nextNewtonStep(double λ, double fλ, double derivative) {
+    checkIterations();
+    Util.mustHave(derivative != 0.0 && Double.isFinite(derivative), () -> "Search failed. Derivative is " + derivative + " at λ " + λ);
+    return λ - (fλ/derivative);
+  }
+  
+  private void checkIterations() {
+    ++numIterations;
+    Util.mustHave(numIterations <= MAX_ITERATIONS, () -> "Search failed. No convergence after " + MAX_ITERATIONS + " iterations.");
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package sr.core.hist.timelike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.component.Position;
+import sr.core.vec3.Velocity;
+
+/** Unit test. */
+class FindEventTEST {
+
+  @Test void brentOnALinearCriterion() {
+    //x = 0.5 ct, so x = 1 at ct = 2; the first secant step lands on the root
+    FindEvent find = new FindEvent(UniformVelocity.of(Position.origin(), Velocity.of(0.5, Axis.X)), e -> e.x() - 1.0);
+    assertEquals(2.0, find.searchBetween(0.0, 5.0));
+    assertEquals(1, find.numIterationsUsedBySearch());
+    assertEquals(3, find.numEvaluationsUsedBySearch());
+  }
+
+  @Test void brentOnACurvedCriterion() {
+    //x = sqrt(1 + ct^2) - 1, so x = 1 at ct = sqrt(3)
+    FindEvent find = new FindEvent(UniformAcceleration.of(Position.origin(), Axis.X, 1.0), e -> e.x() - 1.0);
+    double ct = find.searchBetween(0.0, 5.0);
+    assertEquals(Math.sqrt(3.0), ct, 1.0E-4);
+    int iterations = find.numIterationsUsedBySearch();
+    assertTrue(iterations > 0 && iterations < 20, "iterations: " + iterations);
+    //one call at each end of the interval, then one per iteration
+    assertEquals(iterations + 2, find.numEvaluationsUsedBySearch());
+
+    //the same answer from the other end, and the counts are reset for each search
+    assertEquals(ct, find.searchBetween(5.0, 0.0), 1.0E-4);
+    assertEquals(find.numIterationsUsedBySearch() + 2, find.numEvaluationsUsedBySearch());
+  }
+
+  @Test void rootAtTheEndOfTheInterval() {
+    FindEvent find = new FindEvent(UniformVelocity.of(Position.origin(), Velocity.of(0.5, Axis.X)), e -> e.x() - 1.0);
+    assertEquals(2.0, find.searchBetween(0.0, 2.0));
+    assertEquals(0, find.numIterationsUsedBySearch());
+    assertEquals(2, find.numEvaluationsUsedBySearch());
+  }
+
+  @Test void newtonCounts() {
+    FindEvent find = new FindEvent(UniformAcceleration.of(Position.origin(), Axis.X, 1.0), e -> e.x() - 1.0);
+    assertEquals(Math.sqrt(3.0), find.search(1.0), 1.0E-4);
+    //two calls per iteration, plus one for the initial guess
+    assertEquals(2 * find.numIterationsUsedBySearch() + 1, find.numEvaluationsUsedBySearch());
+
+    //x' = ct / sqrt(1 + ct^2)
+    assertEquals(Math.sqrt(3.0), find.searchWithDerivative(1.0, e -> e.ct() / Math.sqrt(1.0 + e.ct() * e.ct())), 1.0E-4);
+    assertEquals(find.numIterationsUsedBySearch() + 1, find.numEvaluationsUsedBySearch());
+  }
+
+  @Test void badBracket() {
+    FindEvent find = new FindEvent(UniformVelocity.of(Position.origin(), Velocity.of(0.5, Axis.X)), e -> e.x() - 1.0);
+    assertThrows(RuntimeException.class, () -> find.searchBetween(3.0, 5.0));
+    assertThrows(RuntimeException.class, () -> find.searchBetween(-1.0, 1.0));
+  }
+
+  @Test void nanCriterion() {
+    FindEvent find = new FindEvent(UniformVelocity.of(Position.origin(), Velocity.of(0.5, Axis.X)), e -> Double.NaN);
+    assertThrows(RuntimeException.class, () -> find.searchBetween(0.0, 5.0));
+    assertThrows(RuntimeException.class, () -> find.search(1.0));
+  }
+
+  @Test void noConvergence() {
+    //the criterion is never zero, and the Newton steps go back and forth
+    FindEvent find = new FindEvent(UniformVelocity.of(Position.origin(), Velocity.of(0.5, Axis.X)), e -> Math.abs(e.ct()) + 1.0);
+    assertThrows(RuntimeException.class, () -> find.searchWithDerivative(1.0, e -> Math.signum(e.ct())));
+    assertEquals(FindEvent.MAX_ITERATIONS + 1, find.numIterationsUsedBySearch());
+  }
+}
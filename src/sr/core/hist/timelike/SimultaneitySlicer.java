@@ -0,0 +1,234 @@
+package sr.core.hist.timelike;
+
+import static sr.core.Util.mustHave;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import sr.core.Axis;
+import sr.core.Epsilon;
+import sr.core.Matrix4;
+import sr.core.ParallelRange;
+import sr.core.component.Event;
+import sr.core.component.EventBatch;
+import sr.core.component.ops.LorentzBoost;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.Velocity;
+
+/**
+ Find the events on many histories that are simultaneous in a boosted frame.
+ 
+ <P>An extended body is modeled as a list of histories, one for each material point.
+ In the frame K, the histories are given. 
+ The frame K' is boosted with respect to K by a given velocity (as in {@link Sense#ChangeGrid}).
+ For a given time <em>ct'</em> in K', this class finds the event on each history whose K' time-coordinate is <em>ct'</em>.
+ Those events make up a time-slice of the body in K'.
+ 
+ <P>The event is found exactly, with no iteration, for {@link UniformVelocity}, {@link UniformAcceleration}, and {@link ThereAndBack}. 
+ For other histories, a bracketed search is used, starting from the result for the previous history in the list. 
+ Neighbouring material points usually have similar results, so the search starts close to the answer.
+ 
+ <P>The histories are processed in parallel (see {@link ParallelRange}).
+ The result doesn't depend on the number of cores.
+*/
+public final class SimultaneitySlicer {
+
+  /**
+   Factory method.
+   @param histories in K, for each material point of the body. Not empty.
+   @param boost_v the velocity of K' with respect to K.
+  */
+  public static SimultaneitySlicer of(List<? extends TimelikeHistory> histories, Velocity boost_v) {
+    return new SimultaneitySlicer(histories, boost_v);
+  }
+  
+  /** 
+   Return the K coordinate-time of the event on each history whose K' coordinate-time is the given value.
+   Each item in the returned array has the same index as the corresponding history. 
+  */
+  public double[] ctAt(double ctPrimed) {
+    double[] result = new double[solvers.size()];
+    ParallelRange.forEach(solvers.size(), THRESHOLD, (from, to) -> {
+      double guess = ctPrimed / m00;
+      for(int i = from; i < to; ++i) {
+        result[i] = solvers.get(i).ct(ctPrimed, guess);
+        guess = result[i];
+      }
+    });
+    return result;
+  }
+  
+  /**
+   Return the time-slice at the given K' coordinate-time.
+   @return the events in K' coordinates; each has the given <em>ct'</em>, and the same index as the corresponding history.
+  */
+  public EventBatch sliceAt(double ctPrimed) {
+    double[] ct = ctAt(ctPrimed);
+    EventBatch result = EventBatch.of(ct.length);
+    ParallelRange.forEach(ct.length, THRESHOLD, (from, to) -> {
+      for(int i = from; i < to; ++i) {
+        result.set(i, histories.get(i).event(ct[i]));
+      }
+    });
+    return result.boostInParallel(boost);
+  }
+  
+  // PRIVATE
+  
+  /** Histories are expensive compared with array items, so the pieces processed in parallel are small. */
+  private static final int THRESHOLD = 64;
+  
+  /** The maximum number of times a search interval is doubled, when looking for a bracket. */
+  private static final int MAX_DOUBLINGS = 100;
+  
+  private final List<TimelikeHistory> histories;
+  private final LorentzBoost boost;
+  private final List<Solver> solvers;
+  
+  /** The first row of the boost matrix, since ct' = m00 ct + m01 x + m02 y + m03 z. */
+  private final double m00, m01, m02, m03;
+  
+  private SimultaneitySlicer(List<? extends TimelikeHistory> histories, Velocity boost_v) {
+    mustHave(histories.size() > 0, "No histories.");
+    this.histories = new ArrayList<>(histories);
+    this.boost = LorentzBoost.of(boost_v, Sense.ChangeGrid);
+    Matrix4 m = boost.matrix();
+    this.m00 = m.get(0, 0);
+    this.m01 = m.get(0, 1);
+    this.m02 = m.get(0, 2);
+    this.m03 = m.get(0, 3);
+    this.solvers = new ArrayList<>();
+    for(TimelikeHistory history : this.histories) {
+      solvers.add(solverFor(history));
+    }
+  }
+  
+  /** Return the K coordinate-time for the given K' coordinate-time. */
+  private interface Solver {
+    double ct(double ctPrimed, double guess);
+  }
+  
+  private Solver solverFor(TimelikeHistory h) {
+    Solver result = null;
+    if (h instanceof UniformVelocity) {
+      UniformVelocity uv = (UniformVelocity)h;
+      result = new Straight(uv.deltaBase().baseEvent(), uv.velocity());
+    }
+    else if (h instanceof UniformAcceleration) {
+      UniformAcceleration ua = (UniformAcceleration)h;
+      result = new Hyperbola(ua.deltaBase().baseEvent(), ua.axis(), ua.gee());
+    }
+    else if (h instanceof ThereAndBack) {
+      ThereAndBack tab = (ThereAndBack)h;
+      Event base = tab.deltaBase().baseEvent();
+      Solver first = new Straight(base, tab.velocity());
+      Solver second = new Straight(base, Velocity.of(tab.velocity().times(-1)));
+      result = (ctPrimed, guess) -> {
+        double ct = second.ct(ctPrimed, guess);
+        return ct >= base.ct() ? ct : first.ct(ctPrimed, guess);
+      };
+    }
+    else {
+      result = new Numeric(h);
+    }
+    return result;
+  }
+  
+  private double ctPrimed(Event event) {
+    return m00 * event.ct() + m01 * event.x() + m02 * event.y() + m03 * event.z();
+  }
+  
+  /** 
+   Uniform velocity <em>u</em> through a base event <em>b</em>. 
+   Then <em>ct' = m<sub>00</sub> ct + m<sub>0</sub>.(b + u (ct - ct<sub>b</sub>))</em>, which is linear in <em>ct</em>.
+  */
+  private final class Straight implements Solver {
+    Straight(Event base, Velocity u){
+      double mu = m01 * u.x() + m02 * u.y() + m03 * u.z();
+      this.numerator = mu * base.ct() - (m01 * base.x() + m02 * base.y() + m03 * base.z());
+      this.denominator = m00 + mu;
+    }
+    @Override public double ct(double ctPrimed, double guess) {
+      return (ctPrimed + numerator) / denominator;
+    }
+    private final double numerator;
+    private final double denominator;
+  }
+  
+  /**
+   Uniform proper-acceleration <em>g</em> along an axis, at rest at the base event.
+   With Δ the time since the base event, the position along the axis is <em>x<sub>c</sub> + H(Δ)</em>, 
+   where <em>H = (1/g) sqrt(1 + g<sup>2</sup> Δ<sup>2</sup>)</em>, and <em>x<sub>c</sub></em> is the center of the hyperbola.
+   Then <em>ct'</em> has the form <em>a Δ + b H + constant</em>. 
+   Squaring gives a quadratic in Δ, with one root that satisfies the unsquared condition.
+  */
+  private final class Hyperbola implements Solver {
+    Hyperbola(Event base, Axis axis, double g){
+      this.bct = base.ct();
+      this.g = g;
+      this.a = m00;
+      this.b = axis == Axis.X ? m01 : (axis == Axis.Y ? m02 : m03);
+      //ct' at the base event, less the part from H at Δ=0
+      this.constant = ctPrimed(base) - b / g;
+    }
+    @Override public double ct(double ctPrimed, double guess) {
+      //a Δ + b H = R
+      double R = ctPrimed - constant;
+      if (b == 0.0) {
+        return bct + R / a;
+      }
+      //(b² - a²)Δ² + 2aRΔ + (b²/g² - R²) = 0
+      double A = b * b - a * a;
+      double B = 2 * a * R;
+      double C = b * b / (g * g) - R * R;
+      double disc = Math.sqrt(Math.max(0.0, B * B - 4 * A * C));
+      double q = -0.5 * (B + Math.copySign(disc, B));
+      double root1 = q / A;
+      double root2 = C / q;
+      return bct + (isValid(root1, R) ? root1 : root2);
+    }
+    /** The unsquared condition: b H = R - a Δ. */
+    private boolean isValid(double Δ, double R) {
+      double H = Math.copySign(Math.sqrt(1.0 / (g * g) + Δ * Δ), g);
+      return Double.isFinite(Δ) && Math.signum(b * H) == Math.signum(R - a * Δ);
+    }
+    private final double bct;
+    private final double g;
+    private final double a;
+    private final double b;
+    private final double constant;
+  }
+  
+  /**
+   Any timelike history. 
+   Since ct' increases along any timelike history, the root is bracketed by stepping away from the guess.
+  */
+  private final class Numeric implements Solver {
+    Numeric(TimelikeHistory history){
+      this.history = history;
+    }
+    @Override public double ct(double ctPrimed, double guess) {
+      Function<Event, Double> criterion = event -> ctPrimed(event) - ctPrimed;
+      double f = criterion.apply(history.event(guess));
+      if (f == 0.0) {
+        return guess;
+      }
+      //a timelike history has |dx/dct| < 1, so dct'/dct is at least m00 - |m0| = Γ(1 - β) = 1/(m00 + |m0|)
+      double m0 = Math.sqrt(m01 * m01 + m02 * m02 + m03 * m03);
+      double step = Math.max(Math.abs(f) * (m00 + m0), Epsilon.ε());
+      double direction = f < 0 ? 1.0 : -1.0;
+      double other = guess;
+      for (int i = 0; i < MAX_DOUBLINGS; ++i) {
+        other = guess + direction * step;
+        if (Math.signum(criterion.apply(history.event(other))) != Math.signum(f)) {
+          FindEvent find = new FindEvent(history, criterion, Epsilon.ε());
+          return find.searchBetween(guess, other);
+        }
+        step = 2 * step;
+      }
+      throw new RuntimeException("Cannot find the slice at ct' " + ctPrimed + " for history " + history);
+    }
+    private final TimelikeHistory history;
+  }
+}
@@ -0,0 +1,93 @@
+package sr.core.hist.timelike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.component.Event;
+import sr.core.component.EventBatch;
+import sr.core.component.Position;
+import sr.core.vec3.Velocity;
+
+/** Unit test. */
+class SimultaneitySlicerTEST {
+
+  @Test void closedFormsSameAsNumericalSearch() {
+    List<TimelikeHistory> histories = histories();
+    List<TimelikeHistory> hidden = new ArrayList<>();
+    for(TimelikeHistory history : histories) {
+      hidden.add(hide(history));
+    }
+    for(Velocity v : velocities()) {
+      SimultaneitySlicer exact = SimultaneitySlicer.of(histories, v);
+      SimultaneitySlicer numerical = SimultaneitySlicer.of(hidden, v);
+      for(double ctPrimed : new double[] {-7.5, 0.0, 0.25, 12.0}) {
+        double[] expected = numerical.ctAt(ctPrimed);
+        double[] cts = exact.ctAt(ctPrimed);
+        for(int i = 0; i < cts.length; ++i) {
+          assertEquals(expected[i], cts[i], SMALL * (1 + Math.abs(expected[i])));
+        }
+      }
+    }
+  }
+  
+  @Test void sliceHasTheSameTime() {
+    List<TimelikeHistory> histories = histories();
+    histories.add(CircularMotion.of(TimelikeDeltaBase.origin(), 2.0, 0.5, Axis.Z, 0.0));
+    for(Velocity v : velocities()) {
+      EventBatch slice = SimultaneitySlicer.of(histories, v).sliceAt(3.0);
+      assertEquals(histories.size(), slice.size());
+      for(int i = 0; i < slice.size(); ++i) {
+        assertEquals(3.0, slice.ct(i), SMALL);
+      }
+    }
+  }
+  
+  @Test void manyPointsOnAStick() {
+    //a stick stationary in K along the X-axis, from 0 to 1; in K' its length is 1/Γ
+    List<TimelikeHistory> histories = new ArrayList<>();
+    int n = 1001;
+    for(int i = 0; i < n; ++i) {
+      histories.add(hide(UniformVelocity.stationary(Position.of(Axis.X, i / (n - 1.0)))));
+    }
+    Velocity v = Velocity.of(0.6, Axis.X);
+    EventBatch slice = SimultaneitySlicer.of(histories, v).sliceAt(1.0);
+    assertEquals(0.8, slice.x(n - 1) - slice.x(0), SMALL);
+  }
+  
+  private static final double SMALL = 1.0E-9;
+  
+  private List<TimelikeHistory> histories(){
+    TimelikeDeltaBase base = TimelikeDeltaBase.of(Event.of(1.0, 2.0, -1.0, 0.5), 0.0);
+    List<TimelikeHistory> result = new ArrayList<>();
+    result.add(UniformVelocity.stationary(Position.of(1.0, 2.0, 3.0)));
+    result.add(UniformVelocity.of(base, Velocity.of(0.6, -0.3, 0.2)));
+    result.add(UniformAcceleration.of(base, Axis.X, 0.7));
+    result.add(UniformAcceleration.of(base, Axis.Y, -2.0));
+    result.add(UniformAcceleration.of(base, Axis.Z, 0.1));
+    result.add(ThereAndBack.of(base, Velocity.of(-0.8, 0.1, 0.0)));
+    return result;
+  }
+  
+  private List<Velocity> velocities(){
+    List<Velocity> result = new ArrayList<>();
+    result.add(Velocity.of(0.0, 0.0, 0.0));
+    result.add(Velocity.of(0.6, Axis.X));
+    result.add(Velocity.of(-0.3, 0.5, 0.1));
+    result.add(Velocity.of(0.99, Axis.Y));
+    return result;
+  }
+  
+  /** Hide the type of the history, to force a numerical search. */
+  private TimelikeHistory hide(TimelikeHistory history) {
+    return new TimelikeHistory() {
+      @Override public Event event(double ct) { return history.event(ct); }
+      @Override public double ct(double τ) { return history.ct(τ); }
+      @Override public double τ(double ct) { return history.τ(ct); }
+    };
+  }
+}
@@ -1,10 +1,10 @@
 package sr.core.hist.timelike;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.function.Function;
+import java.util.ArrayList;
+import java.util.List;
 
 import sr.core.component.Event;
+import sr.core.hist.LegLookup;
 
 /** 
  Piece together histories in order to make another {@link TimelikeHistory}.
@@ -12,7 +12,10 @@ import sr.core.component.Event;
  <P>The mental model: the history-parts are full histories in themselves.
  But this class 'pays attention' to only one of those histories at a time, according the value of the coordinate-time.
  The history-parts are stitched together using various {@link BranchPoint} objects to determine which history 
- to use for a given coordinate-time. 
+ to use for a given coordinate-time.
+ 
+ <P>This class is a builder. The history returned by {@link #build()} is immutable: it's a snapshot of the legs added 
+ up to that point. It finds the leg for a given coordinate-time or proper-time using a {@link LegLookup}.
 */
 public class StitchedTimelikeHistory {
 
@@ -37,69 +40,67 @@ public class StitchedTimelikeHistory {
 
   /**  Return a full history whose pieces are the legs passed in previously. */
   public TimelikeHistory build() {
+    TimelikeHistory[] legsSnapshot = legs.toArray(new TimelikeHistory[0]);
+    double[] cts = new double[branchPoints.size()];
+    double[] τs = new double[branchPoints.size()];
+    for(int i = 0; i < branchPoints.size(); ++i) {
+      cts[i] = branchPoints.get(i).ct();
+      τs[i] = branchPoints.get(i).τ();
+    }
+    LegLookup ctLookup = LegLookup.of(cts);
+    LegLookup τLookup = LegLookup.of(τs);
     return new TimelikeHistory() {
       @Override public Event event(double ct) {
-        Function<BranchPoint, Double> function = bp -> bp.ct(); 
-        return legFor(ct, function).event(ct);
+        return legsSnapshot[ctLookup.legFor(ct)].event(ct);
       }
       @Override public double ct(double τ) {
-        Function<BranchPoint, Double> function = bp -> bp.τ(); 
-        return legFor(τ, function).ct(τ);
+        return legsSnapshot[τLookup.legFor(τ)].ct(τ);
       }
       @Override public double τ(double ct) {
-        Function<BranchPoint, Double> function = bp -> bp.ct(); 
-        return legFor(ct, function).τ(ct);
+        return legsSnapshot[ctLookup.legFor(ct)].τ(ct);
       }
     };
   }
 
-  //LinkedHashMap: iteration order = insertion order; that's important here
-  private Map<BranchPoint, TimelikeHistory> legs = new LinkedHashMap<>();
+  // PRIVATE
+  
+  /** The same order as the legs. */
+  private List<BranchPoint> branchPoints = new ArrayList<>();
+  private List<TimelikeHistory> legs = new ArrayList<>();
   
   private StitchedTimelikeHistory(TimelikeHistory firstLeg) {
     double infin = Double.MAX_VALUE;
     BranchPoint initialBranchPoint = BranchPoint.of(-infin, -infin);
-    this.legs.put(initialBranchPoint, firstLeg); 
+    branchPoints.add(initialBranchPoint);
+    legs.add(firstLeg);
   }
   
   /** Make a {@link BranchPoint} using an event on the most recently added history. */
   private BranchPoint branchPointFor(double ct) {
-    BranchPoint last = mostRecentlyAddedBranchPoint();
-    TimelikeHistory lastHistory = legs.get(last);
+    TimelikeHistory lastHistory = legs.get(legs.size() - 1);
     return BranchPoint.of(lastHistory.event(ct).ct(), lastHistory.τ(ct));
   }
   
   /**
    Add another section to the history. 
    Each leg must be added in order of increasing coordinate-time for its {@link BranchPoint}.
+   Proper-time also increases along the history, so the proper-time of each {@link BranchPoint} must increase as well.
    @param branchPoint controls which leg is 'active' for a given coordinate-time. 
   */
   private  void addTheNext(TimelikeHistory leg, BranchPoint branchPoint) {
     checkOrder(branchPoint);
-    legs.put(branchPoint, leg);
-  }
-  
-  private TimelikeHistory legFor(double target, Function<BranchPoint, Double> function) {
-    TimelikeHistory result = null;
-    for(BranchPoint branchPoint : legs.keySet()) {
-      if (target >= function.apply(branchPoint)) {
-        result = legs.get(branchPoint);
-      }
-    }
-    return result;
+    branchPoints.add(branchPoint);
+    legs.add(leg);
   }
   
   private void checkOrder(BranchPoint nextBranchPoint) {
-    if (nextBranchPoint.ct() <= mostRecentlyAddedBranchPoint().ct()) {
-      throw new IllegalArgumentException("BranchPoint " + nextBranchPoint + " must come after " + mostRecentlyAddedBranchPoint());
+    BranchPoint last = mostRecentlyAddedBranchPoint();
+    if (nextBranchPoint.ct() <= last.ct() || nextBranchPoint.τ() <= last.τ()) {
+      throw new IllegalArgumentException("BranchPoint " + nextBranchPoint + " must come after " + last);
     }
   }
   
   private BranchPoint mostRecentlyAddedBranchPoint() {
-    BranchPoint result = null;
-    for(BranchPoint branchPoint : legs.keySet() /* assume same order as the map */) {
-      result = branchPoint;
-    }
-    return result;
+    return branchPoints.get(branchPoints.size() - 1);
   }
 }
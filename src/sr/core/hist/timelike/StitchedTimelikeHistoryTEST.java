@@ -0,0 +1,73 @@
+package sr.core.hist.timelike;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.component.Event;
+import sr.core.component.Position;
+import sr.core.vec3.Velocity;
+
+/** Unit test. */
+class StitchedTimelikeHistoryTEST {
+
+  @Test void legForEachCoordinateTime() {
+    TimelikeHistory history = stitched().build();
+    assertEquals(0.0, history.event(-1.0E300).x());
+    assertEquals(0.0, history.event(Math.nextDown(10.0)).x());
+    assertEquals(MOVING.x() * 10.0, history.event(10.0).x(), SMALL);
+    assertEquals(MOVING.x() * 20.0, history.event(Math.nextDown(20.0)).x(), SMALL);
+    assertEquals(5.0, history.event(20.0).x());
+    assertEquals(5.0, history.event(1.0E300).x());
+    //τ comes from the same leg as the event
+    assertEquals(10.0, history.τ(10.0) / Math.sqrt(1 - MOVING.x() * MOVING.x()), SMALL);
+  }
+
+  @Test void legForEachProperTime() {
+    //the branch-points are at τ = 10 (the first leg) and τ = 16 (the moving leg)
+    TimelikeHistory history = stitched().build();
+    assertEquals(-1.0E300, history.ct(-1.0E300));
+    assertEquals(Math.nextDown(10.0), history.ct(Math.nextDown(10.0)));
+    assertEquals(12.5, history.ct(10.0), SMALL);
+    assertEquals(20.0, history.ct(Math.nextDown(16.0)), SMALL);
+    assertEquals(16.0, history.ct(16.0));
+    assertEquals(1.0E300, history.ct(1.0E300));
+  }
+
+  @Test void buildIsASnapshot() {
+    StitchedTimelikeHistory builder = stitched();
+    TimelikeHistory before = builder.build();
+    builder.addTheNext(UniformVelocity.stationary(Position.of(Axis.X, 7.0)), 30.0);
+    assertEquals(5.0, before.event(35.0).x());
+    assertEquals(7.0, builder.build().event(35.0).x());
+  }
+
+  @Test void coordinateTimeMustIncrease() {
+    StitchedTimelikeHistory builder = stitched();
+    assertThrows(IllegalArgumentException.class, () -> builder.addTheNext(UniformVelocity.stationary(Position.origin()), 20.0));
+    assertThrows(IllegalArgumentException.class, () -> builder.addTheNext(UniformVelocity.stationary(Position.origin()), 15.0));
+  }
+
+  @Test void properTimeMustIncrease() {
+    //the second leg's clock is set far behind, so its proper-time at the next branch-point comes before τ = 10
+    StitchedTimelikeHistory builder = StitchedTimelikeHistory.startingWith(UniformVelocity.stationary(Position.origin()));
+    builder.addTheNext(UniformVelocity.stationary(TimelikeDeltaBase.of(Event.origin(), -100.0)), 10.0);
+    assertThrows(IllegalArgumentException.class, () -> builder.addTheNext(UniformVelocity.stationary(Position.origin()), 20.0));
+  }
+
+  /** 
+   Stationary at the origin with τ = ct, then moving from ct = 10, then stationary at x = 5 from ct = 20.
+   The moving leg passes through the origin at ct = 0, with τ = 0 there. 
+  */
+  private StitchedTimelikeHistory stitched() {
+    StitchedTimelikeHistory result = StitchedTimelikeHistory.startingWith(UniformVelocity.stationary(Position.origin()));
+    result.addTheNext(UniformVelocity.of(Position.origin(), MOVING), 10.0);
+    result.addTheNext(UniformVelocity.stationary(Position.of(Axis.X, 5.0)), 20.0);
+    return result;
+  }
+
+  private static final Velocity MOVING = Velocity.of(0.6, Axis.X);
+  private static final double SMALL = 1.0E-12;
+}
@@ -47,14 +47,28 @@ public final class ThereAndBack implements TimelikeHistory {
     return stitchedHistory.ct(τ);
   }
   
+  /** The delta-base passed to the factory method. The turnaround takes place at its base event. */
+  public TimelikeDeltaBase deltaBase() {
+    return deltaBase;
+  }
+  
+  /** The velocity before the turnaround event. */
+  public Velocity velocity() {
+    return velocity;
+  }
+  
   @Override public String toString() {
     return "ThereAndBack stitched history: " + stitchedHistory;
   }
 
   private TimelikeHistory stitchedHistory;
+  private TimelikeDeltaBase deltaBase;
+  private Velocity velocity;
   
   private ThereAndBack(TimelikeDeltaBase deltaBase, Velocity velocity) {
     Util.mustHave(velocity.magnitude() > 0, "Speed cannot be zero.");
+    this.deltaBase = deltaBase;
+    this.velocity = velocity;
     this.stitchedHistory = stitchedHistory(deltaBase, velocity);
   }
   
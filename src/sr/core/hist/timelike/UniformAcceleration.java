@@ -86,6 +86,16 @@ public final class UniformAcceleration extends TimelikeMoveableHistory {
     return Velocity.of(β, axis);
   }
   
+  /** The spatial axis parallel to the acceleration. */
+  public Axis axis() {
+    return axis;
+  }
+  
+  /** The proper-acceleration passed to the factory method. */
+  public double gee() {
+    return gee;
+  }
+  
   @Override public AxisAngle rotation(double Δct) {
     return AxisAngle.zero();
   }
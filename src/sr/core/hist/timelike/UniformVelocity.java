@@ -74,6 +74,11 @@ public final class UniformVelocity extends TimelikeMoveableHistory {
     return Δct / velocity.Γ();
   }
   
+  /** The velocity passed to the factory method. */
+  public Velocity velocity() {
+    return velocity;
+  }
+  
   @Override public AxisAngle rotation(double Δct) {
     return AxisAngle.zero();
   }
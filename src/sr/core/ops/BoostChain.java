@@ -0,0 +1,319 @@
+package sr.core.ops;
+
+import static sr.core.Util.mustHave;
+
+import sr.core.Matrix4;
+import sr.core.ParallelRange;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Rapidity;
+import sr.core.vec3.Velocity;
+
+/**
+ A long chain of steps, each a boost followed by a rotation, and the cumulative transform after every step.
+
+ <P>Use this class to approximate curved motion as many small successive boosts, when the number of steps
+ is large (a million, say), and the cumulative boost and kinematic (Wigner) rotation are needed after each step.
+
+ <P>Each step is stored compactly, as a rapidity-vector and an axis-angle, and its 4x4 matrix is built only when needed.
+ The cumulative transform after step <em>i</em> is the product <em>S<sub>i</sub>...S<sub>1</sub>S<sub>0</sub></em>,
+ with step 0 applied first.
+ It's stored as a boost followed by a rotation (see {@link PolarDecomposition}).
+
+ <P>The matrix product is associative, so the prefix products are computed as a scan, in blocks of {@value #BLOCK_SIZE} steps:
+ <ol>
+  <li>the product of each block, with the blocks processed independently
+  <li>the cumulative product at the start of each block, from the products of the blocks before it
+  <li>the cumulative product after each step, with the blocks processed independently again
+ </ol>
+ With {@link #composeInParallel()}, the blocks are processed on many cores (see {@link ParallelRange}).
+ The blocks don't depend on the number of cores, so the results are identical to those of {@link #compose()}.
+
+ <P>Rounding makes a long product drift away from a Lorentz transformation.
+ To prevent that, every {@value #RENORMALIZE_EVERY} steps the running product is re-orthonormalized
+ (Gram-Schmidt on its columns, using the Minkowski metric).
+
+ <P>Objects of this class are mutable, and are not thread-safe.
+*/
+public final class BoostChain {
+
+  /** The number of steps in each block of the scan: {@value}. */
+  public static final int BLOCK_SIZE = 4096;
+
+  /** The running product is re-orthonormalized after this many steps: {@value}. */
+  public static final int RENORMALIZE_EVERY = 64;
+
+  /** Factory method. Each step is the identity, until it is set. */
+  public static BoostChain of(int size) {
+    mustHave(size >= 0, "Size cannot be negative: " + size);
+    return new BoostChain(size);
+  }
+
+  /** The number of steps in this chain. */
+  public int size() { return φx.length; }
+
+  /** Set the boost part of the step at the given index. */
+  public void setBoost(int idx, Velocity v, Sense sense) {
+    setBoost(idx, Rapidity.of(v), sense);
+  }
+
+  /** Set the boost part of the step at the given index. */
+  public void setBoost(int idx, Rapidity rapidity, Sense sense) {
+    double φ = sense.sign() * rapidity.φ();
+    φx[idx] = φ * rapidity.direction().x();
+    φy[idx] = φ * rapidity.direction().y();
+    φz[idx] = φ * rapidity.direction().z();
+  }
+
+  /** Set the rotation part of the step at the given index. The rotation is applied after the boost. */
+  public void setRotation(int idx, AxisAngle rotation, Sense sense) {
+    int sign = sense.sign();
+    θx[idx] = sign * rotation.x();
+    θy[idx] = sign * rotation.y();
+    θz[idx] = sign * rotation.z();
+  }
+
+  /** Compute the cumulative transform after every step, on the calling thread. Returns this object. */
+  public BoostChain compose() {
+    int numBlocks = numBlocks();
+    product = Matrix4.identity();
+    blocks = new double[16 * numBlocks];
+    for(int block = 0; block < numBlocks; ++block) {
+      blockProduct(block);
+    }
+    blockOffsets();
+    for(int block = 0; block < numBlocks; ++block) {
+      blockScan(block);
+    }
+    return this;
+  }
+
+  /** Parallel version of {@link #compose()}. */
+  public BoostChain composeInParallel() {
+    product = Matrix4.identity();
+    blocks = new double[16 * numBlocks()];
+    ParallelRange.forEach(numBlocks(), 1, this::blockProducts);
+    blockOffsets();
+    ParallelRange.forEach(numBlocks(), 1, this::blockScans);
+    return this;
+  }
+
+  /**
+   The boost part of the cumulative transform after the step at the given index.
+   Requires {@link #compose()} or {@link #composeInParallel()}.
+  */
+  public Velocity boostVelocity(int idx) {
+    double Γ = Math.sqrt(1.0 + ux[idx] * ux[idx] + uy[idx] * uy[idx] + uz[idx] * uz[idx]);
+    return Velocity.of(ux[idx] / Γ, uy[idx] / Γ, uz[idx] / Γ);
+  }
+
+  /**
+   The rotation part of the cumulative transform after the step at the given index, applied after the boost part.
+   This is the accumulated kinematic (Wigner) rotation.
+   Requires {@link #compose()} or {@link #composeInParallel()}.
+   @return the rotation, with a magnitude in the range 0..π.
+  */
+  public AxisAngle rotation(int idx) {
+    return AxisAngle.of(wx[idx], wy[idx], wz[idx]);
+  }
+
+  /** The magnitude of {@link #rotation(int)}, in the range 0..π. Creates no objects. */
+  public double rotationAngle(int idx) {
+    return Math.sqrt(wx[idx] * wx[idx] + wy[idx] * wy[idx] + wz[idx] * wz[idx]);
+  }
+
+  /**
+   The cumulative transform after the last step, as a matrix.
+   Requires {@link #compose()} or {@link #composeInParallel()}.
+  */
+  public Matrix4 product() {
+    return product;
+  }
+
+  // PRIVATE
+
+  /** The steps: rapidity-vector and axis-angle, both active. */
+  private final double[] φx, φy, φz;
+  private final double[] θx, θy, θz;
+
+  /** The results: the spatial part of the four-velocity of the boost part (Γv), and the axis-angle of the rotation part. */
+  private final double[] ux, uy, uz;
+  private final double[] wx, wy, wz;
+
+  /** For each block, its product, and then the cumulative product just before its first step. 16 per block, row by row. */
+  private double[] blocks;
+
+  private Matrix4 product = Matrix4.identity();
+
+  private BoostChain(int size) {
+    φx = new double[size]; φy = new double[size]; φz = new double[size];
+    θx = new double[size]; θy = new double[size]; θz = new double[size];
+    ux = new double[size]; uy = new double[size]; uz = new double[size];
+    wx = new double[size]; wy = new double[size]; wz = new double[size];
+  }
+
+  private int numBlocks() {
+    return (size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+  }
+
+  private void blockProducts(int from, int to) {
+    for(int block = from; block < to; ++block) {
+      blockProduct(block);
+    }
+  }
+
+  private void blockScans(int from, int to) {
+    for(int block = from; block < to; ++block) {
+      blockScan(block);
+    }
+  }
+
+  /** Phase 1: the product of the steps in the block. */
+  private void blockProduct(int block) {
+    double[] step = new double[16];
+    double[] running = identity();
+    double[] temp = new double[16];
+    int start = block * BLOCK_SIZE;
+    int end = Math.min(start + BLOCK_SIZE, size());
+    for(int i = start; i < end; ++i) {
+      stepMatrix(i, step);
+      multiply(step, running, temp);
+      double[] swap = running; running = temp; temp = swap;
+      if ((i - start + 1) % RENORMALIZE_EVERY == 0) {
+        renormalize(running);
+      }
+    }
+    System.arraycopy(running, 0, blocks, 16 * block, 16);
+  }
+
+  /** Phase 2: replace each block's product with the cumulative product just before its first step. */
+  private void blockOffsets() {
+    double[] cumulative = identity();
+    double[] temp = new double[16];
+    double[] blockProduct = new double[16];
+    for(int block = 0; block < numBlocks(); ++block) {
+      System.arraycopy(blocks, 16 * block, blockProduct, 0, 16);
+      System.arraycopy(cumulative, 0, blocks, 16 * block, 16);
+      multiply(blockProduct, cumulative, temp);
+      double[] swap = cumulative; cumulative = temp; temp = swap;
+      renormalize(cumulative);
+    }
+  }
+
+  /** Phase 3: the cumulative product after each step in the block, starting from the block's offset. */
+  private void blockScan(int block) {
+    double[] step = new double[16];
+    double[] running = new double[16];
+    double[] temp = new double[16];
+    double[] parts = new double[PolarDecomposition.NUM_RESULTS];
+    System.arraycopy(blocks, 16 * block, running, 0, 16);
+    int start = block * BLOCK_SIZE;
+    int end = Math.min(start + BLOCK_SIZE, size());
+    for(int i = start; i < end; ++i) {
+      stepMatrix(i, step);
+      multiply(step, running, temp);
+      double[] swap = running; running = temp; temp = swap;
+      if ((i - start + 1) % RENORMALIZE_EVERY == 0) {
+        renormalize(running);
+      }
+      PolarDecomposition.decompose(running, parts);
+      ux[i] = parts[1]; uy[i] = parts[2]; uz[i] = parts[3];
+      wx[i] = parts[4]; wy[i] = parts[5]; wz[i] = parts[6];
+    }
+    if (end == size()) {
+      product = toMatrix(running);
+    }
+  }
+
+  private static double[] identity() {
+    double[] result = new double[16];
+    result[0] = 1.0; result[5] = 1.0; result[10] = 1.0; result[15] = 1.0;
+    return result;
+  }
+
+  private static Matrix4 toMatrix(double[] m) {
+    return Matrix4.of(
+      m[0], m[1], m[2], m[3],
+      m[4], m[5], m[6], m[7],
+      m[8], m[9], m[10], m[11],
+      m[12], m[13], m[14], m[15]
+    );
+  }
+
+  /** out = a * b. The out array must not be a or b. */
+  private static void multiply(double[] a, double[] b, double[] out) {
+    for(int row = 0; row < 16; row += 4) {
+      double a0 = a[row], a1 = a[row + 1], a2 = a[row + 2], a3 = a[row + 3];
+      out[row]     = a0 * b[0] + a1 * b[4] + a2 * b[8]  + a3 * b[12];
+      out[row + 1] = a0 * b[1] + a1 * b[5] + a2 * b[9]  + a3 * b[13];
+      out[row + 2] = a0 * b[2] + a1 * b[6] + a2 * b[10] + a3 * b[14];
+      out[row + 3] = a0 * b[3] + a1 * b[7] + a2 * b[11] + a3 * b[15];
+    }
+  }
+
+  /** The matrix of the step at the given index: the rotation times the boost. Creates no objects. */
+  private void stepMatrix(int idx, double[] m) {
+    //the boost, as in LorentzBoost, with cosh and sinh from a single expm1
+    double φ = Math.sqrt(φx[idx] * φx[idx] + φy[idx] * φy[idx] + φz[idx] * φz[idx]);
+    double x = 0.0, y = 0.0, z = 0.0, sinh = 0.0, k = 0.0;
+    if (φ > 0.0) {
+      x = φx[idx] / φ; y = φy[idx] / φ; z = φz[idx] / φ;
+      double em = Math.expm1(φ);
+      double e = em + 1.0;
+      sinh = em * (em + 2.0) / (2.0 * e);
+      k = em * em / (2.0 * e); //cosh - 1
+    }
+    m[0] = 1.0 + k;   m[1] = sinh * x;         m[2] = sinh * y;         m[3] = sinh * z;
+    m[4] = sinh * x;  m[5] = 1.0 + k * x * x;  m[6] = k * x * y;        m[7] = k * x * z;
+    m[8] = sinh * y;  m[9] = k * y * x;        m[10] = 1.0 + k * y * y; m[11] = k * y * z;
+    m[12] = sinh * z; m[13] = k * z * x;       m[14] = k * z * y;       m[15] = 1.0 + k * z * z;
+
+    //the rotation, as in Rotate, applied to rows 1..3 of the boost
+    double θ = Math.sqrt(θx[idx] * θx[idx] + θy[idx] * θy[idx] + θz[idx] * θz[idx]);
+    if (θ > 0.0) {
+      x = θx[idx] / θ; y = θy[idx] / θ; z = θz[idx] / θ;
+      double cos = Math.cos(θ);
+      double sin = Math.sin(θ);
+      k = 1 - cos;
+      double r11 = cos + k * x * x, r12 = k * x * y - sin * z, r13 = k * x * z + sin * y;
+      double r21 = k * y * x + sin * z, r22 = cos + k * y * y, r23 = k * y * z - sin * x;
+      double r31 = k * z * x - sin * y, r32 = k * z * y + sin * x, r33 = cos + k * z * z;
+      for(int col = 0; col < 4; ++col) {
+        double b1 = m[4 + col], b2 = m[8 + col], b3 = m[12 + col];
+        m[4 + col] = r11 * b1 + r12 * b2 + r13 * b3;
+        m[8 + col] = r21 * b1 + r22 * b2 + r23 * b3;
+        m[12 + col] = r31 * b1 + r32 * b2 + r33 * b3;
+      }
+    }
+  }
+
+  /**
+   Gram-Schmidt on the columns, using the Minkowski metric (+---).
+   Column 0 is time-like, with a squared-length of +1; the others are space-like, with a squared-length of -1.
+  */
+  private static void renormalize(double[] m) {
+    for(int col = 0; col < 4; ++col) {
+      for(int prev = 0; prev < col; ++prev) {
+        //<c_prev, c_prev> is +1 for column 0, and -1 for the others
+        double factor = dot(m, col, prev) * (prev == 0 ? 1.0 : -1.0);
+        for(int row = 0; row < 4; ++row) {
+          m[4 * row + col] = m[4 * row + col] - factor * m[4 * row + prev];
+        }
+      }
+      double norm = Math.sqrt(Math.abs(dot(m, col, col)));
+      for(int row = 0; row < 4; ++row) {
+        m[4 * row + col] = m[4 * row + col] / norm;
+      }
+    }
+  }
+
+  /** The Minkowski dot product of two columns. */
+  private static double dot(double[] m, int colA, int colB) {
+    return
+      m[colA] * m[colB] -
+      m[4 + colA] * m[4 + colB] -
+      m[8 + colA] * m[8 + colB] -
+      m[12 + colA] * m[12 + colB]
+    ;
+  }
+}
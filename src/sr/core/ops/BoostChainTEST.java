@@ -0,0 +1,106 @@
+package sr.core.ops;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.KinematicRotation;
+import sr.core.Matrix4;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+
+/** Unit test. */
+class BoostChainTEST {
+
+  @Test void sameAsPoincareTransform() {
+    int size = 40;
+    BoostChain chain = BoostChain.of(size);
+    PoincareTransform[] expected = new PoincareTransform[size];
+    PoincareTransform transform = PoincareTransform.identity();
+    for(int i = 0; i < size; ++i) {
+      Velocity v = Velocity.of(0.01 * (i % 7), -0.02 * (i % 5), 0.015 * (i % 3));
+      AxisAngle r = AxisAngle.of(0.01 * i, 0.02, -0.03 * (i % 4));
+      Sense sense = i % 2 == 0 ? Sense.Active : Sense.Passive;
+      chain.setBoost(i, v, sense);
+      chain.setRotation(i, r, sense);
+      transform = transform.boost(v, sense).rotate(r, sense);
+      expected[i] = transform;
+    }
+    chain.compose();
+    for(int i = 0; i < size; ++i) {
+      assertEquals(0.0, chain.boostVelocity(i).minus(expected[i].boostVelocity()).magnitude(), SMALL);
+      assertEquals(0.0, chain.rotation(i).minus(expected[i].rotation()).magnitude(), SMALL);
+    }
+    sameMatrix(transform.linear(), chain.product(), SMALL);
+  }
+
+  @Test void wignerRotation() {
+    Velocity v1 = Velocity.of(0.5, Axis.X);
+    Velocity v2 = Velocity.of(0.3, Axis.Y);
+    BoostChain chain = BoostChain.of(2);
+    chain.setBoost(0, v1, Sense.ChangeGrid);
+    chain.setBoost(1, v2, Sense.ChangeGrid);
+    chain.compose();
+    assertEquals(0.0, chain.rotationAngle(0));
+    assertEquals(KinematicRotation.of(v1, v2).θw(), chain.rotationAngle(1), SMALL);
+  }
+
+  @Test void collinear() {
+    int size = 1000;
+    BoostChain chain = BoostChain.of(size);
+    for(int i = 0; i < size; ++i) {
+      chain.setBoost(i, Velocity.of(0.001, Axis.X), Sense.Active);
+    }
+    chain.compose();
+    double φ = 0.5 * Math.log(1.001 / 0.999);
+    for(int i = 0; i < size; i += 99) {
+      assertEquals(0.0, chain.rotationAngle(i));
+      assertEquals(Math.tanh((i + 1) * φ), chain.boostVelocity(i).x(), SMALL);
+    }
+  }
+
+  @Test void parallelIsSameAsSequential() {
+    int size = 3 * BoostChain.BLOCK_SIZE + 17;
+    BoostChain seq = circuit(size);
+    BoostChain par = circuit(size);
+    seq.compose();
+    par.composeInParallel();
+    for(int i = 0; i < size; ++i) {
+      assertEquals(seq.rotation(i).x(), par.rotation(i).x());
+      assertEquals(seq.rotation(i).y(), par.rotation(i).y());
+      assertEquals(seq.rotation(i).z(), par.rotation(i).z());
+      assertEquals(seq.boostVelocity(i).x(), par.boostVelocity(i).x());
+    }
+    sameMatrix(seq.product(), par.product(), 0.0);
+  }
+
+  /** Λ<sup>T</sup> η Λ = η, after many steps. */
+  @Test void longChainStaysLorentz() {
+    BoostChain chain = circuit(200_000).compose();
+    Matrix4 L = chain.product();
+    Matrix4 η = Matrix4.diagonal(1.0, -1.0, -1.0, -1.0);
+    sameMatrix(η, L.transpose().times(η).times(L), 1.0E-12);
+  }
+
+  /** Many small boosts in directions that slowly turn around the Z-axis, with no rotation steps. */
+  private BoostChain circuit(int size) {
+    BoostChain result = BoostChain.of(size);
+    for(int i = 0; i < size; ++i) {
+      double angle = 2 * Math.PI * i / 5000.0;
+      result.setBoost(i, Velocity.of(0.001 * Math.cos(angle), 0.001 * Math.sin(angle), 0.0), Sense.ChangeGrid);
+    }
+    return result;
+  }
+
+  private void sameMatrix(Matrix4 a, Matrix4 b, double tolerance) {
+    for(int row = 0; row < 4; ++row) {
+      for(int col = 0; col < 4; ++col) {
+        assertEquals(a.get(row, col), b.get(row, col), tolerance);
+      }
+    }
+  }
+
+  private static final double SMALL = 1.0E-12;
+}
@@ -0,0 +1,218 @@
+package sr.core.ops;
+
+import static sr.core.Util.isTiny;
+
+import sr.core.Matrix4;
+import sr.core.Util;
+import sr.core.Vector4;
+import sr.core.component.Event;
+import sr.core.component.ops.Rotate;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Direction;
+import sr.core.vec3.ThreeVector;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+
+/**
+ A sequence of Poincaré transformations (boosts, rotations, reversals, and displacements), composed into a single operation.
+ 
+ <P>The composite has a linear part <em>L</em> (a {@link Matrix4}) and a displacement <em>d</em>. 
+ It maps an event <em>x</em> to <em>L x + d</em>.
+ Once built, the composite is applied to each event with a single matrix multiply-add, 
+ instead of applying each step one at a time.
+ 
+ <P>This class implements the same operations as {@link Event}.
+ Each operation returns a new object, which has the given step appended to the steps already present.
+ For example, these two are the same: 
+ <pre>
+ event.boost(v1, sense).rotate(r, sense).moveZeroPointBy(d, sense);
+ PoincareTransform.identity().boost(v1, sense).rotate(r, sense).moveZeroPointBy(d, sense).applyTo(event);
+ </pre>
+ 
+ <P>Boosts in the same line (collinear boosts) are combined by adding their rapidities. 
+ A chain of such boosts collapses to a single boost.
+ 
+ <P>Objects of this class are immutable.
+*/
+public final class PoincareTransform implements AffineOp<PoincareTransform>, LinearOps<PoincareTransform>, LinearBoostOp<PoincareTransform> {
+
+  /** The transform that changes nothing. */
+  public static PoincareTransform identity() {
+    return new PoincareTransform(Matrix4.identity(), Vector4.zero(), 0.0, null);
+  }
+  
+  @Override public PoincareTransform boost(Velocity v, Sense sense) {
+    double β = v.magnitude();
+    if (β == 0.0) {
+      return this;
+    }
+    Direction direction = Direction.of(v);
+    double φ = sense.sign() * Util.arc_tanh(β);
+    Matrix4 step = boostMatrix(φ, direction);
+    if (isCollinearBoost() && (boostLine == null || isSameLine(direction))) {
+      //collinear: add the rapidities, and build a single boost from the sum
+      Direction line = boostLine == null ? direction : boostLine;
+      double total = rapidity + φ * Math.signum(line.dot(direction));
+      return new PoincareTransform(boostMatrix(total, line), step.times(d), total, line);
+    }
+    return general(step);
+  }
+  
+  @Override public PoincareTransform rotate(AxisAngle axisAngle, Sense sense) {
+    if (axisAngle.magnitude() == 0.0) {
+      return this;
+    }
+    return general(Rotate.of(axisAngle, sense).matrix());
+  }
+  
+  @Override public PoincareTransform reverseClocks() {
+    return general(Matrix4.diagonal(-1.0, 1.0, 1.0, 1.0));
+  }
+  
+  @Override public PoincareTransform reverseSpatialAxes() {
+    return general(Matrix4.diagonal(1.0, -1.0, -1.0, -1.0));
+  }
+  
+  @Override public PoincareTransform moveZeroPointBy(FourDelta displacement, Sense sense) {
+    Vector4 moved = d.plus(Vector4.of(displacement.ct(), displacement.x(), displacement.y(), displacement.z()).times(sense.sign()));
+    return new PoincareTransform(L, moved, rapidity, boostLine);
+  }
+  
+  /** Return a new transform: first this transform, and then the given transform. */
+  public PoincareTransform then(PoincareTransform next) {
+    Vector4 moved = next.L.times(d).plus(next.d);
+    if (isCollinearBoost() && next.isCollinearBoost()) {
+      if (next.boostLine == null) {
+        return new PoincareTransform(L, moved, rapidity, boostLine);
+      }
+      if (boostLine == null || isSameLine(next.boostLine)) {
+        Direction line = boostLine == null ? next.boostLine : boostLine;
+        double total = rapidity + next.rapidity * Math.signum(line.dot(next.boostLine));
+        return new PoincareTransform(boostMatrix(total, line), moved, total, line);
+      }
+    }
+    return new PoincareTransform(next.L.times(L), moved, 0.0, null, false);
+  }
+  
+  /** Apply this transform to the given event. Returns a new object. */
+  public Event applyTo(Event event) {
+    double[] out = new double[4];
+    apply(event.ct(), event.x(), event.y(), event.z(), out);
+    return Event.of(out[0], out[1], out[2], out[3]);
+  }
+  
+  /**
+   Apply this transform to the given event coordinates, and place the result in the given array.
+   @param out has length 4 at least; on return, holds the transformed <em>ct,x,y,z</em> coordinates, in that order.
+  */
+  public void apply(double ct, double x, double y, double z, double[] out) {
+    L.times(ct, x, y, z, out);
+    out[0] = out[0] + d.ct();
+    out[1] = out[1] + d.x();
+    out[2] = out[2] + d.y();
+    out[3] = out[3] + d.z();
+  }
+  
+  /** The linear part of this transform. */
+  public Matrix4 linear() {
+    return L;
+  }
+  
+  /** The displacement part of this transform, applied after the linear part. */
+  public FourDelta displacement() {
+    return FourDelta.withRespectToOrigin(Event.of(d.ct(), d.x(), d.y(), d.z()));
+  }
+  
+  /** 
+   Return true only if the linear part of this transform is a single boost (or the identity).
+   This is the case when all steps are boosts along the same line, or displacements.  
+  */
+  public boolean isCollinearBoost() {
+    return collinear;
+  }
+  
+  /**
+   The boost part of the linear part of this transform, when written as a boost followed by a rotation.
+   
+   <P>The linear part of this transform is the same as these two steps, in this order: 
+   <pre>boost(boostVelocity(), Sense.Active).rotate(rotation(), Sense.Active)</pre>
+   The linear part must not include reversals of the clocks or of the spatial axes.
+   See {@link PolarDecomposition}.
+  */
+  public Velocity boostVelocity() {
+    return PolarDecomposition.of(L).boostVelocity();
+  }
+  
+  /**
+   The rotation part of the linear part of this transform, when written as a boost followed by a rotation.
+   See {@link #boostVelocity()}.
+   @return the rotation, with a magnitude in the range 0..π. 
+  */
+  public AxisAngle rotation() {
+    return PolarDecomposition.of(L).rotation();
+  }
+  
+  /** This implementation applies rounding. */
+  @Override public String toString() {
+    return "L" + L + " d" + d;
+  }
+  
+  // PRIVATE
+  
+  /** The linear part. */
+  private final Matrix4 L;
+  
+  /** The displacement, applied after the linear part. */
+  private final Vector4 d;
+  
+  /** True only if the linear part is a single boost (or the identity). */
+  private final boolean collinear;
+  
+  /** The rapidity of the linear part, in the direction of the boost-line. Used only when the linear part is collinear. */
+  private final double rapidity;
+  
+  /** The line of all boosts. Used only when the linear part is collinear. Null for the identity.  */
+  private final Direction boostLine;
+  
+  private PoincareTransform(Matrix4 L, Vector4 d, double rapidity, Direction boostLine) {
+    this(L, d, rapidity, boostLine, true);
+  }
+  
+  private PoincareTransform(Matrix4 L, Vector4 d, double rapidity, Direction boostLine, boolean collinear) {
+    this.L = L;
+    this.d = d;
+    this.rapidity = rapidity;
+    this.boostLine = boostLine;
+    this.collinear = collinear;
+  }
+  
+  /** Append a step that isn't a collinear boost. */
+  private PoincareTransform general(Matrix4 step) {
+    return new PoincareTransform(step.times(L), step.times(d), 0.0, null, false);
+  }
+  
+  private boolean isSameLine(Direction direction) {
+    return isTiny(1.0 - Math.abs(boostLine.dot(direction)));
+  }
+  
+  /** An active boost of the given rapidity, along the given direction. */
+  private static Matrix4 boostMatrix(double φ, ThreeVector n) {
+    if (φ == 0.0) {
+      return Matrix4.identity();
+    }
+    double cosh = Math.cosh(φ);
+    double sinh = Math.sinh(φ);
+    //cosh - 1, without the cancellation near 0
+    double k = 2 * Util.sq(Math.sinh(φ / 2));
+    double x = n.x(); 
+    double y = n.y(); 
+    double z = n.z();
+    return Matrix4.of(
+      cosh, sinh * x, sinh * y, sinh * z,
+      sinh * x, 1 + k * x * x, k * x * y, k * x * z,
+      sinh * y, k * y * x, 1 + k * y * y, k * y * z,
+      sinh * z, k * z * x, k * z * y, 1 + k * z * z
+    );
+  }
+}
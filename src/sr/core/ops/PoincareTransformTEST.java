@@ -0,0 +1,79 @@
+package sr.core.ops;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.Epsilon;
+import sr.core.KinematicRotation;
+import sr.core.component.Event;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+import sr.core.vec4.FourDelta;
+
+/** Unit test. */
+class PoincareTransformTEST {
+
+  @Test void sameAsStepByStep() {
+    Velocity v = Velocity.of(0.1, 0.2, 0.3);
+    AxisAngle r = AxisAngle.of(0.5, -0.2, 0.7);
+    FourDelta d = FourDelta.withRespectToOrigin(Event.of(1, 2, 3, 4));
+    PoincareTransform transform = PoincareTransform.identity()
+      .boost(v, Sense.ChangeGrid)
+      .rotate(r, Sense.ChangeComponents)
+      .moveZeroPointBy(d, Sense.ChangeGrid)
+      .reverseSpatialAxes()
+    ;
+    for(int i = 0; i < 10; ++i) {
+      Event input = Event.of(10 + i, 22 - i, 15, 16 * i);
+      Event expected = input
+        .boost(v, Sense.ChangeGrid)
+        .rotate(r, Sense.ChangeComponents)
+        .moveZeroPointBy(d, Sense.ChangeGrid)
+        .reverseSpatialAxes()
+      ;
+      assertSame(expected, transform.applyTo(input));
+    }
+  }
+  
+  @Test void collinearBoostsCollapse() {
+    Velocity v = Velocity.of(0.6, Axis.X);
+    Velocity w = Velocity.of(-0.3, Axis.X);
+    PoincareTransform transform = PoincareTransform.identity().boost(v, Sense.ChangeGrid).boost(w, Sense.ChangeComponents);
+    assertTrue(transform.isCollinearBoost());
+    Event input = Event.of(5, 1, 2, 3);
+    assertSame(input.boost(v, Sense.ChangeGrid).boost(w, Sense.ChangeComponents), transform.applyTo(input));
+    
+    transform = transform.boost(Velocity.of(0.1, Axis.Y), Sense.ChangeGrid);
+    assertFalse(transform.isCollinearBoost());
+  }
+  
+  @Test void decomposeIntoBoostAndRotation() {
+    Velocity v1 = Velocity.of(0.5, Axis.X);
+    Velocity v2 = Velocity.of(0.3, Axis.Y);
+    PoincareTransform transform = PoincareTransform.identity().boost(v1, Sense.ChangeGrid).boost(v2, Sense.ChangeGrid);
+    PoincareTransform rebuilt = PoincareTransform.identity()
+      .boost(transform.boostVelocity(), Sense.Active)
+      .rotate(transform.rotation(), Sense.Active)
+    ;
+    for(int row = 0; row < 4; ++row) {
+      for(int col = 0; col < 4; ++col) {
+        assertEquals(transform.linear().get(row, col), rebuilt.linear().get(row, col), onlyTinyDiff);
+      }
+    }
+    //the rotation is the kinematic (Wigner) rotation
+    assertEquals(KinematicRotation.of(v1, v2).θw(), transform.rotation().magnitude(), onlyTinyDiff);
+  }
+  
+  private static double onlyTinyDiff = Epsilon.ε();
+  
+  private void assertSame(Event a, Event b) {
+    for(Axis axis : Axis.values()) {
+      assertEquals(a.on(axis), b.on(axis), onlyTinyDiff);
+    }
+  }
+}
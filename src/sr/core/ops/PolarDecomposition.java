@@ -0,0 +1,160 @@
+package sr.core.ops;
+
+import static sr.core.Util.isTiny;
+
+import sr.core.Matrix4;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.Velocity;
+
+/**
+ Write a Lorentz transformation as a pure boost followed by a pure rotation, in closed form.
+
+ <P>Any proper, orthochronous Lorentz transformation <em>L</em> is the product <em>R B</em>
+ of a boost <em>B</em> (applied first) and a rotation <em>R</em>.
+ Both come directly from the elements of <em>L</em>, with no iteration, and no test vectors:
+ <ul>
+  <li>row 0 of <em>L</em> is row 0 of <em>B</em>, which is <em>(Γ, Γv)</em>
+  <li>the spatial part of <em>R</em> is the spatial part of <em>L B<sup>-1</sup></em>,
+  and the inverse boost is simply the boost of <em>-v</em>
+  <li>the axis and angle come from the antisymmetric part and the trace of <em>R</em>
+ </ul>
+
+ <P>Here, both the boost and the rotation are active (see {@link sr.core.component.ops.Sense#Active}):
+ <pre>boost(boostVelocity(), Sense.Active).rotate(rotation(), Sense.Active)</pre>
+ is the same as <em>L</em>.
+ When <em>L</em> is a corner-boost (two boosts in different directions), the rotation is the kinematic (Wigner) rotation.
+
+ <P>For hot loops, {@link #decompose(double[], double[])} creates no objects.
+ Objects of this class are immutable.
+*/
+public final class PolarDecomposition {
+
+  /**
+   The number of items in the result of {@link #decompose(double[], double[])}: {@value}.
+   In order: Γ, then the spatial part of the four-velocity of the boost, <em>Γv</em>, then the axis-angle of the rotation.
+  */
+  public static final int NUM_RESULTS = 7;
+
+  /**
+   Factory method.
+   @param L must be proper and orthochronous: it mustn't reverse the clocks, or the spatial axes.
+  */
+  public static PolarDecomposition of(Matrix4 L) {
+    double[] data = new double[16];
+    for(int row = 0; row < 4; ++row) {
+      for(int col = 0; col < 4; ++col) {
+        data[4 * row + col] = L.get(row, col);
+      }
+    }
+    double[] result = new double[NUM_RESULTS];
+    decompose(data, result);
+    return new PolarDecomposition(result);
+  }
+
+  /**
+   Decompose the given matrix, and place the result in the given array. Creates no objects.
+   @param L the 16 elements of the matrix, row by row; must be proper and orthochronous.
+   @param out has length {@link #NUM_RESULTS} at least; on return, holds <em>Γ, Γv<sub>x</sub>, Γv<sub>y</sub>, Γv<sub>z</sub></em>,
+   and then the <em>x, y, z</em> components of the axis-angle of the rotation, with a magnitude in the range 0..π.
+  */
+  public static void decompose(double[] L, double[] out) {
+    if (!(L[0] >= 1.0)) {
+      throw new RuntimeException("Not orthochronous: the transform reverses the clocks.");
+    }
+    double Γ = L[0];
+    double u1 = L[1], u2 = L[2], u3 = L[3];
+    //B(-v) has (Γ-1)/β² v_j v_k = u_j u_k / (Γ + 1) in its spatial part, and -u in its row 0 and column 0
+    double c1 = (L[5] * u1 + L[6] * u2 + L[7] * u3) / (Γ + 1) - L[4];
+    double c2 = (L[9] * u1 + L[10] * u2 + L[11] * u3) / (Γ + 1) - L[8];
+    double c3 = (L[13] * u1 + L[14] * u2 + L[15] * u3) / (Γ + 1) - L[12];
+    double r11 = L[5] + c1 * u1, r12 = L[6] + c1 * u2, r13 = L[7] + c1 * u3;
+    double r21 = L[9] + c2 * u1, r22 = L[10] + c2 * u2, r23 = L[11] + c2 * u3;
+    double r31 = L[13] + c3 * u1, r32 = L[14] + c3 * u2, r33 = L[15] + c3 * u3;
+    double det = r11 * (r22 * r33 - r23 * r32) - r12 * (r21 * r33 - r23 * r31) + r13 * (r21 * r32 - r22 * r31);
+    if (!(det > 0)) {
+      throw new RuntimeException("Not proper: the transform reverses the spatial axes.");
+    }
+    out[0] = Γ;
+    out[1] = u1;
+    out[2] = u2;
+    out[3] = u3;
+    axisAngle(r11, r12, r13, r21, r22, r23, r31, r32, r33, out);
+  }
+
+  /** The boost part, applied first. */
+  public Velocity boostVelocity() {
+    double Γ = result[0];
+    return Velocity.of(result[1] / Γ, result[2] / Γ, result[3] / Γ);
+  }
+
+  /** The Lorentz factor of the boost part. */
+  public double Γ() {
+    return result[0];
+  }
+
+  /** The rotation part, applied after the boost part. The magnitude is in the range 0..π. */
+  public AxisAngle rotation() {
+    return AxisAngle.of(result[4], result[5], result[6]);
+  }
+
+  @Override public String toString() {
+    return "boost:" + boostVelocity() + " rotation:" + rotation();
+  }
+
+  // PRIVATE
+
+  private final double[] result;
+
+  private PolarDecomposition(double[] result) {
+    this.result = result;
+  }
+
+  /** The axis-angle of a pure rotation matrix, placed in out[4..6]. Range 0..π. */
+  private static void axisAngle(
+    double r11, double r12, double r13,
+    double r21, double r22, double r23,
+    double r31, double r32, double r33,
+    double[] out
+  ) {
+    //https://en.wikipedia.org/wiki/Rotation_matrix#Conversion_from_rotation_matrix_to_axis%E2%80%93angle
+    double ax = r32 - r23;
+    double ay = r13 - r31;
+    double az = r21 - r12;
+    double twoSin = Math.sqrt(ax*ax + ay*ay + az*az);
+    double cos = (r11 + r22 + r33 - 1.0) / 2.0;
+    double θ = Math.atan2(twoSin / 2.0, cos);
+    if (isTiny(θ)) {
+      out[4] = 0.0; out[5] = 0.0; out[6] = 0.0;
+    }
+    else if (cos < 0) {
+      //θ is past π/2, and the antisymmetric part shrinks to 0 near π; the axis comes from the symmetric part instead:
+      //(R + Rᵀ)/2 = cos θ I + (1 - cos θ) n nᵀ, starting with the largest diagonal term, which is never small
+      double oneMinusCos = 1.0 - cos;
+      double ex, ey, ez;
+      if (r11 >= r22 && r11 >= r33) {
+        ex = Math.sqrt((r11 - cos) / oneMinusCos);
+        ey = (r12 + r21) / (2.0 * oneMinusCos * ex);
+        ez = (r13 + r31) / (2.0 * oneMinusCos * ex);
+      }
+      else if (r22 >= r33) {
+        ey = Math.sqrt((r22 - cos) / oneMinusCos);
+        ex = (r12 + r21) / (2.0 * oneMinusCos * ey);
+        ez = (r23 + r32) / (2.0 * oneMinusCos * ey);
+      }
+      else {
+        ez = Math.sqrt((r33 - cos) / oneMinusCos);
+        ex = (r13 + r31) / (2.0 * oneMinusCos * ez);
+        ey = (r23 + r32) / (2.0 * oneMinusCos * ez);
+      }
+      //the sign comes from the antisymmetric part, which is 2 sin θ n
+      double scale = θ / Math.sqrt(ex*ex + ey*ey + ez*ez);
+      if (ex * ax + ey * ay + ez * az < 0) {
+        scale = -scale;
+      }
+      out[4] = scale * ex; out[5] = scale * ey; out[6] = scale * ez;
+    }
+    else {
+      out[4] = θ * ax / twoSin; out[5] = θ * ay / twoSin; out[6] = θ * az / twoSin;
+    }
+  }
+}
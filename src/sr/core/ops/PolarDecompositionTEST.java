@@ -0,0 +1,91 @@
+package sr.core.ops;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.KinematicRotation;
+import sr.core.Matrix4;
+import sr.core.SpeedValues;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.AxisAngle;
+import sr.core.vec3.ThreeVector;
+import sr.core.vec3.Velocity;
+
+/** Unit test. */
+class PolarDecompositionTEST {
+
+  @Test void roundTrip() {
+    Velocity v = Velocity.of(0.3, -0.4, 0.5);
+    AxisAngle r = AxisAngle.of(0.2, 0.7, -0.4);
+    Matrix4 L = PoincareTransform.identity().boost(v, Sense.Active).rotate(r, Sense.Active).linear();
+    PolarDecomposition parts = PolarDecomposition.of(L);
+    assertEquals(0.0, parts.boostVelocity().minus(v).magnitude(), SMALL);
+    assertEquals(0.0, parts.rotation().minus(r).magnitude(), SMALL);
+    assertEquals(v.Γ(), parts.Γ(), SMALL);
+  }
+
+  @Test void cornerBoostGivesWignerRotation() {
+    for(SpeedValues β1 : SpeedValues.upToFourNines()) {
+      for(SpeedValues β2 : SpeedValues.upToFourNines()) {
+        Velocity v1 = Velocity.of(β1.β(), Axis.X);
+        Velocity v2 = Velocity.of(β2.β(), Axis.Y);
+        Matrix4 L = PoincareTransform.identity().boost(v1, Sense.Active).boost(v2, Sense.Active).linear();
+        PolarDecomposition parts = PolarDecomposition.of(L);
+        assertEquals(KinematicRotation.θw(β1.β(), β2.β(), Math.PI/2), parts.rotation().magnitude(), 1.0E-9);
+      }
+    }
+  }
+
+  @Test void allocationFreeIsTheSame() {
+    Matrix4 L = PoincareTransform.identity()
+      .boost(Velocity.of(0.6, Axis.X), Sense.Active)
+      .boost(Velocity.of(0.7, Axis.Z), Sense.Passive)
+      .linear()
+    ;
+    double[] data = new double[16];
+    for(int row = 0; row < 4; ++row) {
+      for(int col = 0; col < 4; ++col) {
+        data[4 * row + col] = L.get(row, col);
+      }
+    }
+    double[] out = new double[PolarDecomposition.NUM_RESULTS];
+    PolarDecomposition.decompose(data, out);
+    PolarDecomposition parts = PolarDecomposition.of(L);
+    assertEquals(parts.Γ(), out[0]);
+    assertEquals(parts.boostVelocity().x(), out[1] / out[0]);
+    assertEquals(parts.rotation().x(), out[4]);
+    assertEquals(parts.rotation().y(), out[5]);
+    assertEquals(parts.rotation().z(), out[6]);
+  }
+
+  @Test void rotationNearπ() {
+    AxisAngle r = AxisAngle.of(Math.PI - 1.0E-12, Axis.Y);
+    Matrix4 L = PoincareTransform.identity().rotate(r, Sense.Active).linear();
+    PolarDecomposition parts = PolarDecomposition.of(L);
+    assertEquals(0.0, parts.boostVelocity().magnitude());
+    assertEquals(Math.PI, parts.rotation().y(), 1.0E-6);
+  }
+
+  /** Off-axis, past π/2, and right up to π, where the antisymmetric part is almost all round-off. */
+  @Test void offAxisRotationNearπ() {
+    ThreeVector n = ThreeVector.of(1.0, 2.0, 3.0).unitVector();
+    double[] angles = {Math.PI / 2 + 0.1, 3.0, Math.PI - 1.0E-6, Math.PI - 1.0E-12, Math.PI - 1.0E-13};
+    for(double θ : angles) {
+      AxisAngle r = AxisAngle.of(θ * n.x(), θ * n.y(), θ * n.z());
+      Matrix4 L = PoincareTransform.identity().rotate(r, Sense.Active).linear();
+      AxisAngle actual = PolarDecomposition.of(L).rotation();
+      assertEquals(0.0, actual.unitAxis().minus(n).magnitude(), 1.0E-14);
+      assertEquals(θ, actual.magnitude(), 1.0E-14);
+    }
+  }
+
+  @Test void mustBeProperAndOrthochronous() {
+    assertThrows(RuntimeException.class, () -> PolarDecomposition.of(Matrix4.diagonal(-1.0, 1.0, 1.0, 1.0)));
+    assertThrows(RuntimeException.class, () -> PolarDecomposition.of(Matrix4.diagonal(1.0, -1.0, -1.0, -1.0)));
+  }
+
+  private static final double SMALL = 1.0E-12;
+}
@@ -38,6 +38,20 @@ public final class AxisAngle extends ThreeVector implements LinearOps<AxisAngle>
     return AxisAngle.of(0,0,0);
   }
   
+  /** 
+   The axis of rotation, as a unit vector: these components times 1/{@link #magnitude()}.
+   Computed only when first needed. Race-benign, as in ThreeVector. 
+   The magnitude must not be zero.
+  */
+  public ThreeVector unitAxis() {
+    ThreeVector result = unitAxis;
+    if (result == null) {
+      result = times(1.0 / magnitude());
+      unitAxis = result;
+    }
+    return result;
+  }
+  
   /** No effect. */
   @Override public AxisAngle reverseClocks() {
     return new AxisAngle(components);
@@ -54,6 +68,9 @@ public final class AxisAngle extends ThreeVector implements LinearOps<AxisAngle>
     return new AxisAngle(comps);
   }
 
+  /** Cache, null until first needed. */
+  private ThreeVector unitAxis;
+
   private AxisAngle(double x, double y, double z) {
     super(x, y, z);
   }
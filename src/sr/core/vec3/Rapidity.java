@@ -0,0 +1,145 @@
+package sr.core.vec3;
+
+import sr.core.Axis;
+import sr.core.Util;
+
+/**
+ The velocity of an object, represented by its rapidity and its direction of motion.
+ Immutable.
+
+ <P>The rapidity φ is related to the speed by β = tanh φ, and Γ = cosh φ.
+ Unlike β, the rapidity has no upper limit, so speeds near 1 don't crowd together near the end of a small interval.
+ For two velocities along the same line, composing the velocities simply adds their rapidities.
+
+ <P>The rapidity, Γ, βΓ, and β are computed once, when the object is built.
+ Γ and βΓ come from cosh and sinh, with no 1/sqrt(1 - β<sup>2</sup>), and no loss of precision near β = 1.
+*/
+public final class Rapidity {
+
+  /**
+   Factory method.
+   @param φ the magnitude of the rapidity; must be non-negative.
+   @param direction the direction of motion.
+  */
+  public static Rapidity of(double φ, Direction direction) {
+    Util.mustHave(φ >= 0, "Rapidity must be non-negative: " + φ);
+    return new Rapidity(φ, direction);
+  }
+
+  /**
+   Factory method for the case in which the motion is parallel or anti-parallel to a spatial coordinate axis.
+   @param φ can be either sign.
+  */
+  public static Rapidity of(double φ, Axis axis) {
+    Util.mustBeSpatial(axis);
+    Direction direction = Direction.of(axis);
+    return φ < 0 ? new Rapidity(-φ, direction.reverseSpatialAxes()) : new Rapidity(φ, direction);
+  }
+
+  /** Factory method. The speed must be less than 1. */
+  public static Rapidity of(Velocity v) {
+    double β = v.magnitude();
+    Util.mustHaveSpeedRange(β);
+    return β == 0.0 ? zero() : new Rapidity(arc_tanh(β), Direction.of(v));
+  }
+
+  /** Factory method. The object is at rest. The direction is along the X-axis. */
+  public static Rapidity zero() {
+    return ZERO;
+  }
+
+  /** The magnitude of the rapidity. Never negative. */
+  public double φ() { return φ; }
+
+  /** The direction of motion. */
+  public Direction direction() { return direction; }
+
+  /** The speed tanh φ. Never negative. WARNING: for φ above about 19, this is exactly 1.0 in a double. */
+  public double β() { return β; }
+
+  /** The Lorentz factor (warp factor), cosh φ. */
+  public double Γ() { return Γ; }
+
+  /** The product βΓ, sinh φ. The magnitude of the spatial part of the four-velocity. */
+  public double βΓ() { return βΓ; }
+
+  /** Γ - 1, without the cancellation near β = 0. */
+  public double ΓMinusOne() {
+    double s = Math.sinh(φ / 2);
+    return 2 * s * s;
+  }
+
+  /** 1 - β, without the cancellation near β = 1. */
+  public double oneMinusβ() {
+    //1 - tanh(φ) = 2/(e^2φ + 1)
+    return 2.0 / (Math.exp(2 * φ) + 1.0);
+  }
+
+  /**
+   The velocity having the same speed and direction.
+   The speed must be less than 1 as a double (see {@link #β()}).
+  */
+  public Velocity velocity() {
+    return φ == 0.0 ? Velocity.zero() : Velocity.of(β, direction);
+  }
+
+  /** The same rapidity, in the opposite direction. */
+  public Rapidity negate() {
+    return φ == 0.0 ? this : new Rapidity(φ, direction.reverseSpatialAxes());
+  }
+
+  /**
+   Return true only if either rapidity is zero, or both directions are exactly along the same line (a cross product of zero).
+   There's no tolerance here: at high rapidity, even a tiny angle between the directions gives a large transverse velocity.
+  */
+  public boolean isCollinearWith(Rapidity that) {
+    if (φ == 0.0 || that.φ == 0.0) {
+      return true;
+    }
+    ThreeVector cross = direction.cross(that.direction);
+    return cross.x() == 0.0 && cross.y() == 0.0 && cross.z() == 0.0;
+  }
+
+  /**
+   The composition of two collinear velocities: the rapidities simply add, as numbers.
+   @param that must be collinear with this rapidity (see {@link #isCollinearWith(Rapidity)}).
+  */
+  public Rapidity plus(Rapidity that) {
+    Util.mustHave(isCollinearWith(that), "Rapidities are not along the same line.");
+    if (φ == 0.0) {
+      return that;
+    }
+    double total = φ + that.φ * Math.signum(direction.dot(that.direction));
+    return total < 0 ? new Rapidity(-total, direction.reverseSpatialAxes()) : new Rapidity(total, direction);
+  }
+
+  @Override public String toString() {
+    return "φ:" + φ + " " + direction;
+  }
+
+  // PRIVATE
+
+  private static final Rapidity ZERO = new Rapidity(0.0, Direction.of(Axis.X));
+
+  private final double φ;
+  private final Direction direction;
+  private final double β;
+  private final double Γ;
+  private final double βΓ;
+
+  private Rapidity(double φ, Direction direction) {
+    this.φ = φ;
+    this.direction = direction;
+    //one exponential instead of three hyperbolic functions; expm1 keeps sinh precise for small φ
+    double em = Math.expm1(φ);
+    double e = em + 1.0;
+    this.βΓ = em * (em + 2.0) / (2.0 * e);
+    this.Γ = 0.5 * (e + 1.0 / e);
+    this.β = βΓ / Γ;
+  }
+
+  /** For β near 0, log1p keeps the digits of the small quantity 2β/(1-β). For β near 1, 1-β is exact. */
+  private static double arc_tanh(double β) {
+    return 0.5 * Math.log1p(2 * β / (1 - β));
+  }
+}
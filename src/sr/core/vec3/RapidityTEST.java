@@ -0,0 +1,102 @@
+package sr.core.vec3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.DoubleDouble;
+import sr.core.KinematicRotation;
+import sr.core.Matrix4;
+import sr.core.Physics;
+import sr.core.SpeedValues;
+import sr.core.VelocityTransformation;
+import sr.core.component.ops.LorentzBoost;
+import sr.core.component.ops.Sense;
+
+/** Unit test. */
+class RapidityTEST {
+
+  @Test void sameAsVelocity() {
+    for(SpeedValues speed : SpeedValues.upToFourNines()) {
+      Velocity v = Velocity.of(speed.β(), Direction.of(1.0, 2.0, -3.0));
+      Rapidity r = Rapidity.of(v);
+      assertEquals(speed.β(), r.β(), SMALL);
+      assertEquals(v.Γ(), r.Γ(), SMALL * v.Γ());
+      assertEquals(v.Γ() * speed.β(), r.βΓ(), SMALL * v.Γ());
+      assertEquals(v.Γ() - 1.0, r.ΓMinusOne(), SMALL * v.Γ());
+      assertEquals(1.0 - speed.β(), r.oneMinusβ(), SMALL);
+      assertEquals(0.0, r.velocity().minus(v).magnitude(), SMALL);
+    }
+  }
+
+  @Test void collinear() {
+    Rapidity a = Rapidity.of(Velocity.of(0.6, Axis.Y));
+    Rapidity b = Rapidity.of(Velocity.of(-0.8, Axis.Y));
+    assertTrue(a.isCollinearWith(b));
+    assertEquals(b.φ() - a.φ(), a.plus(b).φ(), SMALL);
+    //(0.6 - 0.8)/(1 - 0.48)
+    assertEquals(-0.2/0.52, VelocityTransformation.unprimedVelocity(a, b).velocity().y(), SMALL);
+    //(-0.8 - 0.6)/(1 + 0.48)
+    assertEquals(-1.4/1.48, VelocityTransformation.primedVelocity(a, b).velocity().y(), SMALL);
+    assertEquals(0.0, KinematicRotation.of(a, b).θw());
+    assertEquals(0.0, a.plus(a.negate()).φ(), SMALL);
+  }
+
+  @Test void notCollinear() {
+    Velocity one = Velocity.of(0.5, 0.1, 0.0);
+    Velocity two = Velocity.of(-0.2, 0.7, 0.3);
+    Rapidity a = Rapidity.of(one);
+    Rapidity b = Rapidity.of(two);
+    Velocity expected = VelocityTransformation.unprimedVelocity(one, two);
+    assertEquals(0.0, VelocityTransformation.unprimedVelocity(a, b).velocity().minus(expected).magnitude(), SMALL);
+    expected = VelocityTransformation.primedVelocity(one, two);
+    assertEquals(0.0, VelocityTransformation.primedVelocity(a, b).velocity().minus(expected).magnitude(), SMALL);
+    assertEquals(KinematicRotation.of(one, two).θw(), KinematicRotation.of(a, b).θw(), SMALL);
+  }
+
+  @Test void boostMatrix() {
+    Velocity v = Velocity.of(0.3, -0.4, 0.5);
+    for(Sense sense : Sense.values()) {
+      Matrix4 expected = LorentzBoost.of(v, sense).matrix();
+      Matrix4 actual = LorentzBoost.of(Rapidity.of(v), sense).matrix();
+      for(int row = 0; row < 4; ++row) {
+        for(int col = 0; col < 4; ++col) {
+          assertEquals(expected.get(row, col), actual.get(row, col), SMALL);
+        }
+      }
+    }
+  }
+
+  /** Composing two LHC speeds in double loses most of the digits of Γ. Adding rapidities doesn't. */
+  @Test void nearLimitingSpeed() {
+    double β = SpeedValues.PROTON_LHC.β();
+    Rapidity r = Rapidity.of(Velocity.of(β, Axis.X));
+    Rapidity sum = VelocityTransformation.unprimedVelocity(r, r);
+    DoubleDouble exact = Physics.Γ(VelocityTransformation.unprimedSpeed(DoubleDouble.of(β), DoubleDouble.of(β)));
+    assertEquals(exact.doubleValue(), sum.Γ(), 1.0E-12 * exact.doubleValue());
+  }
+
+  /** 
+   At high rapidity, a tiny angle between two equal rapidities still gives a large relative velocity:
+   cosh φ<sub>rel</sub> = 1 + sinh<sup>2</sup>φ (1 - cos α).
+  */
+  @Test void nearlyCollinearAtHighRapidity() {
+    double[][] cases = {{15.0, 4.0E-7}, {10.0, 1.0E-7}};
+    for(double[] c : cases) {
+      double φ = c[0], α = c[1];
+      Rapidity a = Rapidity.of(φ, Direction.of(Axis.X));
+      Rapidity b = Rapidity.of(φ, Direction.of(Math.cos(α), Math.sin(α), 0.0));
+      assertFalse(a.isCollinearWith(b));
+      double s = Math.sin(α / 2);
+      double ΓMinusOne = Math.sinh(φ) * Math.sinh(φ) * 2 * s * s;
+      double βΓ = Math.sqrt(ΓMinusOne * (ΓMinusOne + 2.0));
+      assertEquals(βΓ, VelocityTransformation.primedVelocity(a, b).βΓ(), 1.0E-3 * βΓ);
+      assertEquals(βΓ, VelocityTransformation.primedVelocity(b, a).βΓ(), 1.0E-3 * βΓ);
+    }
+  }
+
+  private static final double SMALL = 1.0E-12;
+}
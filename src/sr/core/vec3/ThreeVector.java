@@ -14,6 +14,11 @@ import sr.core.component.Components;
  A standard 3-vector, with three spatial components, with no constraints on the component values.
 
  <P>Most, but not all, methods are final.
+ 
+ <P>Objects of this class are immutable. 
+ The square, the magnitude, and the unit vector are computed only when first needed, and are then re-used.
+ These caches are race-benign: each cached value is an immutable object, so a thread sees either nothing 
+ (and simply computes the same value again), or the complete value.
 
  <P>Note the following differences with 4-vectors:
  <ul>
@@ -76,10 +81,11 @@ public class ThreeVector {
   
   /** The scalar product of this vector with another vector. */
   public final double dot(ThreeVector that) {
+    //same order of operations as a loop over the X, Y, Z axes, with no iterator
     double result = 0.0;
-    for (Axis axis : components.axes()) {
-      result = result + on(axis) * that.on(axis); 
-    }
+    result = result + x() * that.x();
+    result = result + y() * that.y();
+    result = result + z() * that.z();
     return result;
   }
   
@@ -94,12 +100,22 @@ public class ThreeVector {
   
   /** The scalar product of this vector with itself. */
   public final double square() {
-    return dot(this);
+    Double result = square;
+    if (result == null) {
+      result = dot(this);
+      square = result;
+    }
+    return result;
   }
 
   /** The magnitude (norm) of the vector. */
   public final double magnitude() {
-    return sqroot(square());  
+    Double result = magnitude;
+    if (result == null) {
+      result = sqroot(square());
+      magnitude = result;
+    }
+    return result;
   }
 
   /** The angle between this vector and that vector. Range 0..+π. */
@@ -183,22 +199,26 @@ public class ThreeVector {
     );
   }
   
-  /** Return a new vector in the same direction as this vector, but having unit magnitude. */
+  /** Return a vector in the same direction as this vector, but having unit magnitude. */
   public final ThreeVector unitVector() {
-    return this.divide(magnitude());
+    ThreeVector result = unitVector;
+    if (result == null) {
+      result = this.divide(magnitude());
+      unitVector = result;
+    }
+    return result;
   }
   
   /** This implementation applies rounding. */
   @Override public final String toString() {
-    String sep = ",";
-    return "[" + 
-      roundIt(x()) + sep + 
-      roundIt(y()) + sep + 
-      roundIt(z()) + 
-    "]" ;
+    StringBuilder result = new StringBuilder("[");
+    result.append(roundIt(x())).append(',');
+    result.append(roundIt(y())).append(',');
+    result.append(roundIt(z()));
+    return result.append("]").toString();
   }
   
-  protected Components components;
+  protected final Components components;
   
   /** Constructors are protected, in order to be visible to subclasses. */
   protected ThreeVector(double xComp, double yComp, double zComp) {
@@ -207,9 +227,8 @@ public class ThreeVector {
   }
   
   protected ThreeVector(double value, Axis axis) {
-    this(0.0, 0.0, 0.0);
     //Java: this coerces speed values very near 1 to actually being 1:
-    this.components = components.overwrite(axis, value);
+    this.components = Components.of(0.0, 0.0, 0.0).overwrite(axis, value);
   }
   
   protected ThreeVector(double magnitude, Direction direction) {
@@ -224,6 +243,11 @@ public class ThreeVector {
     this.components = components;
   }
 
+  /** Caches, null until first needed. */
+  private Double square;
+  private Double magnitude;
+  private ThreeVector unitVector;
+
   private double roundIt(double value) {
     return Util.round(value, 5);
   }
@@ -17,6 +17,7 @@ import sr.core.ops.LinearOps;
  because it has an insufficient number of decimal places. 
  Thus, this class cannot be used to represent such speeds.
  (An alternative implementation would might use {@link java.math.BigDecimal} instead of Double to represent speeds.)
+ For speeds near 1, {@link Rapidity} loses less precision, and composes collinear velocities by simple addition.
 
  <P>Most objects created by this class have both the components of the velocity and the overall speed in the range (-1, +1).
  This is an open interval, excluding the boundaries.
@@ -72,9 +73,14 @@ public final class Velocity extends ThreeVector implements LinearOps<Velocity>{
     return result;
   }
   
-  /** The Lorentz factor (warp factor) related to this velocity. */
+  /** The Lorentz factor (warp factor) related to this velocity. Computed only when first needed. */
   public double Γ() {
-    return Physics.Γ(magnitude());
+    Double result = Γ;
+    if (result == null) {
+      result = Physics.Γ(magnitude());
+      Γ = result;
+    }
+    return result;
   }
   
   /*
@@ -101,6 +107,9 @@ public final class Velocity extends ThreeVector implements LinearOps<Velocity>{
     return new Velocity(comps);
   }
   
+  /** Cache, null until first needed. Race-benign, as in ThreeVector. */
+  private Double Γ;
+  
   private Velocity(double xComp, double yComp, double zComp) {
     super(xComp, yComp, zComp);
     check();
@@ -132,17 +141,13 @@ public final class Velocity extends ThreeVector implements LinearOps<Velocity>{
   
   /** Validations on incoming constructor data. */
   private void check() {
-    checkRange(x(), y(), z());
-    checkRange(magnitude());
+    Util.mustHaveSpeedRange(x());
+    Util.mustHaveSpeedRange(y());
+    Util.mustHaveSpeedRange(z());
+    Util.mustHaveSpeedRange(magnitude());
   }
   
   private void checkNonNegative(double value) {
-    Util.mustHave(value >= 0, "Magnitude must be non-negative: " + value);
-  }
-  
-  private void checkRange(Double... βs) {
-    for (Double βi : βs) {
-      Util.mustHaveSpeedRange(βi);
-    }
+    Util.mustHave(value >= 0, () -> "Magnitude must be non-negative: " + value);
   }
 }
@@ -2,6 +2,7 @@ package sr.core.vec4;
 
 import sr.core.component.Components;
 import sr.core.component.Event;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
 import sr.core.ops.LinearBoostOp;
 import sr.core.ops.LinearOps;
@@ -34,7 +35,8 @@ public final class FourDelta extends FourVector implements LinearOps<FourDelta>,
   }
 
   @Override public FourDelta boost(Velocity v, Sense sense) {
-    return new FourDelta(a.boost(v, sense), b.boost(v, sense));
+    LorentzBoost boost = LorentzBoost.of(v, sense);
+    return new FourDelta(a.boost(boost), b.boost(boost));
   }
 
   private Event a;
@@ -1,7 +1,7 @@
 package sr.core.vec4;
 
 import sr.core.component.Components;
-import sr.core.component.ops.Boost;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
 import sr.core.ops.LinearBoostOp;
 import sr.core.ops.LinearOps;
@@ -42,7 +42,7 @@ public final class FourPhaseGradient extends FourVector implements LinearOps<Fou
   }
   
   @Override public FourPhaseGradient boost(Velocity v, Sense sense) {
-    Boost boost = Boost.of(v, sense);
+    LorentzBoost boost = LorentzBoost.of(v, sense);
     Components new_comps = boost.applyTo(components);
     //reverse-engineer the new comps to find k_new
     PhaseGradient k_new = PhaseGradient.of(new_comps.x(), new_comps.y(), new_comps.z());
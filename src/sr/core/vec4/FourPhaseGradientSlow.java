@@ -2,7 +2,7 @@ package sr.core.vec4;
 
 import sr.core.VelocityTransformation;
 import sr.core.component.Components;
-import sr.core.component.ops.Boost;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
 import sr.core.ops.LinearBoostOp;
 import sr.core.ops.LinearOps;
@@ -63,7 +63,7 @@ public final class FourPhaseGradientSlow extends FourVector implements LinearOps
   
   @Override public FourPhaseGradientSlow boost(Velocity boost_v, Sense sense) {
     Velocity new_phase_velocity = VelocityTransformation.primedVelocity(boost_v, phase_velocity);
-    Boost boost = Boost.of(boost_v, sense);
+    LorentzBoost boost = LorentzBoost.of(boost_v, sense);
     Components new_comps = boost.applyTo(components);
     PhaseGradient new_k = PhaseGradient.of(new_comps.x(), new_comps.y(), new_comps.z());
     return FourPhaseGradientSlow.of(new_k, new_phase_velocity);
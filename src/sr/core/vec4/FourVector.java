@@ -45,9 +45,15 @@ public class FourVector {
    The dot product of this 4-vector with itself.
    The fundamental quadratic form. 
    Returns any sign, or 0. Signature (+---) for (ct,x,y,z). 
+   Computed only when first needed, and then re-used (see {@link ThreeVector}).
   */ 
   public final double square() {
-    return this.dot(this);
+    Double result = square;
+    if (result == null) {
+      result = this.dot(this);
+      square = result;
+    }
+    return result;
   }
 
   /** Magnitude of the spatial components of this 4-vector. Always non-negative. */
@@ -63,17 +69,20 @@ public class FourVector {
 
   /** This implementation applies rounding. */
   @Override public String toString() {
-    String sep = ",";
-    String result = "[";
+    StringBuilder result = new StringBuilder("[");
     for(Axis axis : Axis.values()) {
-      result = result + roundIt(on(axis)) + sep + " ";
+      if (result.length() > 1) {
+        result.append(", ");
+      }
+      result.append(roundIt(on(axis)));
     }
-    //chop off the final separator+space characters 
-    result = result.substring(0, result.length() - 2);
-    return result + "]";
+    return result.append("]").toString();
   }
   
   protected Components components;
+  
+  /** Cache, null until first needed. The components are set by subclass constructors, and are never changed afterwards. */
+  private Double square;
 
   private double roundIt(Double val) {
     return round(val, 5);
@@ -1,12 +1,12 @@
 package sr.core.vec4;
 
 import static sr.core.Axis.CT;
+import static sr.core.Util.mustHave;
 
 import sr.core.Axis;
 import sr.core.Physics;
-import sr.core.Util;
 import sr.core.component.Components;
-import sr.core.component.ops.Boost;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
 import sr.core.ops.LinearBoostOp;
 import sr.core.ops.LinearOps;
@@ -60,7 +60,7 @@ public final class FourVelocity extends FourVector implements LinearOps<FourVelo
   }
   
   @Override public FourVelocity boost(Velocity v, Sense sense) {
-    Boost boost = Boost.of(v, sense);
+    LorentzBoost boost = LorentzBoost.of(v, sense);
     Components comps = boost.applyTo(components);
     //"reverse-engineer" the comps into a velocity, then into a four-velocity
     double Γ = comps.ct();
@@ -71,7 +71,7 @@ public final class FourVelocity extends FourVector implements LinearOps<FourVelo
   private Velocity velocity;
 
   private FourVelocity(Velocity velocity) {
-    Util.mustHave(velocity.magnitude() < 1.0, "Velocity input to 4-velocity must be less than 1.0: " + velocity);
+    mustHave(velocity.magnitude() < 1.0, () -> "Velocity input to 4-velocity must be less than 1.0: " + velocity);
     this.velocity = velocity;
     double Γ = Physics.Γ(velocity.magnitude()); //always positive, even under clock-reversal
     this.components = Components.of(
@@ -12,6 +12,7 @@ import sr.explore.interval.invariant.InvariantInterval;
 import sr.explore.optics.doppler.cone.DopplerCone;
 import sr.explore.optics.doppler.cone.DopplerConeElbowBoost;
 import sr.explore.optics.flyby.RelativisticFlyBy;
+import sr.explore.optics.starfield.RelativisticStarfield;
 import sr.explore.optics.kvector.WaveVectorK;
 import sr.explore.optics.lightsliceofastick.LightSliceOfAStick;
 import sr.explore.optics.mirror.MovingMirror;
@@ -47,6 +48,9 @@ import sr.explore.waves.WavesInMedia;
  <P>This class helps finding errors. 
  Running all explorations after code changes have been made, and then checking 
  for differences in the output, is an effective means of testing.  
+ 
+ <P>To run headless, with no echo to the console, set the {@link sr.output.text.OutputMode} to <em>Quiet</em>:
+ <pre>java -Dsr-output-mode=Quiet sr.explore.RunExplorations</pre>
 */
 public final class RunExplorations {
   
@@ -89,6 +93,7 @@ public final class RunExplorations {
     result.add(new CornerBoostsDontCommute());
     result.add(new EquivalentBoostPlusRotation());
     result.add(new RelativisticFlyBy());
+    result.add(new RelativisticStarfield());
     result.add(new BoostedTelescope());
     result.add(new WavesInMedia());
     result.add(new InvariantPhaseDifference());
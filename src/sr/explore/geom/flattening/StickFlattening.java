@@ -2,14 +2,15 @@ package sr.explore.geom.flattening;
 
 import static sr.core.Axis.X;
 
-import java.util.function.Function;
+import java.util.List;
 
 import sr.core.Physics;
 import sr.core.Util;
 import sr.core.component.Event;
 import sr.core.component.Position;
+import sr.core.component.ops.LorentzBoost;
 import sr.core.component.ops.Sense;
-import sr.core.hist.timelike.FindEvent;
+import sr.core.hist.timelike.SimultaneitySlicer;
 import sr.core.hist.timelike.TimelikeHistory;
 import sr.core.hist.timelike.UniformVelocity;
 import sr.core.vec3.Velocity;
@@ -90,12 +91,10 @@ public class StickFlattening extends TextOutput implements Exploration {
     
     //time-slice in K': find two events that have the same ct' value in K'
     //events are identified using ct along the history
-    Event aBoosted = histA.event(0.18).boost(boost_v, Sense.ChangeGrid); //start with some event on A's history
-    //root: the difference in K' of the ct' coord vanishes
-    Function<Event, Double> criterion = event -> (event.boost(boost_v, Sense.ChangeGrid).ct() - aBoosted.ct());
-    FindEvent findEvent = new FindEvent(histB, criterion);
-    double ctB = findEvent.search(0.0);
-    Event bBoosted = histB.event(ctB).boost(boost_v, Sense.ChangeGrid);
+    LorentzBoost boost = LorentzBoost.of(boost_v, Sense.ChangeGrid);
+    Event aBoosted = histA.event(0.18).boost(boost); //start with some event on A's history
+    //the event on B's history with the same ct' coord
+    Event bBoosted = SimultaneitySlicer.of(List.of(histB), boost_v).sliceAt(aBoosted.ct()).get(0);
     FourDelta delta_Kp = FourDelta.of(aBoosted, bBoosted);
     
     add("Boost: boost "+ boost_v);
@@ -157,12 +156,10 @@ public class StickFlattening extends TextOutput implements Exploration {
     add("Time-slice pair of events in K' (same ct' coords), to see the geometry of the moving stick:");
     
     //find events that have the same ct' value in K'
-    Event aBoosted = histA.event(0.18).boost(boost_v, Sense.ChangeGrid); //start with some event on A's history
+    LorentzBoost boost = LorentzBoost.of(boost_v, Sense.ChangeGrid);
+    Event aBoosted = histA.event(0.18).boost(boost); //start with some event on A's history
     
-    Function<Event, Double> criterion = event -> (event.boost(boost_v, Sense.ChangeGrid).ct() - aBoosted.ct());
-    FindEvent findEvent = new FindEvent(histB, criterion);
-    double ctB = findEvent.search(0.0);
-    Event bBoosted = histB.event(ctB).boost(boost_v, Sense.ChangeGrid);
+    Event bBoosted = SimultaneitySlicer.of(List.of(histB), boost_v).sliceAt(aBoosted.ct()).get(0);
     
     add("K' a: " + aBoosted);
     add("K' b: " + bBoosted);
@@ -213,12 +210,10 @@ public class StickFlattening extends TextOutput implements Exploration {
     add(Util.NL + "Boost: boost " + boost_v);
     add("Time-slice pair of events in K' (same ct' coords), to see the geometry of the moving stick:");
     //find events that have the same ct value in K'
-    Event aBoosted = histA.event(0.15).boost(boost_v, Sense.ChangeGrid);
+    LorentzBoost boost = LorentzBoost.of(boost_v, Sense.ChangeGrid);
+    Event aBoosted = histA.event(0.15).boost(boost);
     
-    Function<Event, Double> criterion = event -> (event.boost(boost_v, Sense.ChangeGrid).ct() - aBoosted.ct());
-    FindEvent findEvent = new FindEvent(histB, criterion);
-    double ctB = findEvent.search(0.0);
-    Event bBoosted = histB.event(ctB).boost(boost_v, Sense.ChangeGrid);
+    Event bBoosted = SimultaneitySlicer.of(List.of(histB), boost_v).sliceAt(aBoosted.ct()).get(0);
     
     add("K' a: " + aBoosted);
     add("K' b: " + bBoosted);
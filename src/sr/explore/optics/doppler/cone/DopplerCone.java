@@ -1,5 +1,8 @@
 package sr.explore.optics.doppler.cone;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import sr.core.Axis;
 import sr.core.Util;
 import sr.core.component.ops.Boost;
@@ -9,6 +12,7 @@ import sr.core.vec3.PhaseGradient;
 import sr.core.vec3.Velocity;
 import sr.core.vec4.FourPhaseGradient;
 import sr.explore.Exploration;
+import sr.output.npy.NpyOutput;
 import sr.output.text.TextOutput;
 
 /**
@@ -17,6 +21,8 @@ import sr.output.text.TextOutput;
  <P>Start with a set of wave-vectors having the same frequency, but different directions.
  In space-time, this set generates a cone shape.
  Under a Lorentz boost, the cone becomes distorted, somewhat like water sloshing in a bucket that's been pushed.
+ 
+ <P>The wave-vectors are output both as text, and as a NumPy <em>.npz</em> file (for <em>doppler-cone.py</em>).
 */
 public final class DopplerCone implements Exploration {
   
@@ -39,9 +45,15 @@ public final class DopplerCone implements Exploration {
       FourPhaseGradient k_rotated_Kp = k_rotated_K.boost(Velocity.of(β, Axis.X), ChangeGrid);
       output_K.add(k_rotated_K);
       output_Kp.add(k_rotated_Kp);
+      npy_K.add(k_rotated_K);
+      npy_Kp.add(k_rotated_Kp);
     }
     output_K.outputTo("output_K.txt", this);
     output_Kp.outputTo("output_Kp.txt", this);
+    Map<String, NpyOutput> tables = new LinkedHashMap<>();
+    tables.put("K", npy_K);
+    tables.put("Kp", npy_Kp);
+    NpyOutput.outputTo("doppler-cone.npz", this, tables);
   }
   
   void generateOutputsForAnimation() {
@@ -50,12 +62,14 @@ public final class DopplerCone implements Exploration {
     for (int speed = 1; speed <= 50; ++speed) {
       double β = 0.01 * speed;
       TextOutput output = new TextOutput();
+      //many files: stream each one, instead of holding its lines in memory
+      output.streamTo("output_"+speed+".txt", this);
       for(int i = 0; i <= num; i=i+10) {
         FourPhaseGradient k_rotated_K = rotated(k_K, i);
         FourPhaseGradient k_rotated_Kp = k_rotated_K.boost(Velocity.of(β, Axis.X), ChangeGrid);
         output.add(k_rotated_Kp);
       }
-      output.outputTo("output_"+speed+".txt", this);
+      output.endStream();
     }
   }
   
@@ -66,4 +80,6 @@ public final class DopplerCone implements Exploration {
   
   private TextOutput output_K = new TextOutput();
   private TextOutput output_Kp = new TextOutput();
+  private NpyOutput npy_K = new NpyOutput(4);
+  private NpyOutput npy_Kp = new NpyOutput(4);
 }
@@ -2,15 +2,8 @@ package sr.explore.optics.flyby;
 
 import static sr.core.Util.radsToDegs;
 
-import sr.core.Axis;
+import sr.core.Aberration;
 import sr.core.component.Event;
-import sr.core.component.ops.Sense;
-import sr.core.vec3.Delta;
-import sr.core.vec3.Direction;
-import sr.core.vec3.PhaseGradient;
-import sr.core.vec3.Velocity;
-import sr.core.vec4.FourDelta;
-import sr.core.vec4.FourPhaseGradient;
 
 /** 
  The detection of a photon at the detector.
@@ -24,17 +17,23 @@ import sr.core.vec4.FourPhaseGradient;
 */
 final class DetectionEvent {
   
-  /** The <b>core calculation</b> is done by this constructor. */
-  DetectionEvent(Event emissionEvent, Double β, MainSequenceStar star){
+  /** 
+   The <b>core calculation</b> is done by this constructor.
+   @param aberration from K to K', for the boost along the X-axis by -β (the speed of the star in K).
+  */
+  DetectionEvent(Event emissionEvent, Aberration aberration, MainSequenceStar star){
     this.emissionTime = emissionEvent.ct();
-    this.distanceToEmissionEvent = FourDelta.withRespectToOrigin(emissionEvent).spatialMagnitude();
+    double x = emissionEvent.x();
+    double y = emissionEvent.y();
+    double z = emissionEvent.z();
+    this.distanceToEmissionEvent = Math.sqrt(x*x + y*y + z*z);
     
     //c=1 here; no other value will do
     double lightTravelTime = distanceToEmissionEvent / 1.0;
     this.detectionTime = emissionEvent.ct() + lightTravelTime;
     
     //calculate and set D and θ: 
-    boostTheWaveVectorComingFromThe(emissionEvent, -β);
+    aberrationOfThePhotonComingFrom(x, y, z, aberration);
     
     /*
     this.T = Star.T(D, star.surfaceTemperature());
@@ -75,23 +74,22 @@ final class DetectionEvent {
   }
   
   /** 
-   Boost a {@link FourPhaseGradient} using a boost along the X axis by β.
+   Apply aberration and the Doppler effect to the photon coming from the given position.
+   Only a local array of 4 doubles is created, which doesn't outlive this call.
+   This is the same as boosting a {@link sr.core.vec4.FourPhaseGradient} along the X axis.
    Sets both this.θ and this.D as a side effect.  
   */
-  private void boostTheWaveVectorComingFromThe(Event emissionEvent, double β) {
+  private void aberrationOfThePhotonComingFrom(double x, double y, double z, Aberration aberration) {
     //in K, the detector is at rest with respect to the star, and at the origin of the coordinate system
-    Direction detector_direction_K = Direction.of(Delta.withRespectToOrigin(emissionEvent.position()));
-
     //photon-direction is opposite to the detector-direction
     //do the calc with a photon, then convert back to the detector's perspective
-    Direction photon_direction = Direction.of(detector_direction_K.times(-1));
-    FourPhaseGradient photon_K = FourPhaseGradient.of(PhaseGradient.of(1.0, photon_direction));
-    FourPhaseGradient photon_Kp = photon_K.boost(Velocity.of(β, Axis.X), Sense.ChangeGrid);
+    double r = distanceToEmissionEvent;
+    double[] photon_Kp = new double[4];
+    aberration.apply(-x / r, -y / r, -z / r, photon_Kp);
     
-    this.D = photon_Kp.ct() / photon_K.ct();
+    this.D = photon_Kp[0];
     
-    Direction detector_direction_Kp = Direction.of(photon_Kp.spatialComponents().times(-1));
-    double angle =  Math.atan2(detector_direction_Kp.y(), detector_direction_Kp.x()); //0 to +pi wrt +X axis
+    double angle =  Math.atan2(-photon_Kp[2], -photon_Kp[1]); //0 to +pi wrt +X axis
     this.θ =  Math.PI - angle; //0..pi wrt -X axis
   }
 }
@@ -4,7 +4,7 @@ package sr.explore.optics.flyby;
  A toy model of a main sequence star, identified by its spectral class.
  Not to be taken seriously! 
 */
-enum MainSequenceStar {
+public enum MainSequenceStar {
   
   O(30000.0,-5.6, 0.0000003), 
   B(20000.0,-1.1, 0.00125),
@@ -15,13 +15,13 @@ enum MainSequenceStar {
   M(3050.0, 13.9, 0.7937497); //this relative frequency has spurious precision, to make sure all add up to 1.0
   
   /** Surface temperature of the star, in Kelvins (rest frame). */
-  double surfaceTemperature() { return surfaceTemperature; }
+  public double surfaceTemperature() { return surfaceTemperature; }
   
   /** The visual magnitude of a star at a distance of 10 parsecs (rest frame).  */
-  double absoluteMagnitude() { return absoluteMagnitude; }
+  public double absoluteMagnitude() { return absoluteMagnitude; }
   
   /** The relative probability of finding a star of this spectral type in a typical population of stars near the Sun. */
-  double relativeFrequency() { return relativeFrequency; }
+  public double relativeFrequency() { return relativeFrequency; }
   
   /**
    A Doppler-shift applied to the effective temperature of a black-body spectrum.
@@ -35,7 +35,7 @@ enum MainSequenceStar {
   
    @param doppler the doppler factor corresponding to a detector moving relative to this star in some way.
   */
-  double surfaceTemperature(Double doppler) { 
+  public double surfaceTemperature(double doppler) { 
     return  doppler * surfaceTemperature;
   }
 
@@ -46,9 +46,17 @@ enum MainSequenceStar {
  
    @param lightYears how far away the star is from the detector (light-years only!).
   */
-  double apparentVisualMagnitude(double lightYears) {
-    Double parsecs = lightYears / 3.261564; //RASC Observer's Handbook 2019
-    Double m = absoluteMagnitude + 5*Math.log10(parsecs) - 5;
+  public double apparentVisualMagnitude(double lightYears) {
+    return apparentVisualMagnitude(absoluteMagnitude, lightYears);
+  }
+  
+  /** 
+   As in {@link #apparentVisualMagnitude(double)}, but for any star having the given absolute magnitude. 
+   Used for stars that come from a catalog, instead of from this enumeration.  
+  */
+  public static double apparentVisualMagnitude(double absoluteMagnitude, double lightYears) {
+    double parsecs = lightYears / 3.261564; //RASC Observer's Handbook 2019
+    double m = absoluteMagnitude + 5*Math.log10(parsecs) - 5;
     return m;
   }
   
@@ -64,7 +72,15 @@ enum MainSequenceStar {
   
    @param doppler the doppler factor corresponding to a detector moving relative to this star in some way.
   */
-  double Δmagnitude(Double doppler) { 
+  public double Δmagnitude(double doppler) { 
+    return Δmagnitude(doppler, surfaceTemperature);
+  }
+  
+  /** 
+   As in {@link #Δmagnitude(double)}, but for any star having the given surface temperature (rest frame, Kelvins).
+   Used for stars that come from a catalog, instead of from this enumeration.  
+  */
+  public static double Δmagnitude(double doppler, double surfaceTemperature) { 
     return 2.5*Math.log10(doppler) - 26000*(1.0/surfaceTemperature - 1.0/(doppler*surfaceTemperature));
   }
 
@@ -56,6 +56,36 @@ final class OutputHighlights extends TextOutput implements OutputSummary {
     else if (lastVisible != null && d.V <= Physics.LIMITING_MAG_HUMAN_EYE) {
       lastVisible = d;
     }
+    if (d.V <= Physics.LIMITING_MAG_HUMAN_EYE) {
+      lastAtLimit = d;
+    }
+  }
+  
+  /** 
+   The highlights of the other summary's detections are merged with those of this one, as if they came after them.
+   The name, speed and distances of this summary are kept. 
+  */
+  @Override public void combine(OutputSummary that) {
+    OutputHighlights other = (OutputHighlights)that;
+    if (other.first == null) {
+      return; //no data
+    }
+    if (first == null) {
+      first = other.first;
+    }
+    if (maxBrightness == null || other.maxBrightness.V < maxBrightness.V) {
+      maxBrightness = other.maxBrightness;
+    }
+    last = other.last;
+    if (lastVisible == null) {
+      lastVisible = other.lastVisible;
+    }
+    else if (other.lastAtLimit != null) {
+      lastVisible = other.lastAtLimit;
+    }
+    if (other.lastAtLimit != null) {
+      lastAtLimit = other.lastAtLimit;
+    }
   }
   
   DetectionEvent first() { return first; }
@@ -97,6 +127,8 @@ final class OutputHighlights extends TextOutput implements OutputSummary {
   private DetectionEvent last;
   private DetectionEvent maxBrightness;
   private DetectionEvent lastVisible;
+  /** The last detection that's at least as bright as the limit, needed only by combine. */
+  private DetectionEvent lastAtLimit;
   
   private Boolean consoleOnly;
   
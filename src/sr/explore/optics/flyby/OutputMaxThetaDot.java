@@ -6,6 +6,7 @@ import static sr.core.Util.*;
  The fastest rate at which the star changes its theta angle.
  
  This output is meant for computing one stat from multiple fly-by's.
+ Each fly-by has its own object, and the objects are then merged with {@link #combine(OutputSummary)}.
  
  <P>This stat depends on the minimum distance (impact parameter).
  The smaller the minimum distance, the higher the max value of theta-dot.
@@ -59,42 +60,37 @@ final class OutputMaxThetaDot implements OutputSummary {
   }
   
   /** 
-   Executed at the end of processing for each fly-by. 
-   Here the global-maximum is re-computed. 
+   Keep the larger of the two maxima, each from its own fly-by.
+   On a tie, the detection already held by this object is kept. 
+   The two data sets aren't joined: no theta-dot is computed between the last detection of this object and the 
+   first detection of the other, and the count and previous detection of this object are unchanged.
   */
-  @Override public void render() {
-    if (globalMaxThetaDot == 0) {
-      //first flyby
-      globalMaxThetaDot = maxThetaDot;
-      globalMaxDetection = maxDetection;
-    }
-    else {
-      //all subsequent fly-by's
-      if (maxThetaDot > globalMaxThetaDot) {
-        globalMaxThetaDot = maxThetaDot;
-        globalMaxDetection = maxDetection;
-      }
+  @Override public void combine(OutputSummary that) {
+    OutputMaxThetaDot other = (OutputMaxThetaDot)that;
+    if (maxThetaDot == 0 || other.maxThetaDot > maxThetaDot) {
+      maxThetaDot = other.maxThetaDot;
+      maxDetection = other.maxDetection;
     }
   }
   
+  /** Log the maximum to the console. */
+  @Override public void render() {
+    log(this);
+  }
+  
   /** Radians per year. */
-  static Double globalMaxThetaDot() { return globalMaxThetaDot; }
-  static DetectionEvent globalDetectionWithMaxThetaDot() { return globalMaxDetection; }
+  Double maxThetaDot() { return maxThetaDot; }
+  DetectionEvent detectionWithMaxThetaDot() { return maxDetection; }
   
-  static String globalMax() {
-    double degsPerDay = radsToDegs(globalMaxThetaDot)/365.25;
-    return "Max theta-dot: " + round(degsPerDay,4) + " deg/day, Detection: " + globalMaxDetection;
+  @Override public String toString() {
+    double degsPerDay = radsToDegs(maxThetaDot)/365.25;
+    return "Max theta-dot: " + round(degsPerDay,4) + " deg/day, Detection: " + maxDetection;
   }
 
   //PRIVATE 
   
-  //the global maximum is separate from the per-flyby maximum
-  
   private int count = 0;
   private DetectionEvent previousDetection;
   private DetectionEvent maxDetection;
   private Double maxThetaDot = 0.0;
-  
-  private static DetectionEvent globalMaxDetection;
-  private static Double globalMaxThetaDot = 0.0;
 }
@@ -1,11 +1,25 @@
 package sr.explore.optics.flyby;
 
-/** Compute stats or summary data for an entire data-set. */
+/** 
+ Compute stats or summary data for an entire data-set.
+ 
+ <P>A summary can also be a reducer: the summaries of many fly-by's can be merged into one, 
+ using {@link #combine(OutputSummary)}. 
+ Each fly-by can then be computed on its own thread, with no shared state, 
+ and the results merged afterwards, in a fixed order.
+*/
 public interface OutputSummary {
 
   /** Process each data point. */
   void accept(DetectionEvent detection);
 
+  /**
+   Merge the summary of a separate data set into this one.
+   What merging means depends on the summary; each implementation says what it does.
+   The other summary is of the same type as this one, and it isn't changed by this method.
+  */
+  void combine(OutputSummary that);
+  
   /** Do something with the data-set at the end, after all the data have been consumed. */
   void render();
   
@@ -12,6 +12,12 @@ final class OutputToConsole implements OutputSummary {
     detections.add(d);
   }
 
+  /** Append the detections of the other summary to those of this one. */
+  @Override public void combine(OutputSummary that) {
+    OutputToConsole other = (OutputToConsole)that;
+    detections.addAll(other.detections);
+  }
+
   @Override public void render() {
     for (DetectionEvent d : detections) {
       System.out.println(d);
@@ -2,11 +2,18 @@ package sr.explore.optics.flyby;
 
 import static sr.core.Axis.X;
 import static sr.core.Axis.Y;
-import static sr.core.Util.log;
 import static sr.core.Util.mustHave;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import sr.core.Aberration;
 import sr.core.component.Event;
 import sr.core.component.Position;
+import sr.core.component.ops.Sense;
 import sr.core.hist.timelike.TimelikeHistory;
 import sr.core.hist.timelike.UniformVelocity;
 import sr.core.vec3.Velocity;
@@ -112,11 +119,25 @@ public final class RelativisticFlyBy implements Exploration {
     */
 
     //compute a range of different scenarios
+    sweep(ForkJoinPool.commonPool());
+  }
+  
+  /**
+   Compute a range of different scenarios, and output the results.
+   
+   <P>The fly-by's are independent of each other, so each one is computed as a separate task on the given executor.
+   The results are rendered afterwards, one fly-by at a time, in a fixed order. 
+   So the output is the same for any executor, including one that runs each task in the calling thread (<em>Runnable::run</em>).
+  */
+  public void sweep(Executor executor) {
     Double x0 = -25.0;
     double spatialStep = 0.01; //light-years
     Double[] yValues = {1.0, 0.1};
     Double[] speeds = {0.87, 0.99};
     
+    List<OutputSummary> highlights = new ArrayList<>();
+    List<OutputSummary> maxThetaDots = new ArrayList<>();
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
     for(MainSequenceStar star : MainSequenceStar.values()) {
       for (Double speed : speeds) {
         for (Double y: yValues) {
@@ -124,17 +145,23 @@ public final class RelativisticFlyBy implements Exploration {
 
           boolean CONSOLE_ONLY = true;
           boolean FILE_AND_CONSOLE = false;
-          OutputSummary highlights = new OutputHighlights(flyby.star().name(), flyby.β(), flyby.startingDistance(), flyby.minimumDistance(), FILE_AND_CONSOLE);
+          OutputSummary highlight = new OutputHighlights(flyby.star().name(), flyby.β(), flyby.startingDistance(), flyby.minimumDistance(), FILE_AND_CONSOLE);
           OutputSummary maxThetaDot = new OutputMaxThetaDot();
+          highlights.add(highlight);
+          maxThetaDots.add(maxThetaDot);
           
-          flyby.compute(highlights, maxThetaDot);
-          
-          highlights.render();
-          maxThetaDot.render();
+          tasks.add(CompletableFuture.runAsync(() -> flyby.compute(highlight, maxThetaDot), executor));
         }
       }
     }
-    log(OutputMaxThetaDot.globalMax());
+    
+    OutputSummary globalMaxThetaDot = new OutputMaxThetaDot();
+    for (int i = 0; i < tasks.size(); ++i) {
+      tasks.get(i).join();
+      highlights.get(i).render();
+      globalMaxThetaDot.combine(maxThetaDots.get(i));
+    }
+    globalMaxThetaDot.render();
   }
   
   /**
@@ -187,10 +214,12 @@ public final class RelativisticFlyBy implements Exploration {
      of the hump corresponds to the minimum distance.
     */
     double time = initialTime();
+    //the same boost applies to every photon
+    Aberration aberration = Aberration.of(Velocity.of(-β, X), Sense.ChangeGrid);
     Event emissionEvent = emissionEventFor(time); //the first photon emitted
     int count = 0;
     while (count < NUM_EMISSION_EVENTS) {
-      DetectionEvent detectionEvent = new DetectionEvent(emissionEvent, β, star);
+      DetectionEvent detectionEvent = new DetectionEvent(emissionEvent, aberration, star);
       for(OutputSummary outputter: outputters) {
         outputter.accept(detectionEvent);
       }
@@ -1,15 +1,14 @@
 package sr.explore.optics.lightsliceofastick;
 
 import static sr.core.Axis.X;
+import static sr.core.component.ops.Sense.ChangeComponents;
 import static sr.core.component.ops.Sense.ChangeGrid;
 
-import java.util.function.Function;
-
 import sr.core.SpeedValues;
 import sr.core.Util;
 import sr.core.component.Event;
 import sr.core.component.Position;
-import sr.core.hist.timelike.FindEvent;
+import sr.core.hist.LightConeIntersector;
 import sr.core.hist.timelike.TimelikeHistory;
 import sr.core.hist.timelike.UniformVelocity;
 import sr.core.vec3.Velocity;
@@ -131,12 +130,10 @@ public final class LightSliceOfAStick extends TextOutput implements Exploration
 
   /** Find an event from the stick's history that's on the past light-cone of the detection-event. */
   private Event eventOnPastLightConeOf(Event detection, TimelikeHistory history, Velocity boost_v) {
-    Function<Event, Double> onTheLightCone = event -> (
-      FourDelta.of(detection, event.boost(boost_v, ChangeGrid)).square()
-    );
-    FindEvent root = new FindEvent(history, onTheLightCone);
-    double τA = root.search(0.0);
-    Event result = history.event(τA).boost(boost_v, ChangeGrid);
+    //the history is in K, and the detection is in K'; find the intersection in K, then boost the result to K'
+    Event detection_K = detection.boost(boost_v, ChangeComponents);
+    double ct_K = LightConeIntersector.of(history).ctOnPastLightConeOf(detection_K);
+    Event result = history.event(ct_K).boost(boost_v, ChangeGrid);
     return result;
   }
   
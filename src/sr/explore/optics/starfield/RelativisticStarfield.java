@@ -0,0 +1,103 @@
+package sr.explore.optics.starfield;
+
+import static sr.core.Axis.X;
+
+import sr.core.Util;
+import sr.core.vec3.Velocity;
+import sr.explore.Exploration;
+import sr.output.text.Table;
+import sr.output.text.TextOutput;
+
+/**
+ <b>The whole sky, seen from a ship moving at high speed through a field of stars.</b>
+ 
+ <P>The {@link sr.explore.optics.flyby.RelativisticFlyBy} class looks at a single star. 
+ This class looks at a large number of stars at once, using a {@link Starfield}.
+ For each speed of the ship, the sky is split into bins of the angle θ between the star and the direction of motion.
+ 
+ <P>As the speed increases:
+ <ul>
+  <li>the stars crowd towards the direction of motion (aberration).
+  <li>the stars ahead are blue-shifted and brighter, and the stars behind are red-shifted and dimmer (the Doppler effect).
+ </ul>
+ 
+ <P>See {@link sr.explore.optics.flyby.RelativisticFlyBy} for the reference.
+*/
+public final class RelativisticStarfield extends TextOutput implements Exploration {
+  
+  public static void main(String... args) {
+    Exploration starfield = new RelativisticStarfield();
+    starfield.explore();
+  }
+  
+  @Override public void explore() {
+    Starfield starfield = Starfield.of(NUM_STARS, Starfield.SOLAR_NEIGHBOURHOOD, SEED);
+    SkyBins[] views = new SkyBins[SPEEDS.length];
+    for(int i = 0; i < SPEEDS.length; ++i) {
+      views[i] = starfield.view(Velocity.of(SPEEDS[i], X), NUM_BINS);
+    }
+    
+    add("Relativistic starfield: the sky seen from a ship moving along the X-axis.");
+    add("Number of stars: " + NUM_STARS + ", with a density of " + Starfield.SOLAR_NEIGHBOURHOOD + " per cubic light-year.");
+    add("The stars fill a sphere of radius " + Util.round(starfield.radius(), 1) + " light-years, centered on the ship.");
+    add("θ is the angle between the star and the direction of motion.");
+    
+    add(Util.NL + "1. Number of stars visible to the human eye (V < 6.0).");
+    header();
+    long[] totals = new long[SPEEDS.length];
+    for(int bin = 0; bin < NUM_BINS; ++bin) {
+      Object[] row = new Object[SPEEDS.length + 1];
+      row[0] = bins(views[0], bin);
+      for(int i = 0; i < SPEEDS.length; ++i) {
+        row[i + 1] = views[i].numVisible(bin);
+        totals[i] += views[i].numVisible(bin);
+      }
+      add(table.row(row));
+    }
+    add(Util.separator(DASHES));
+    Object[] totalRow = new Object[SPEEDS.length + 1];
+    totalRow[0] = "Total";
+    for(int i = 0; i < SPEEDS.length; ++i) {
+      totalRow[i + 1] = totals[i];
+    }
+    add(table.row(totalRow));
+    
+    add(Util.NL + "2. Mean apparent temperature (Kelvin) of the stars visible to the human eye.");
+    header();
+    for(int bin = 0; bin < NUM_BINS; ++bin) {
+      Object[] row = new Object[SPEEDS.length + 1];
+      row[0] = bins(views[0], bin);
+      for(int i = 0; i < SPEEDS.length; ++i) {
+        double T = views[i].meanVisibleTemperature(bin);
+        row[i + 1] = Double.isNaN(T) ? "-" : Math.round(T);
+      }
+      add(table.row(row));
+    }
+    
+    outputToConsoleAnd("relativistic-starfield.txt");
+  }
+  
+  // PRIVATE
+  
+  private static final int NUM_STARS = 1_000_000;
+  private static final long SEED = 20191221L;
+  private static final int NUM_BINS = 12;
+  private static final double[] SPEEDS = {0.0, 0.5, 0.9, 0.99, 0.999};
+  private static final int DASHES = 80;
+  
+  private Table table = new Table("%-16s", "%-12s", "%-12s", "%-12s", "%-12s", "%-12s");
+  
+  private void header() {
+    Object[] row = new Object[SPEEDS.length + 1];
+    row[0] = "θ (degrees)";
+    for(int i = 0; i < SPEEDS.length; ++i) {
+      row[i + 1] = "β=" + SPEEDS[i];
+    }
+    add(table.row(row));
+    add(Util.separator(DASHES));
+  }
+  
+  private String bins(SkyBins view, int bin) {
+    return Math.round(Util.radsToDegs(view.θmin(bin))) + ".." + Math.round(Util.radsToDegs(view.θmax(bin)));
+  }
+}
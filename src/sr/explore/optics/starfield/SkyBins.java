@@ -0,0 +1,99 @@
+package sr.explore.optics.starfield;
+
+import java.util.Arrays;
+
+import sr.core.Physics;
+
+/**
+ Summary data for stars seen in the sky, in bins of the angle θ between the star and the direction of motion.
+ The bins have equal widths, and cover θ from 0 to π. 
+ 
+ <P>Each bin records the number of stars, and the number of stars visible to the human eye. 
+ For the visible stars, it also records their mean apparent temperature, and the brightest visual magnitude.
+ 
+ <P>Objects of this class are not thread-safe. 
+ When stars are processed in parallel, each thread fills its own object, and the objects are then merged with 
+ {@link #combine(SkyBins)}.
+*/
+public final class SkyBins {
+
+  /** Constructor. */
+  public SkyBins(int numBins) {
+    this.numBins = numBins;
+    this.count = new long[numBins];
+    this.numVisible = new long[numBins];
+    this.sumVisibleT = new double[numBins];
+    this.brightestV = new double[numBins];
+    Arrays.fill(brightestV, Double.POSITIVE_INFINITY);
+    this.cosθmax = new double[numBins];
+    for(int bin = 0; bin < numBins; ++bin) {
+      cosθmax[bin] = Math.cos(θmax(bin));
+    }
+    cosθmax[numBins - 1] = -1.0;
+  }
+  
+  /**
+   Add a star to the data.
+   @param cosθ the cosine of the angle between the star and the direction of motion.
+   Taking the cosine avoids the cost of an inverse cosine for each star.
+   @param T the apparent temperature of the star, in Kelvins.
+   @param V the apparent visual magnitude of the star.
+  */
+  public void accept(double cosθ, double T, double V) {
+    int bin = 0;
+    while (bin < numBins - 1 && cosθ < cosθmax[bin]) {
+      ++bin;
+    }
+    ++count[bin];
+    if (V < Physics.LIMITING_MAG_HUMAN_EYE) {
+      ++numVisible[bin];
+      sumVisibleT[bin] += T;
+    }
+    if (V < brightestV[bin]) {
+      brightestV[bin] = V;
+    }
+  }
+  
+  /** Merge the data of another object, having the same number of bins, into this one. That object isn't changed. */
+  public void combine(SkyBins that) {
+    for(int bin = 0; bin < numBins; ++bin) {
+      count[bin] += that.count[bin];
+      numVisible[bin] += that.numVisible[bin];
+      sumVisibleT[bin] += that.sumVisibleT[bin];
+      brightestV[bin] = Math.min(brightestV[bin], that.brightestV[bin]);
+    }
+  }
+  
+  public int numBins() { return numBins; }
+  
+  /** The smallest angle in the given bin, in radians. */
+  public double θmin(int bin) { return bin * Math.PI / numBins; }
+  
+  /** The largest angle in the given bin, in radians. */
+  public double θmax(int bin) { return (bin + 1) * Math.PI / numBins; }
+  
+  /** The number of stars in the given bin. */
+  public long count(int bin) { return count[bin]; }
+  
+  /** The number of stars in the given bin, that are visible to the human eye. */
+  public long numVisible(int bin) { return numVisible[bin]; }
+  
+  /** The mean apparent temperature of the visible stars in the given bin. NaN if there are none. */
+  public double meanVisibleTemperature(int bin) { 
+    return numVisible[bin] == 0 ? Double.NaN : sumVisibleT[bin] / numVisible[bin]; 
+  }
+  
+  /** The brightest visual magnitude in the given bin. Positive infinity if there are no stars. */
+  public double brightestV(int bin) { return brightestV[bin]; }
+  
+  // PRIVATE
+  
+  private final int numBins;
+  private final long[] count;
+  private final long[] numVisible;
+  private final double[] sumVisibleT;
+  private final double[] brightestV;
+  
+  /** The cosine of the largest angle in each bin. */
+  private final double[] cosθmax;
+}
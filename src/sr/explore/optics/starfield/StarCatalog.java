@@ -0,0 +1,178 @@
+package sr.explore.optics.starfield;
+
+import static sr.core.Util.mustHave;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import sr.explore.optics.flyby.MainSequenceStar;
+
+/**
+ A catalog of stars, in a compact binary file having fixed-size records. 
+ Read with a memory-mapped file: no object is created for each star.
+ 
+ <P>The file starts with a header of {@value #HEADER_SIZE} bytes: 
+ a magic number, a version number (int), and the number of records (long).
+ Each record is {@value #RECORD_SIZE} bytes:
+ <ul>
+  <li>the position of the star: X, Y, Z in light-years (floats)
+  <li>the absolute magnitude (float)
+  <li>the surface temperature in Kelvins, in the rest frame of the star (float)
+  <li>the spectral class, as the ordinal of a {@link MainSequenceStar} (byte)
+  <li>3 bytes of padding
+ </ul>
+ All numbers are little-endian.
+ Files are written with {@link StarCatalogWriter}.
+ 
+ <P>Opening a catalog reads only its header. 
+ The records are read with a {@link Cursor}, which maps only its own range of records into memory. 
+ To process the catalog in parallel, split it into ranges, and give each range its own cursor.
+ 
+ <P>This class is thread-safe. A cursor is not: use one per thread.
+*/
+public final class StarCatalog implements AutoCloseable {
+  
+  /** Value - {@value}. */
+  public static final int HEADER_SIZE = 16;
+  
+  /** Value - {@value}. */
+  public static final int RECORD_SIZE = 24;
+  
+  /** Open the given catalog file, and read its header. */
+  public static StarCatalog open(Path path) {
+    return new StarCatalog(path);
+  }
+  
+  /** The number of stars in the catalog. */
+  public long size() { return size; }
+  
+  /**
+   Return a cursor over the records from <em>from</em> (inclusive) to <em>to</em> (exclusive).
+   The cursor is positioned before the first record. 
+   The range can have no more than {@link #MAX_RANGE} records.
+  */
+  public Cursor cursor(long from, long to) {
+    mustHave(0 <= from && from <= to && to <= size, "Range " + from + ".." + to + " not in 0.." + size);
+    mustHave(to - from <= MAX_RANGE, "Range is too large: " + (to - from));
+    try {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + from * RECORD_SIZE, (to - from) * RECORD_SIZE);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      return new Cursor(buffer, (int)(to - from));
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  /** The largest number of records for a single {@link Cursor}, such that its bytes can be mapped as a single buffer. */
+  public static final int MAX_RANGE = (Integer.MAX_VALUE / RECORD_SIZE);
+  
+  /** 
+   Walks over a range of records, one at a time.
+   The getters return the data for the current record, straight from the mapped file. 
+  */
+  public static final class Cursor {
+    
+    /** Move to the next record. Return false if there are no more records in the range. */
+    public boolean next() {
+      if (index + 1 >= count) {
+        return false;
+      }
+      ++index;
+      offset = index * RECORD_SIZE;
+      return true;
+    }
+    
+    /** Light-years. */
+    public double x() { return buffer.getFloat(offset); }
+    /** Light-years. */
+    public double y() { return buffer.getFloat(offset + 4); }
+    /** Light-years. */
+    public double z() { return buffer.getFloat(offset + 8); }
+    public double absoluteMagnitude() { return buffer.getFloat(offset + 12); }
+    /** Kelvins, in the rest frame of the star. */
+    public double surfaceTemperature() { return buffer.getFloat(offset + 16); }
+    public MainSequenceStar spectralClass() { return STARS[buffer.get(offset + 20)]; }
+    
+    private Cursor(ByteBuffer buffer, int count) {
+      this.buffer = buffer;
+      this.count = count;
+    }
+    private final ByteBuffer buffer;
+    private final int count;
+    private int index = -1;
+    private int offset = -RECORD_SIZE;
+  }
+  
+  @Override public void close() {
+    try {
+      channel.close();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  // PRIVATE
+  
+  /** The characters 'SRSC', for 'special relativity star catalog'. */
+  static final int MAGIC = 0x53525343;
+  static final int VERSION = 1;
+  
+  private static final MainSequenceStar[] STARS = MainSequenceStar.values();
+  
+  private final FileChannel channel;
+  private final long size;
+  
+  /** If the header can't be read, or doesn't match the file, then the file is closed before the exception is thrown. */
+  private StarCatalog(Path path) {
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    try {
+      this.size = readHeader(path);
+    }
+    catch (IOException ex) {
+      closeAfter(ex);
+      throw new UncheckedIOException(ex);
+    }
+    catch (RuntimeException ex) {
+      closeAfter(ex);
+      throw ex;
+    }
+  }
+  
+  /** Return the number of records. */
+  private long readHeader(Path path) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+      //keep reading
+    }
+    header.flip();
+    mustHave(header.remaining() == HEADER_SIZE, "Not a star catalog: " + path);
+    mustHave(header.getInt() == MAGIC, "Not a star catalog: " + path);
+    int version = header.getInt();
+    mustHave(version == VERSION, "Unknown version of star catalog: " + version);
+    long result = header.getLong();
+    mustHave(result >= 0 && channel.size() == HEADER_SIZE + result * RECORD_SIZE, "Star catalog has the wrong length: " + path);
+    return result;
+  }
+  
+  private void closeAfter(Exception failure) {
+    try {
+      channel.close();
+    }
+    catch (IOException ex) {
+      failure.addSuppressed(ex);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package sr.explore.optics.starfield;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Axis;
+import sr.core.vec3.Velocity;
+import sr.explore.optics.flyby.MainSequenceStar;
+
+/** Unit test. */
+class StarCatalogTEST {
+
+  @Test void recordsRoundTrip() throws IOException {
+    Path path = Files.createTempFile("stars", ".bin");
+    try {
+      try (StarCatalogWriter writer = StarCatalogWriter.create(path)) {
+        writer.add(1.5, -2.25, 3.0, MainSequenceStar.G, 4.75, 5800.0);
+        writer.add(-0.5, 0.0, 12.125, MainSequenceStar.M);
+      }
+      try (StarCatalog catalog = StarCatalog.open(path)) {
+        assertEquals(2, catalog.size());
+        StarCatalog.Cursor cursor = catalog.cursor(0, 2);
+        assertTrue(cursor.next());
+        assertEquals(1.5, cursor.x());
+        assertEquals(-2.25, cursor.y());
+        assertEquals(3.0, cursor.z());
+        assertEquals(4.75, cursor.absoluteMagnitude());
+        assertEquals(5800.0, cursor.surfaceTemperature());
+        assertEquals(MainSequenceStar.G, cursor.spectralClass());
+        assertTrue(cursor.next());
+        assertEquals(12.125, cursor.z());
+        assertEquals((float)MainSequenceStar.M.absoluteMagnitude(), cursor.absoluteMagnitude());
+        assertEquals(MainSequenceStar.M, cursor.spectralClass());
+        assertFalse(cursor.next());
+      }
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void viewOfCatalogSameAsViewOfStarfield() throws IOException {
+    Path path = Files.createTempFile("stars", ".bin");
+    try {
+      //more than one block of stars
+      Starfield field = Starfield.of(70_000, Starfield.SOLAR_NEIGHBOURHOOD, 42L);
+      field.writeTo(path);
+      Velocity v = Velocity.of(0.9, Axis.X);
+      SkyBins expected = field.view(v, NUM_BINS);
+      try (StarCatalog catalog = StarCatalog.open(path)) {
+        assertEquals(field.numStars(), catalog.size());
+        SkyBins bins = Starfield.view(catalog, v, NUM_BINS);
+        long total = 0;
+        for(int bin = 0; bin < NUM_BINS; ++bin) {
+          //a star very near the edge of a bin can change bins, since the catalog has floats
+          assertEquals(expected.count(bin), bins.count(bin), 2.0);
+          assertEquals(expected.brightestV(bin), bins.brightestV(bin), 1.0E-3);
+          total = total + bins.count(bin);
+        }
+        assertEquals(field.numStars(), total);
+      }
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void emptyCatalog() throws IOException {
+    Path path = Files.createTempFile("stars", ".bin");
+    try {
+      StarCatalogWriter.create(path).close();
+      assertEquals(StarCatalog.HEADER_SIZE, Files.size(path));
+      try (StarCatalog catalog = StarCatalog.open(path)) {
+        assertEquals(0, catalog.size());
+        assertFalse(catalog.cursor(0, 0).next());
+        SkyBins bins = Starfield.view(catalog, Velocity.of(0.5, Axis.X), NUM_BINS);
+        for(int bin = 0; bin < NUM_BINS; ++bin) {
+          assertEquals(0, bins.count(bin));
+        }
+      }
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void truncatedFile() throws IOException {
+    Path path = Files.createTempFile("stars", ".bin");
+    try {
+      Starfield.of(10, Starfield.SOLAR_NEIGHBOURHOOD, 1L).writeTo(path);
+      //part of the last record is missing
+      truncate(path, StarCatalog.HEADER_SIZE + 10 * StarCatalog.RECORD_SIZE - 5);
+      assertThrows(RuntimeException.class, () -> StarCatalog.open(path));
+      //part of the header is missing
+      truncate(path, 10);
+      assertThrows(RuntimeException.class, () -> StarCatalog.open(path));
+      truncate(path, 0);
+      assertThrows(RuntimeException.class, () -> StarCatalog.open(path));
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void rangeMustBeInTheCatalog() throws IOException {
+    Path path = Files.createTempFile("stars", ".bin");
+    try {
+      Starfield.of(10, Starfield.SOLAR_NEIGHBOURHOOD, 1L).writeTo(path);
+      try (StarCatalog catalog = StarCatalog.open(path)) {
+        assertThrows(RuntimeException.class, () -> catalog.cursor(5, 11));
+        assertThrows(RuntimeException.class, () -> catalog.cursor(6, 5));
+      }
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  private void truncate(Path path, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(size);
+    }
+  }
+
+  private static final int NUM_BINS = 12;
+}
@@ -0,0 +1,102 @@
+package sr.explore.optics.starfield;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import sr.explore.optics.flyby.MainSequenceStar;
+
+/**
+ Write a {@link StarCatalog} file, one star at a time.
+ The records are buffered, and the header is written when the writer is closed.
+*/
+public final class StarCatalogWriter implements AutoCloseable {
+
+  /** Create the given file, replacing any existing file. */
+  public static StarCatalogWriter create(Path path) {
+    return new StarCatalogWriter(path);
+  }
+  
+  /** Add a star, using the absolute magnitude and temperature of its spectral class. Light-years. */
+  public void add(double x, double y, double z, MainSequenceStar star) {
+    add(x, y, z, star, star.absoluteMagnitude(), star.surfaceTemperature());
+  }
+  
+  /** Add a star. Light-years, and Kelvins in the rest frame of the star. */
+  public void add(double x, double y, double z, MainSequenceStar star, double absoluteMagnitude, double surfaceTemperature) {
+    if (!buffer.hasRemaining()) {
+      flush();
+    }
+    buffer.putFloat((float)x);
+    buffer.putFloat((float)y);
+    buffer.putFloat((float)z);
+    buffer.putFloat((float)absoluteMagnitude);
+    buffer.putFloat((float)surfaceTemperature);
+    buffer.put((byte)star.ordinal());
+    buffer.put(PADDING);
+    ++size;
+  }
+  
+  /** The number of stars added so far. */
+  public long size() { return size; }
+  
+  /** Write any remaining records, and the header. */
+  @Override public void close() {
+    try {
+      flush();
+      ByteBuffer header = ByteBuffer.allocate(StarCatalog.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(StarCatalog.MAGIC);
+      header.putInt(StarCatalog.VERSION);
+      header.putLong(size);
+      header.flip();
+      writeAt(header, 0);
+      channel.close();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  // PRIVATE
+  
+  private static final int RECORDS_PER_BUFFER = 1 << 14;
+  private static final byte[] PADDING = new byte[3];
+  
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORDS_PER_BUFFER * StarCatalog.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+  private long size;
+  /** Where the next buffer of records is written. */
+  private long position = StarCatalog.HEADER_SIZE;
+  
+  private StarCatalogWriter(Path path) {
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  private void flush() {
+    try {
+      buffer.flip();
+      position = position + writeAt(buffer, position);
+      buffer.clear();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  private long writeAt(ByteBuffer bytes, long start) throws IOException {
+    long result = 0;
+    while (bytes.hasRemaining()) {
+      result = result + channel.write(bytes, start + result);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,232 @@
+package sr.explore.optics.starfield;
+
+import static sr.core.Util.mustHave;
+
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import sr.core.Aberration;
+import sr.core.Axis;
+import sr.core.ParallelRange;
+import sr.core.component.ops.Sense;
+import sr.core.vec3.Direction;
+import sr.core.vec3.Velocity;
+import sr.explore.optics.flyby.MainSequenceStar;
+
+/**
+ A synthetic field of main sequence stars, at rest in K, seen from a ship at the origin.
+ 
+ <P>The stars fill a sphere around the ship, with a uniform density (stars per cubic light-year).
+ The spectral class of each star is random, using {@link MainSequenceStar#relativeFrequency()}.
+ 
+ <P>The stars are not stored (but see {@link #writeTo(Path)}). 
+ They are generated as they're needed, from a seed, so the same seed always gives the same stars. 
+ The stars are generated in blocks of a fixed size, and each block has its own random number generator, split from the seed.
+ The blocks are processed in parallel, and their results are merged in a fixed order. 
+ So the result depends only on the seed, and not on the number of cores.
+*/
+public final class Starfield {
+  
+  /** A rough density of stars in the solar neighbourhood: {@value} stars per cubic light-year. */
+  public static final double SOLAR_NEIGHBOURHOOD = 0.004;
+
+  /**
+   Factory method.
+   @param numStars the number of stars in the field.
+   @param density the number of stars per cubic light-year.
+   @param seed for the random numbers.
+  */
+  public static Starfield of(int numStars, double density, long seed) {
+    return new Starfield(numStars, density, seed);
+  }
+  
+  /** The number of stars in the field. */
+  public int numStars() { return numStars; }
+  
+  /** The radius of the sphere that contains all of the stars, in light-years. */
+  public double radius() { return radius; }
+  
+  /**
+   Return the stars as seen from a ship at the origin, moving with the given velocity with respect to the stars.
+   For each star, apply aberration and the Doppler effect, then find its apparent temperature and its visual magnitude.
+   @param ship_v velocity of the ship with respect to the stars (K). If zero, the bins are taken with respect to the X-axis.
+  */
+  public SkyBins view(Velocity ship_v, int numBins) {
+    SplittableRandom[] randoms = randoms();
+    Observer observer = new Observer(ship_v);
+    SkyBins[] results = new SkyBins[randoms.length];
+    ParallelRange.forEach(randoms.length, 1, (from, to) -> {
+      for(int block = from; block < to; ++block) {
+        results[block] = viewBlock(randoms[block], blockSize(block), observer, numBins);
+      }
+    });
+    return combine(results, numBins);
+  }
+  
+  /**
+   Write the stars to a {@link StarCatalog} file. 
+   Viewing the catalog gives the same result as viewing this object, to within the precision of the catalog. 
+  */
+  public void writeTo(Path path) {
+    try (StarCatalogWriter writer = StarCatalogWriter.create(path)) {
+      double[] star_K = new double[4];
+      SplittableRandom[] randoms = randoms();
+      for(int block = 0; block < randoms.length; ++block) {
+        for(int i = 0, size = blockSize(block); i < size; ++i) {
+          MainSequenceStar star = nextStar(randoms[block], star_K);
+          double r = star_K[3];
+          writer.add(r * star_K[0], r * star_K[1], r * star_K[2], star);
+        }
+      }
+    }
+  }
+  
+  /**
+   As in {@link #view(Velocity, int)}, but for the stars in a catalog.
+   The catalog is split into ranges, which are processed in parallel, each with its own {@link StarCatalog.Cursor}. 
+   The stars use the absolute magnitude and temperature from the catalog.
+  */
+  public static SkyBins view(StarCatalog catalog, Velocity ship_v, int numBins) {
+    Observer observer = new Observer(ship_v);
+    int numRanges = (int)((catalog.size() + STARS_PER_BLOCK - 1) / STARS_PER_BLOCK);
+    SkyBins[] results = new SkyBins[numRanges];
+    ParallelRange.forEach(numRanges, 1, (from, to) -> {
+      for(int range = from; range < to; ++range) {
+        long start = (long)range * STARS_PER_BLOCK;
+        StarCatalog.Cursor cursor = catalog.cursor(start, Math.min(start + STARS_PER_BLOCK, catalog.size()));
+        SkyBins result = new SkyBins(numBins);
+        double[] scratch = new double[4];
+        while (cursor.next()) {
+          double x = cursor.x();
+          double y = cursor.y();
+          double z = cursor.z();
+          double r = Math.sqrt(x * x + y * y + z * z);
+          observer.accept(x / r, y / r, z / r, r, cursor.absoluteMagnitude(), cursor.surfaceTemperature(), result, scratch);
+        }
+        results[range] = result;
+      }
+    });
+    return combine(results, numBins);
+  }
+  
+  // PRIVATE
+  
+  private static final int STARS_PER_BLOCK = 1 << 16;
+  
+  private static final MainSequenceStar[] STARS = MainSequenceStar.values();
+  
+  private final int numStars;
+  private final double radius;
+  private final long seed;
+  
+  /** The cumulative relative frequency of each spectral class. */
+  private final double[] cumulative;
+  
+  private Starfield(int numStars, double density, long seed) {
+    mustHave(numStars > 0, "Number of stars must be positive: " + numStars);
+    mustHave(density > 0, "Density must be positive: " + density);
+    this.numStars = numStars;
+    this.radius = Math.cbrt(3.0 * numStars / (4.0 * Math.PI * density));
+    this.seed = seed;
+    this.cumulative = new double[STARS.length];
+    double sum = 0.0;
+    for(int i = 0; i < STARS.length; ++i) {
+      sum = sum + STARS[i].relativeFrequency();
+      cumulative[i] = sum;
+    }
+  }
+  
+  /** One random generator for each block of stars. */
+  private SplittableRandom[] randoms() {
+    int numBlocks = (numStars + STARS_PER_BLOCK - 1) / STARS_PER_BLOCK;
+    SplittableRandom[] result = new SplittableRandom[numBlocks];
+    SplittableRandom root = new SplittableRandom(seed);
+    for(int block = 0; block < numBlocks; ++block) {
+      result[block] = root.split();
+    }
+    return result;
+  }
+  
+  private int blockSize(int block) {
+    return Math.min(STARS_PER_BLOCK, numStars - block * STARS_PER_BLOCK);
+  }
+  
+  private static SkyBins combine(SkyBins[] blocks, int numBins) {
+    SkyBins result = new SkyBins(numBins);
+    for(SkyBins block : blocks) {
+      result.combine(block);
+    }
+    return result;
+  }
+  
+  private SkyBins viewBlock(SplittableRandom random, int size, Observer observer, int numBins) {
+    SkyBins result = new SkyBins(numBins);
+    double[] star_K = new double[4];
+    double[] scratch = new double[4];
+    for(int i = 0; i < size; ++i) {
+      MainSequenceStar star = nextStar(random, star_K);
+      observer.accept(star_K[0], star_K[1], star_K[2], star_K[3], star.absoluteMagnitude(), star.surfaceTemperature(), result, scratch);
+    }
+    return result;
+  }
+  
+  /** 
+   Return a random star, and its position. 
+   @param out on return, holds the unit vector from the ship to the star (X, Y, Z), and then the distance in light-years.
+  */
+  private MainSequenceStar nextStar(SplittableRandom random, double[] out) {
+    MainSequenceStar result = randomStar(random.nextDouble());
+    //uniform in the volume of the sphere: the largest of 3 uniform numbers has the distribution of u^(1/3)  
+    double r = radius * Math.max(random.nextDouble(), Math.max(random.nextDouble(), random.nextDouble()));
+    //uniform on the unit sphere (Marsaglia), with no trig functions 
+    double a = 0.0;
+    double b = 0.0;
+    double s = 1.0;
+    while (s >= 1.0) {
+      a = 2.0 * random.nextDouble() - 1.0;
+      b = 2.0 * random.nextDouble() - 1.0;
+      s = a * a + b * b;
+    }
+    double q = 2.0 * Math.sqrt(1.0 - s);
+    out[0] = a * q;
+    out[1] = b * q;
+    out[2] = 1.0 - 2.0 * s;
+    out[3] = r;
+    return result;
+  }
+  
+  /** How the stars look from the moving ship. */
+  private static final class Observer {
+    Observer(Velocity ship_v){
+      double β = ship_v.magnitude();
+      this.direction = β == 0.0 ? Direction.of(Axis.X) : Direction.of(ship_v);
+      //the ship's frame K' is boosted with respect to K, in which the stars are at rest
+      this.aberration = Aberration.of(ship_v, Sense.ChangeGrid);
+    }
+    /** 
+     The star is at the distance r along the unit vector (x,y,z) from the ship. 
+     @param photon_Kp working space of length 4, owned by the caller, and re-used for each star of a block.
+    */
+    void accept(double x, double y, double z, double r, double absoluteMagnitude, double surfaceTemperature, SkyBins bins, double[] photon_Kp) {
+      //the photon travels from the star to the ship, opposite to the direction of the star
+      aberration.apply(-x, -y, -z, photon_Kp);
+      double D = photon_Kp[0];
+      double cosθ = -(photon_Kp[1] * direction.x() + photon_Kp[2] * direction.y() + photon_Kp[3] * direction.z());
+      double T = D * surfaceTemperature;
+      double V = MainSequenceStar.apparentVisualMagnitude(absoluteMagnitude, r) + MainSequenceStar.Δmagnitude(D, surfaceTemperature);
+      bins.accept(cosθ, T, V);
+    }
+    private final Direction direction;
+    private final Aberration aberration;
+  }
+  
+  private MainSequenceStar randomStar(double u) {
+    double target = u * cumulative[cumulative.length - 1];
+    for(int i = 0; i < cumulative.length - 1; ++i) {
+      if (target < cumulative[i]) {
+        return STARS[i];
+      }
+    }
+    return STARS[STARS.length - 1];
+  }
+}
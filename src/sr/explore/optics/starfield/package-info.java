@@ -0,0 +1,8 @@
+/**
+ The whole sky, as seen from a ship moving at high speed through a field of stars.
+ How are the stars distributed across the sky?
+ What colors are they?
+ 
+ <P>Run the {@link RelativisticStarfield} class to run the simulation.
+*/
+package sr.explore.optics.starfield;
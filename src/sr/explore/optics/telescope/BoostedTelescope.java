@@ -4,13 +4,13 @@ import static sr.core.Util.NL;
 import static sr.core.Util.radsToDegs;
 import static sr.core.Util.round;
 
-import java.util.function.Function;
+import java.util.List;
 
 import sr.core.Axis;
 import sr.core.component.Event;
 import sr.core.component.Position;
 import sr.core.component.ops.Sense;
-import sr.core.hist.timelike.FindEvent;
+import sr.core.hist.timelike.SimultaneitySlicer;
 import sr.core.hist.timelike.TimelikeHistory;
 import sr.core.hist.timelike.UniformVelocity;
 import sr.core.vec3.Direction;
@@ -150,12 +150,7 @@ public final class BoostedTelescope extends TextOutput implements Exploration {
    @return the event using K' coordinates. 
   */
   private Event timeSliceEventInKp(double ct_Kp, TimelikeHistory history_K, Velocity boost_v) {
-    Function<Event, Double> criterion = (event_K) -> event_K.boost(boost_v, Sense.ChangeGrid).ct() - ct_Kp; 
-    FindEvent find = new FindEvent(history_K, criterion);
-    double guess_ct_K = 1.0;
-    double ct_K = find.search(guess_ct_K); 
-    Event target_K = history_K.event(ct_K);
-    return target_K.boost(boost_v, Sense.ChangeGrid);
+    return SimultaneitySlicer.of(List.of(history_K), boost_v).sliceAt(ct_Kp).get(0);
   }
   
   private FourDelta wrt_the_x_axis() {
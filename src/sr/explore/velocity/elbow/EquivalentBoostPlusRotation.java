@@ -7,6 +7,7 @@ import sr.core.SpeedValues;
 import sr.core.Util;
 import sr.core.component.Event;
 import static sr.core.component.ops.Sense.ChangeGrid;
+import sr.core.ops.PoincareTransform;
 import sr.core.vec3.AxisAngle;
 import sr.core.vec3.Velocity;
 import sr.explore.Exploration;
@@ -113,20 +114,20 @@ public final class EquivalentBoostPlusRotation extends TextOutput implements Exp
   
   /** Two boosts, the second perpendicular to the first (see class description). */
   private Event doCornerBoostOn(Event event) {
-    Event result = event.boost(velocityOne(), ChangeGrid);
-    return result.boost(velocityTwo(), ChangeGrid);
+    PoincareTransform cornerBoost = PoincareTransform.identity().boost(velocityOne(), ChangeGrid).boost(velocityTwo(), ChangeGrid);
+    return cornerBoost.applyTo(event);
   }
   
   /** A single boost followed by a single rotation. */
   private Event doBoostPlusRotationOn(Event event) {
-    Event result = event.boost(singleBoostVelocity(), ChangeGrid);
-    return result.rotate(rotation(), ChangeGrid);
+    PoincareTransform boostPlusRotation = PoincareTransform.identity().boost(singleBoostVelocity(), ChangeGrid).rotate(rotation(), ChangeGrid);
+    return boostPlusRotation.applyTo(event);
   }
   
   /** A single rotation followed by a single boost. */
   private Event doRotationPlusBoostOn(Event event) {
-    Event result = event.rotate(rotation(), ChangeGrid);
-    return result.boost(singleBoostVelocity(), ChangeGrid);
+    PoincareTransform rotationPlusBoost = PoincareTransform.identity().rotate(rotation(), ChangeGrid).boost(singleBoostVelocity(), ChangeGrid);
+    return rotationPlusBoost.applyTo(event);
   }
   
   /** The kinematic (Wigner) rotation angle with respect to the direction of the first boost. Range 0..-pi.  */
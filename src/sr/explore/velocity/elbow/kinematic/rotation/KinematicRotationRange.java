@@ -2,16 +2,15 @@ package sr.explore.velocity.elbow.kinematic.rotation;
 
 import static sr.core.Axis.X;
 import static sr.core.Axis.Y;
-import static sr.core.Axis.Z;
 import static sr.core.Util.NL;
 import static sr.core.Util.radsToDegs;
 import static sr.core.Util.round;
 
+import java.util.Arrays;
+
 import sr.core.KinematicRotation;
 import sr.core.SpeedValues;
 import sr.core.Util;
-import sr.core.component.ops.Sense;
-import sr.core.vec3.AxisAngle;
 import sr.core.vec3.Velocity;
 import sr.explore.Exploration;
 import sr.output.text.Table;
@@ -66,16 +65,21 @@ public final class KinematicRotationRange extends TextOutput implements Explorat
     add(dashes(60));
     double maxθw = 0.0;
     double maxDeg = 0.0;
+    int numSteps = 1800;
+    double[] angles = new double[numSteps];
+    for (int deg = 0; deg < numSteps; ++deg) {
+      angles[deg] = Util.degsToRads(deg/10.0); //watch out for integer div!
+    }
+    double[] speeds = new double[numSteps];
+    double[] θws = new double[numSteps];
     for (SpeedValues speed : SpeedValues.upToFourNines()) {
       double maxSpeed = speed.β();
-      Velocity veloOne = Velocity.of(maxSpeed, 0.0, 0.0); //this style avoids a coerced-to-1 issue 
-      for (int deg = 0; deg < 1800; ++deg) {
-        double rotateBy = Util.degsToRads(deg/10.0); //watch out for integer div!
-        Velocity veloTwo = veloOne.rotate(AxisAngle.of(rotateBy, Z), Sense.ChangeComponents);
-        KinematicRotation kr = KinematicRotation.of(veloOne, veloTwo);
-        double θw = kr.θwAngleBetweenTwoResultants();
-        if (θw > maxθw) {
-          maxθw = θw;
+      //the closed form for θw, over the whole sweep at once
+      Arrays.fill(speeds, maxSpeed);
+      KinematicRotation.θw(speeds, speeds, angles, θws);
+      for (int deg = 0; deg < numSteps; ++deg) {
+        if (θws[deg] > maxθw) {
+          maxθw = θws[deg];
           maxDeg = deg;
         }
       }
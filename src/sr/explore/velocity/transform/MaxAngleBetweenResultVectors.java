@@ -3,6 +3,7 @@ package sr.explore.velocity.transform;
 import static sr.core.Axis.X;
 
 import sr.core.Axis;
+import sr.core.KinematicRotation;
 import sr.core.VelocityTransformation;
 import sr.core.Util;
 import sr.core.component.ops.Sense;
@@ -50,20 +51,21 @@ public final class MaxAngleBetweenResultVectors extends TextOutput implements Ex
   private void findTheLargestAngleBetweenWhenAdding(Velocity a) {
     Velocity b = Velocity.of(a); //to start with
     int rotationAngle = 0;
-    Velocity vWithMaxAngle = null;
     double maxAngleBetween = 0;
     for(int degrees = 1; degrees < 180; ++degrees ) {
-      ThreeVector b_rotated = b.rotate(AxisAngle.of(Util.degsToRads(degrees), Axis.Z), Sense.ChangeComponents);
-      Velocity b_rotated_v = Velocity.of(b_rotated.x(), b_rotated.y(), b_rotated.z());
-      Velocity sum1 = VelocityTransformation.unprimedVelocity(a, b_rotated_v);
-      Velocity sum2 = VelocityTransformation.unprimedVelocity(b_rotated_v, a);
-      double angleBetween = sum2.angle(sum1);
+      //the angle between the two resultants is the kinematic rotation angle: use its closed form
+      double angleBetween = KinematicRotation.θw(a.magnitude(), b.magnitude(), Util.degsToRads(degrees));
       if (angleBetween > maxAngleBetween) {
         maxAngleBetween = angleBetween;
         rotationAngle = degrees;
-        vWithMaxAngle = b_rotated_v;
       }
     }
+    ThreeVector b_rotated = b.rotate(AxisAngle.of(Util.degsToRads(rotationAngle), Axis.Z), Sense.ChangeComponents);
+    Velocity vWithMaxAngle = Velocity.of(b_rotated.x(), b_rotated.y(), b_rotated.z());
+    //the full calculation, for the one case that is reported
+    Velocity sum1 = VelocityTransformation.unprimedVelocity(a, vWithMaxAngle);
+    Velocity sum2 = VelocityTransformation.unprimedVelocity(vWithMaxAngle, a);
+    maxAngleBetween = sum2.angle(sum1);
     add(table.row(a, vWithMaxAngle, rotationAngle * 1.0, Util.radsToDegs(maxAngleBetween)));
   }
 
@@ -0,0 +1,48 @@
+package sr.output.npy;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import sr.core.Util;
+
+/**
+ The header of a <em>.npy</em> file (version 1.0) for a 2-dimensional array of little-endian doubles, in row-major order.
+ 
+ <P>The header always has the same length, {@value #LENGTH} bytes, whatever the number of rows. 
+ So a file can be written before the number of rows is known, and its header re-written at the end.
+ 
+ <P>Reference: <a href='https://numpy.org/doc/stable/reference/generated/numpy.lib.format.html'>numpy.lib.format</a>.
+*/
+final class NpyHeader {
+  
+  /** The length of the header, in bytes. A multiple of 64, as required by NumPy. Value - {@value}. */
+  static final int LENGTH = 128;
+  
+  /** Return the header as a buffer that's ready to be written. */
+  static ByteBuffer of(long numRows, int numColumns) {
+    Util.mustHave(numRows >= 0 && numColumns > 0, "Bad shape: " + numRows + "," + numColumns);
+    String dict = "{'descr': '<f8', 'fortran_order': False, 'shape': (" + numRows + ", " + numColumns + "), }";
+    //magic string, version, header length, the dictionary, and then spaces and a newline  
+    int dictLength = LENGTH - PREAMBLE;
+    Util.mustHave(dict.length() < dictLength, "Header too long: " + dict);
+    StringBuilder padded = new StringBuilder(dict);
+    while (padded.length() < dictLength - 1) {
+      padded.append(' ');
+    }
+    padded.append('\n');
+    
+    ByteBuffer result = ByteBuffer.allocate(LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+    result.put((byte)0x93);
+    result.put("NUMPY".getBytes(StandardCharsets.US_ASCII));
+    result.put((byte)1);
+    result.put((byte)0);
+    result.putShort((short)dictLength);
+    result.put(padded.toString().getBytes(StandardCharsets.US_ASCII));
+    result.flip();
+    return result;
+  }
+  
+  /** Magic string (6), version (2), and the length of the dictionary (2). */
+  private static final int PREAMBLE = 10;
+}
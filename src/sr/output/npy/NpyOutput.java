@@ -0,0 +1,142 @@
+package sr.output.npy;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import sr.core.Util;
+import sr.core.vec4.FourVector;
+import sr.output.text.OutputMode;
+import sr.output.text.TextOutput;
+
+/**
+ Output a table of doubles to a binary file, in the NumPy <em>.npy</em> format.
+ The binary counterpart of {@link TextOutput}, for data that's read by Python code.
+ 
+ <P>By default, the rows are held in memory (as a single array of doubles), and then output all at once, at the end. 
+ For large outputs, the rows can instead be streamed: see {@link #streamTo(String, Object)}.
+ Several tables can be output to a single <em>.npz</em> file: see {@link #outputTo(String, Object, Map)}.
+ 
+ <P>Files are written only if the {@link OutputMode} allows it.
+ The output files are in the same directory as the calling class.
+*/
+public final class NpyOutput {
+  
+  /** Each row of the table has the given number of columns. */
+  public NpyOutput(int numColumns) {
+    Util.mustHave(numColumns > 0, "Number of columns must be positive: " + numColumns);
+    this.numColumns = numColumns;
+    this.values = new double[INITIAL_CAPACITY * numColumns];
+  }
+  
+  /** Add a row. The number of values must equal the number of columns. */
+  public void add(double... row) {
+    if (streaming) {
+      if (stream != null) {
+        stream.add(row);
+      }
+    }
+    else {
+      Util.mustHave(row.length == numColumns, "Expected " + numColumns + " values, not " + row.length);
+      if (length + numColumns > values.length) {
+        values = Arrays.copyOf(values, 2 * values.length);
+      }
+      System.arraycopy(row, 0, values, length, numColumns);
+      length = length + numColumns;
+    }
+  }
+  
+  /** Add the components of a four-vector as a row (ct, x, y, z). The table must have 4 columns. */
+  public void add(FourVector v) {
+    add(v.ct(), v.x(), v.y(), v.z());
+  }
+  
+  /** The number of rows held in memory. */
+  public int numRows() {
+    return length / numColumns;
+  }
+  
+  /** 
+   Output the rows to a <em>.npy</em> file.
+   When finished, the rows are abandoned.
+  */
+  public void outputTo(String fileName, Object caller) {
+    if (OutputMode.current().writesFiles()) {
+      try (NpyWriter writer = NpyWriter.create(pathTo(fileName, caller), numColumns)){
+        writer.addAll(values, length);
+      }
+      catch (UncheckedIOException ex) {
+        //as in TextOutput, a file that can't be written doesn't stop the exploration
+        ex.printStackTrace();
+      }
+    }
+    length = 0;
+  }
+  
+  /**
+   Output several tables to a single <em>.npz</em> file.
+   When finished, the rows of each table are abandoned.
+   @param tables the name of each table, as seen by Python, and its rows; the tables are written in the iteration order of the map.
+  */
+  public static void outputTo(String fileName, Object caller, Map<String, NpyOutput> tables) {
+    if (OutputMode.current().writesFiles()) {
+      try (NpzWriter writer = NpzWriter.create(pathTo(fileName, caller))){
+        for(Map.Entry<String, NpyOutput> table : tables.entrySet()) {
+          NpyOutput output = table.getValue();
+          writer.add(table.getKey(), output.numColumns, output.values, output.length);
+        }
+      }
+      catch (UncheckedIOException ex) {
+        ex.printStackTrace();
+      }
+    }
+    for(NpyOutput output : tables.values()) {
+      output.length = 0;
+    }
+  }
+  
+  /**
+   Stream the rows to a <em>.npy</em> file.
+   Any rows already added are sent first. 
+   From now on, each added row is written right away (through a buffer), and is not held in memory.
+   Call {@link #endStream()} when finished.
+  */
+  public void streamTo(String fileName, Object caller) {
+    Util.mustHave(!streaming, "Already streaming.");
+    if (OutputMode.current().writesFiles()) {
+      stream = NpyWriter.create(pathTo(fileName, caller), numColumns);
+      stream.addAll(values, length);
+    }
+    streaming = true;
+    length = 0;
+  }
+  
+  /** Finish streaming the rows, and write the header of the file. */
+  public void endStream() {
+    Util.mustHave(streaming, "Not streaming.");
+    if (stream != null) {
+      stream.close();
+    }
+    stream = null;
+    streaming = false;
+  }
+  
+  // PRIVATE
+  
+  private static final int INITIAL_CAPACITY = 64;
+  
+  private final int numColumns;
+  
+  /** The rows, one after the other. Only the first 'length' items are used. */
+  private double[] values;
+  private int length;
+  
+  /** Streamed rows are sent to the file, if any. The file is null when the output mode doesn't write files. */
+  private boolean streaming;
+  private NpyWriter stream;
+  
+  private static Path pathTo(String fileName, Object caller) {
+    return Util.outputPath(caller.getClass(), fileName);
+  }
+}
@@ -0,0 +1,113 @@
+package sr.output.npy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import sr.core.Util;
+
+/**
+ Write a <em>.npy</em> file holding a table of doubles, one row at a time. 
+ The number of rows doesn't need to be known in advance.
+ 
+ <P>The rows are placed in a direct {@link ByteBuffer}, which is written to the file when full. 
+ The header is written when the writer is closed.
+ So only the buffer is held in memory, however many rows there are.
+*/
+public final class NpyWriter implements AutoCloseable {
+  
+  /** Create the given file, replacing any existing file. */
+  public static NpyWriter create(Path path, int numColumns) {
+    return new NpyWriter(path, numColumns);
+  }
+  
+  /** Add a row. The number of values must equal the number of columns. */
+  public void add(double... row) {
+    Util.mustHave(row.length == numColumns, "Expected " + numColumns + " values, not " + row.length);
+    if (buffer.remaining() < numColumns * Double.BYTES) {
+      flush();
+    }
+    for(double value : row) {
+      buffer.putDouble(value);
+    }
+    ++numRows;
+  }
+  
+  /** 
+   Add many rows at once. 
+   @param rowMajor the values of the rows, one row after another; only the first <em>length</em> values are used, 
+   and <em>length</em> is a multiple of the number of columns.
+  */
+  public void addAll(double[] rowMajor, int length) {
+    Util.mustHave(length % numColumns == 0, "Length " + length + " is not a multiple of " + numColumns + " columns.");
+    int start = 0;
+    while (start < length) {
+      if (buffer.remaining() < Double.BYTES) {
+        flush();
+      }
+      int count = Math.min(length - start, buffer.remaining() / Double.BYTES);
+      buffer.asDoubleBuffer().put(rowMajor, start, count);
+      buffer.position(buffer.position() + count * Double.BYTES);
+      start = start + count;
+    }
+    numRows = numRows + length / numColumns;
+  }
+  
+  /** The number of rows added so far. */
+  public long numRows() { return numRows; }
+  
+  /** Write any remaining rows, and the header. */
+  @Override public void close() {
+    try {
+      flush();
+      ByteBuffer header = NpyHeader.of(numRows, numColumns);
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      channel.close();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  // PRIVATE
+  
+  private static final int BUFFER_SIZE = 1 << 16;
+  
+  private final FileChannel channel;
+  private final int numColumns;
+  private final ByteBuffer buffer;
+  private long numRows;
+  
+  private NpyWriter(Path path, int numColumns) {
+    Util.mustHave(numColumns > 0, "Number of columns must be positive: " + numColumns);
+    this.numColumns = numColumns;
+    //at least one row always fits
+    this.buffer = ByteBuffer.allocateDirect(Math.max(BUFFER_SIZE, numColumns * Double.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      this.channel.position(NpyHeader.LENGTH);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  private void flush() {
+    try {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
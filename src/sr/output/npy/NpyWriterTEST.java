@@ -0,0 +1,203 @@
+package sr.output.npy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Util;
+
+/** Unit test. */
+class NpyWriterTEST {
+
+  @Test void header() throws IOException {
+    Path path = Files.createTempFile("npy", ".npy");
+    try {
+      try (NpyWriter writer = NpyWriter.create(path, 3)) {
+        for(int i = 0; i < 5; ++i) {
+          writer.add(i, -i, i / 3.0);
+        }
+      }
+      byte[] bytes = Files.readAllBytes(path);
+      ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+      assertEquals((byte)0x93, buffer.get());
+      assertEquals("NUMPY", ascii(bytes, 1, 5));
+      assertEquals(1, bytes[6]);
+      assertEquals(0, bytes[7]);
+      assertEquals(118, buffer.getShort(8));
+      assertEquals(NpyHeader.LENGTH, 10 + buffer.getShort(8));
+      assertEquals(0, NpyHeader.LENGTH % 64);
+      String dict = ascii(bytes, 10, 118);
+      assertTrue(dict.startsWith("{'descr': '<f8', 'fortran_order': False, 'shape': (5, 3), }"), dict);
+      assertTrue(dict.endsWith(" \n"), dict);
+      assertEquals(NpyHeader.LENGTH + 5 * 3 * Double.BYTES, bytes.length);
+      assertEquals(4.0 / 3.0, buffer.getDouble(NpyHeader.LENGTH + 14 * Double.BYTES));
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void addAllAcrossTheBuffer() throws IOException {
+    //about 3.7 buffers, and not a whole number of rows in a buffer
+    double[] values = values(10_000 * 3);
+    Path rowByRow = Files.createTempFile("npy", ".npy");
+    Path all = Files.createTempFile("npy", ".npy");
+    try {
+      try (NpyWriter writer = NpyWriter.create(rowByRow, 3)) {
+        for(int i = 0; i < values.length; i = i + 3) {
+          writer.add(values[i], values[i + 1], values[i + 2]);
+        }
+      }
+      try (NpyWriter writer = NpyWriter.create(all, 3)) {
+        writer.add(values[0], values[1], values[2]);
+        writer.addAll(Arrays.copyOfRange(values, 3, values.length), values.length - 3);
+        assertEquals(10_000, writer.numRows());
+      }
+      byte[] expected = Files.readAllBytes(rowByRow);
+      assertTrue(Arrays.equals(expected, Files.readAllBytes(all)));
+      ByteBuffer data = ByteBuffer.wrap(expected).order(ByteOrder.LITTLE_ENDIAN);
+      data.position(NpyHeader.LENGTH);
+      for(double value : values) {
+        assertEquals(value, data.getDouble());
+      }
+    }
+    finally {
+      Files.delete(rowByRow);
+      Files.delete(all);
+    }
+  }
+
+  @Test void streamedSameAsHeld() throws IOException {
+    Path dir = Files.createTempDirectory("npy");
+    String previous = System.getProperty(OUTPUT_DIR);
+    try {
+      System.setProperty(OUTPUT_DIR, dir.toString());
+      Path held = Util.outputPath(NpyWriterTEST.class, "held.npy");
+      Path streamed = held.resolveSibling("streamed.npy");
+      Files.createDirectories(held.getParent());
+      double[] values = values(NUM_ROWS * 4);
+
+      NpyOutput output = new NpyOutput(4);
+      for(int i = 0; i < values.length; i = i + 4) {
+        output.add(values[i], values[i + 1], values[i + 2], values[i + 3]);
+      }
+      output.outputTo("held.npy", this);
+
+      output = new NpyOutput(4);
+      output.add(values[0], values[1], values[2], values[3]);
+      output.streamTo("streamed.npy", this);
+      for(int i = 4; i < values.length; i = i + 4) {
+        output.add(values[i], values[i + 1], values[i + 2], values[i + 3]);
+      }
+      output.endStream();
+
+      assertTrue(Arrays.equals(Files.readAllBytes(held), Files.readAllBytes(streamed)));
+    }
+    finally {
+      restore(previous);
+      deleteAll(dir);
+    }
+  }
+
+  @Test void npzEntries() throws IOException {
+    Path path = Files.createTempFile("npz", ".npz");
+    try {
+      double[] a = values(7 * 2);
+      double[] b = values(3 * 4);
+      try (NpzWriter writer = NpzWriter.create(path)) {
+        writer.add("alpha", 2, a, a.length);
+        //only the first rows are used
+        writer.add("beta", 4, b, 8);
+      }
+      try (ZipFile zip = new ZipFile(path.toFile())) {
+        List<String> names = new ArrayList<>();
+        for(ZipEntry entry : Collections.list(zip.entries())) {
+          names.add(entry.getName());
+          assertEquals(ZipEntry.STORED, entry.getMethod());
+          byte[] bytes;
+          try (InputStream in = zip.getInputStream(entry)) {
+            bytes = in.readAllBytes();
+          }
+          CRC32 crc = new CRC32();
+          crc.update(bytes);
+          assertEquals(entry.getCrc(), crc.getValue());
+          assertEquals(entry.getSize(), bytes.length);
+        }
+        assertEquals(Arrays.asList("alpha.npy", "beta.npy"), names);
+        checkEntry(zip, "alpha.npy", "(7, 2)", a, a.length);
+        checkEntry(zip, "beta.npy", "(2, 4)", b, 8);
+      }
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  private static final String OUTPUT_DIR = "sr-output-dir";
+  private static final int NUM_ROWS = 5_000;
+
+  private void checkEntry(ZipFile zip, String name, String shape, double[] values, int length) throws IOException {
+    byte[] bytes;
+    try (InputStream in = zip.getInputStream(zip.getEntry(name))) {
+      bytes = in.readAllBytes();
+    }
+    assertTrue(ascii(bytes, 10, 118).contains("'shape': " + shape), name);
+    assertEquals(NpyHeader.LENGTH + length * Double.BYTES, bytes.length);
+    ByteBuffer data = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    data.position(NpyHeader.LENGTH);
+    for(int i = 0; i < length; ++i) {
+      assertEquals(values[i], data.getDouble());
+    }
+  }
+
+  private double[] values(int count) {
+    double[] result = new double[count];
+    for(int i = 0; i < count; ++i) {
+      result[i] = i / 7.0 - 100.0;
+    }
+    return result;
+  }
+
+  private String ascii(byte[] bytes, int start, int length) {
+    return new String(bytes, start, length, StandardCharsets.US_ASCII);
+  }
+
+  private void restore(String previous) {
+    if (previous == null) {
+      System.clearProperty(OUTPUT_DIR);
+    }
+    else {
+      System.setProperty(OUTPUT_DIR, previous);
+    }
+  }
+
+  /** Delete the given directory, and everything under it. */
+  private void deleteAll(Path dir) throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (Stream<Path> walk = Files.walk(dir)) {
+      walk.forEach(paths::add);
+    }
+    for(int i = paths.size() - 1; i >= 0; --i) {
+      Files.delete(paths.get(i));
+    }
+  }
+}
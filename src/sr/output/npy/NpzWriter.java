@@ -0,0 +1,88 @@
+package sr.output.npy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.GregorianCalendar;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import sr.core.Util;
+
+/**
+ Write a <em>.npz</em> file: a zip file holding one <em>.npy</em> entry for each named table of doubles. 
+ 
+ <P>As with <em>numpy.savez</em>, the entries are not compressed.
+ Each entry has the same fixed time-stamp, so the same data always gives the same file.
+*/
+public final class NpzWriter implements AutoCloseable {
+  
+  /** Create the given file, replacing any existing file. */
+  public static NpzWriter create(Path path) {
+    return new NpzWriter(path);
+  }
+  
+  /** 
+   Add a table of doubles, with the given name.
+   @param name the name seen by Python; the entry in the zip file has the extension <em>.npy</em> appended to it.
+   @param rowMajor the values of the table, one row after another; its length is a multiple of the number of columns.
+  */
+  public void add(String name, int numColumns, double[] rowMajor, int length) {
+    Util.mustHave(Util.hasContent(name), "Name has no content.");
+    Util.mustHave(numColumns > 0 && length % numColumns == 0, "Length " + length + " is not a multiple of " + numColumns + " columns.");
+    ByteBuffer header = NpyHeader.of(length / numColumns, numColumns);
+    ByteBuffer data = ByteBuffer.allocate(header.remaining() + length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    data.put(header);
+    data.asDoubleBuffer().put(rowMajor, 0, length);
+    byte[] bytes = data.array();
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    ZipEntry entry = new ZipEntry(name + ".npy");
+    entry.setMethod(ZipEntry.STORED);
+    entry.setSize(bytes.length);
+    entry.setCompressedSize(bytes.length);
+    entry.setCrc(crc.getValue());
+    entry.setTime(TIME_STAMP);
+    try {
+      zip.putNextEntry(entry);
+      zip.write(bytes);
+      zip.closeEntry();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  /** Finish writing the zip file. */
+  @Override public void close() {
+    try {
+      zip.close();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+  
+  // PRIVATE
+  
+  /** 1980-01-01 00:00, the earliest time in a zip file, in the local time zone. Used for all entries. */
+  private static final long TIME_STAMP = new GregorianCalendar(1980, 0, 1).getTimeInMillis();
+  
+  private final ZipOutputStream zip;
+  
+  private NpzWriter(Path path) {
+    try {
+      OutputStream out = new BufferedOutputStream(Files.newOutputStream(path));
+      this.zip = new ZipOutputStream(out);
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+/** 
+ Utilities to help explorations generate binary output, in the NumPy <em>.npy</em> and <em>.npz</em> formats.
+ 
+ <P>Python code can read such files with <em>numpy.load</em>, with no parsing of text.
+ A <em>.npy</em> file can also be memory-mapped, with <em>numpy.load(file, mmap_mode='r')</em>.
+*/
+package sr.output.npy;
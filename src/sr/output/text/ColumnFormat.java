@@ -0,0 +1,142 @@
+package sr.output.text;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Formattable;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import sr.core.Util;
+
+/**
+ The format of a single column of a {@link Table}, parsed only once.
+ 
+ <P>The common cases are written directly into a {@link StringBuilder}: 
+ <em>%s</em>, <em>%d</em>, and <em>%f</em>, with an optional width (with or without a '-' flag), and precision (for <em>%f</em>), 
+ and with any literal text before or after.
+ The result is identical to {@link String#format(String, Object...)}, which is used for all other cases. 
+ 
+ <P>Fixed-precision doubles use {@link Util#roundedScaled(double, int)}, instead of building the digits of the value.
+ When that method can't give a certain answer (near a tie), <em>String.format</em> is used.
+*/
+final class ColumnFormat {
+  
+  static ColumnFormat of(String format) {
+    return new ColumnFormat(format);
+  }
+  
+  /** Append the formatted value to the given builder. */
+  void appendTo(StringBuilder out, Object value) {
+    if (conversion == 0 || !appendFast(out, value)) {
+      out.append(String.format(format, value));
+    }
+  }
+  
+  // PRIVATE
+  
+  /** Prefix, flag, width, precision, conversion, suffix. */
+  private static final Pattern SIMPLE = Pattern.compile("([^%]*)%(-?)([1-9][0-9]*)?(?:\\.([0-9]+))?([sdf])([^%]*)");
+  
+  /** The fast paths assume the decimal separator is '.', and that digits are ASCII. */
+  private static final boolean PLAIN_LOCALE = isPlain(Locale.getDefault(Locale.Category.FORMAT));
+  
+  private static final int DEFAULT_PRECISION = 6;
+  
+  private final String format;
+  private final String prefix;
+  private final String suffix;
+  private final boolean leftJustify;
+  private final int width;
+  private final int precision;
+  /** 's', 'd', or 'f'; 0 if the format isn't simple. */
+  private final char conversion;
+  
+  private ColumnFormat(String format) {
+    this.format = format;
+    Matcher matcher = SIMPLE.matcher(format);
+    boolean simple = PLAIN_LOCALE && matcher.matches();
+    char conv = simple ? matcher.group(5).charAt(0) : 0;
+    //precision is allowed only for %f, and the '-' flag only with a width (else Formatter throws an exception)
+    if (simple && ((matcher.group(4) != null && conv != 'f') || (matcher.group(2).length() > 0 && matcher.group(3) == null))) {
+      simple = false;
+      conv = 0;
+    }
+    this.conversion = conv;
+    this.prefix = simple ? matcher.group(1) : "";
+    this.suffix = simple ? matcher.group(6) : "";
+    this.leftJustify = simple && matcher.group(2).length() > 0;
+    this.width = simple && matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0;
+    this.precision = simple && matcher.group(4) != null ? Integer.parseInt(matcher.group(4)) : DEFAULT_PRECISION;
+  }
+  
+  private static boolean isPlain(Locale locale) {
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+    return symbols.getDecimalSeparator() == '.' && symbols.getZeroDigit() == '0';
+  }
+  
+  /** Return false if the value can't be formatted here. */
+  private boolean appendFast(StringBuilder out, Object value) {
+    String text = null;
+    if (conversion == 's') {
+      if (value instanceof Formattable) {
+        return false;
+      }
+      text = String.valueOf(value);
+    }
+    else if (conversion == 'd') {
+      if (!(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte)) {
+        return false;
+      }
+      text = value.toString();
+    }
+    else {
+      if (!(value instanceof Double)) {
+        return false;
+      }
+      text = fixed((Double)value);
+      if (text == null) {
+        return false;
+      }
+    }
+    out.append(prefix);
+    if (!leftJustify) {
+      pad(out, width - text.length());
+    }
+    out.append(text);
+    if (leftJustify) {
+      pad(out, width - text.length());
+    }
+    out.append(suffix);
+    return true;
+  }
+  
+  /** Null if the value can't be formatted here. */
+  private String fixed(double value) {
+    long scaled = Util.roundedScaled(value, precision);
+    if (scaled < 0) {
+      return null;
+    }
+    StringBuilder result = new StringBuilder(24);
+    //the sign is kept, even for negative zero, as in Formatter
+    if (Double.doubleToRawLongBits(value) < 0) {
+      result.append('-');
+    }
+    String digits = Long.toString(scaled);
+    if (precision == 0) {
+      return result.append(digits).toString();
+    }
+    int numLeadingZeros = precision + 1 - digits.length();
+    for(int i = 0; i < numLeadingZeros; ++i) {
+      result.append('0');
+    }
+    result.append(digits);
+    result.insert(result.length() - precision, '.');
+    return result.toString();
+  }
+  
+  private static void pad(StringBuilder out, int num) {
+    for(int i = 0; i < num; ++i) {
+      out.append(' ');
+    }
+  }
+}
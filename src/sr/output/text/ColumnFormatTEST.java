@@ -0,0 +1,42 @@
+package sr.output.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.MissingFormatWidthException;
+
+import org.junit.jupiter.api.Test;
+
+/** Unit test. */
+class ColumnFormatTEST {
+
+  @Test void sameAsStringFormat() {
+    String[] formats = {"%s", "%8s", "%-8s|", "a %d b", "%5d", "%-5d", "%f", "%.0f", "%10.3f", "%-10.3f", "%.2s", "%+d", "%,d"};
+    Object[] values = {"text", 42, -7L, 3.14159, -0.0, 0.5, 2.5, 1.0E20, Double.NaN, null};
+    for(String format : formats) {
+      ColumnFormat column = ColumnFormat.of(format);
+      for(Object value : values) {
+        String expected;
+        try {
+          expected = String.format(format, value);
+        }
+        catch (RuntimeException ex) {
+          continue; //not a valid pairing of format and value
+        }
+        StringBuilder actual = new StringBuilder();
+        column.appendTo(actual, value);
+        assertEquals(expected, actual.toString());
+      }
+    }
+  }
+
+  /** The '-' flag needs a width. */
+  @Test void leftJustifyWithNoWidthIsRejected() {
+    for(String format : new String[] {"%-s", "%-d", "%-f", "x %-.2f y"}) {
+      ColumnFormat column = ColumnFormat.of(format);
+      assertThrows(MissingFormatWidthException.class, () -> column.appendTo(new StringBuilder(), "text"));
+      assertThrows(MissingFormatWidthException.class, () -> column.appendTo(new StringBuilder(), 42));
+      assertThrows(MissingFormatWidthException.class, () -> column.appendTo(new StringBuilder(), 1.5));
+    }
+  }
+}
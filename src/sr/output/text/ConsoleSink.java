@@ -0,0 +1,21 @@
+package sr.output.text;
+
+/** Send lines of text to the console (<em>System.out</em>). */
+public final class ConsoleSink implements Sink {
+  
+  /** Factory method. */
+  public static ConsoleSink of() {
+    return new ConsoleSink();
+  }
+
+  @Override public void accept(String line) {
+    System.out.println(line);
+  }
+  
+  /** Flush the console. The console itself is left open. */
+  @Override public void close() {
+    System.out.flush();
+  }
+  
+  private ConsoleSink() {}
+}
@@ -0,0 +1,156 @@
+package sr.output.text;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import sr.core.Util;
+
+/**
+ Send lines of text to a file, using a separate writer thread.
+ 
+ <P>The caller places each line on a bounded queue, and the writer thread takes the lines off the queue 
+ and writes them to the file. 
+ If the queue is full, the caller waits until the writer thread catches up (back-pressure).
+ So the caller doesn't wait for the disk, and the memory used by this class is limited by the size of the queue. 
+ 
+ <P>The file is written in {@link Util#ENCODING}, with each line followed by the system's line separator. 
+ This is the same content as {@link Util#writeToFile(Class, String, List)}. 
+ 
+ <P>{@link #close()} must be called, to make sure all lines are written. 
+ It waits for the writer thread to finish. 
+ If the writer thread failed, then the failure is re-thrown by {@link #accept(String)} or by {@link #close()}.
+*/
+public final class FileSink implements Sink {
+  
+  /** The default size of the queue: {@value} lines. */
+  public static final int DEFAULT_CAPACITY = 1024;
+  
+  /** Factory method. Creates the file, or replaces an existing file. */
+  public static FileSink of(Path path) {
+    return new FileSink(path, DEFAULT_CAPACITY);
+  }
+  
+  /** 
+   Factory method. Creates the file, or replaces an existing file.
+   @param capacity the maximum number of lines waiting to be written. 
+  */
+  public static FileSink of(Path path, int capacity) {
+    return new FileSink(path, capacity);
+  }
+  
+  /** Place the line on the queue, waiting if the queue is full. */
+  @Override public void accept(String line) {
+    checkForFailure();
+    put(line);
+  }
+  
+  /** Wait until all lines are written, and the file is closed. */
+  @Override public void close() {
+    if (!closed) {
+      closed = true;
+      put(END);
+      try {
+        writer.join();
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for " + path, ex);
+      }
+    }
+    checkForFailure();
+  }
+  
+  // PRIVATE
+  
+  /** Marks the end of the lines. Compared by identity, not by value. */
+  private static final String END = new String("END");
+  
+  private final Path path;
+  private final BlockingQueue<String> queue;
+  private final Thread writer;
+  private boolean closed;
+  
+  /** Set by the writer thread, if it fails. */
+  private volatile IOException failure;
+  
+  private FileSink(Path path, int capacity) {
+    Util.mustHave(capacity > 0, "Capacity must be positive: " + capacity);
+    this.path = path;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.writer = new Thread(this::writeLines, "sr-file-sink");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+  
+  private void put(String line) {
+    try {
+      queue.put(line);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while writing to " + path, ex);
+    }
+  }
+  
+  private void checkForFailure() {
+    if (failure != null) {
+      throw new UncheckedIOException("Cannot write to " + path, failure);
+    }
+  }
+  
+  /** Run by the writer thread. Takes lines in batches, to reduce the contention on the queue. */
+  private void writeLines() {
+    List<String> batch = new ArrayList<>();
+    try (BufferedWriter out = Files.newBufferedWriter(path, Util.ENCODING)) {
+      while (true) {
+        batch.add(queue.take());
+        queue.drainTo(batch);
+        for(String line : batch) {
+          if (line == END) {
+            return;
+          }
+          out.write(line);
+          out.newLine();
+        }
+        batch.clear();
+      }
+    }
+    catch (IOException ex) {
+      failure = ex;
+      //keep taking lines, so that the caller never blocks on a full queue
+      drainUntilEnd(batch);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  private void drainUntilEnd(List<String> batch) {
+    try {
+      while (!hasEnd(batch)) {
+        batch.clear();
+        batch.add(queue.take());
+        queue.drainTo(batch);
+      }
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  private boolean hasEnd(List<String> batch) {
+    for(String line : batch) {
+      if (line == END) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,113 @@
+package sr.output.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Util;
+
+/** Unit test. */
+class FileSinkTEST {
+
+  @Test void sameBytesAsWriteToFile() throws IOException {
+    sameBytesAsWriteToFile(FileSink.DEFAULT_CAPACITY);
+  }
+
+  @Test void queueOfOneStillCompletes() throws IOException {
+    sameBytesAsWriteToFile(1);
+  }
+
+  @Test void noLines() throws IOException {
+    Path path = Files.createTempFile("sink", ".txt");
+    try {
+      FileSink.of(path).close();
+      assertEquals(0, Files.size(path));
+    }
+    finally {
+      Files.delete(path);
+    }
+  }
+
+  @Test void failureIsReportedByClose() throws IOException {
+    Path dir = Files.createTempDirectory("sink");
+    try {
+      FileSink sink = FileSink.of(dir.resolve("no-such-dir").resolve("out.txt"), 1);
+      for(int i = 0; i < 1000; ++i) {
+        try {
+          sink.accept("line " + i);
+        }
+        catch (UncheckedIOException ex) {
+          //the failure can also be reported as soon as it's seen
+        }
+      }
+      assertThrows(UncheckedIOException.class, sink::close);
+      //closing again reports the same failure
+      assertThrows(UncheckedIOException.class, sink::close);
+    }
+    finally {
+      Files.delete(dir);
+    }
+  }
+
+  @Test void capacityMustBePositive() {
+    assertThrows(RuntimeException.class, () -> FileSink.of(Path.of("unused.txt"), 0));
+  }
+
+  private void sameBytesAsWriteToFile(int capacity) throws IOException {
+    List<String> lines = new ArrayList<>();
+    for(int i = 0; i < 10_000; ++i) {
+      lines.add("line " + i + " β=" + (i / 7.0));
+    }
+    lines.add("");
+    Path dir = Files.createTempDirectory("sink");
+    String previous = System.getProperty(OUTPUT_DIR);
+    try {
+      System.setProperty(OUTPUT_DIR, dir.toString());
+      Path expected = Util.outputPath(FileSinkTEST.class, "expected.txt");
+      Files.createDirectories(expected.getParent());
+      Util.writeToFile(FileSinkTEST.class, "expected.txt", lines);
+      Path actual = expected.resolveSibling("actual.txt");
+      try (FileSink sink = FileSink.of(actual, capacity)) {
+        for(String line : lines) {
+          sink.accept(line);
+        }
+      }
+      assertTrue(Arrays.equals(Files.readAllBytes(expected), Files.readAllBytes(actual)));
+      Files.delete(expected);
+      Files.delete(actual);
+    }
+    finally {
+      if (previous == null) {
+        System.clearProperty(OUTPUT_DIR);
+      }
+      else {
+        System.setProperty(OUTPUT_DIR, previous);
+      }
+      deleteDirectories(dir);
+    }
+  }
+
+  /** Delete the empty directories under the given directory, and the directory itself. */
+  private void deleteDirectories(Path dir) throws IOException {
+    List<Path> paths = new ArrayList<>();
+    try (Stream<Path> walk = Files.walk(dir)) {
+      walk.forEach(paths::add);
+    }
+    for(int i = paths.size() - 1; i >= 0; --i) {
+      Files.delete(paths.get(i));
+    }
+  }
+
+  private static final String OUTPUT_DIR = "sr-output-dir";
+}
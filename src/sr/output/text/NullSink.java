@@ -0,0 +1,20 @@
+package sr.output.text;
+
+/** Discard lines of text. */
+public final class NullSink implements Sink {
+  
+  /** Factory method. */
+  public static NullSink of() {
+    return INSTANCE;
+  }
+
+  /** Do nothing. */
+  @Override public void accept(String line) { }
+  
+  /** Do nothing. */
+  @Override public void close() { }
+  
+  private static final NullSink INSTANCE = new NullSink();
+  
+  private NullSink() {}
+}
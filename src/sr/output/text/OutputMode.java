@@ -0,0 +1,55 @@
+package sr.output.text;
+
+import sr.core.Util;
+
+/**
+ Where {@link TextOutput} sends its lines of text.
+ 
+ <P>The mode is set with a System property, so that explorations can be run headless with no code changes.
+ Example:
+ <pre>java -Dsr-output-mode=Quiet sr.explore.RunExplorations</pre>
+ The default mode is {@link #Normal}.
+*/
+public enum OutputMode {
+  
+  /** Echo to the console, and write files. */
+  Normal,
+  
+  /** Write files, but don't echo to the console. */
+  Quiet,
+  
+  /** Neither echo to the console, nor write files. Useful for timing the calculations alone. */
+  Silent;
+  
+  /** 
+   The name of the System property for setting the mode.
+   Value - {@value}. 
+  */
+  public static final String PROPERTY = "sr-output-mode";
+  
+  /** The mode set by the System property, or {@link #Normal} if it isn't set. */
+  public static OutputMode current() {
+    return CURRENT;
+  }
+  
+  /** Return true only if lines are echoed to the console. */
+  public boolean echoesToConsole() {
+    return this == Normal;
+  }
+  
+  /** Return true only if files are written. */
+  public boolean writesFiles() {
+    return this != Silent;
+  }
+  
+  private static final OutputMode CURRENT = fromSystemProperty();
+  
+  private static OutputMode fromSystemProperty() {
+    OutputMode result = Normal;
+    String sysProperty = System.getProperty(PROPERTY);
+    if (Util.hasContent(sysProperty)) {
+      result = OutputMode.valueOf(sysProperty.trim());
+    }
+    return result;
+  }
+}
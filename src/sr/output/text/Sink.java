@@ -0,0 +1,17 @@
+package sr.output.text;
+
+/** 
+ A destination for lines of text output.
+ 
+ <P>Implementations: {@link ConsoleSink}, {@link FileSink}, and {@link NullSink}.
+ Which sinks are used by {@link TextOutput} is controlled by the {@link OutputMode}. 
+*/
+public interface Sink extends AutoCloseable {
+  
+  /** Send a line of text to this sink. */
+  void accept(String line);
+  
+  /** Finish sending lines of text to this sink. No more lines can be sent afterwards. */
+  @Override void close();
+
+}
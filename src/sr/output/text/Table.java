@@ -2,7 +2,10 @@ package sr.output.text;
 
 import java.util.Formatter;
 
-/** Output text in a tabular format. */
+/** 
+ Output text in a tabular format.
+ The column formats are parsed only once, when the table is built (see {@link ColumnFormat}). 
+*/
 public final class Table {
 
   /**
@@ -10,21 +13,20 @@ public final class Table {
    @param columnFormats as defined by the {@link Formatter} class. 
   */
   public Table(String... columnFormats) {
-    this.columnFormats = columnFormats;
+    this.columnFormats = new ColumnFormat[columnFormats.length];
+    for(int idx = 0; idx < columnFormats.length; ++idx) {
+      this.columnFormats[idx] = ColumnFormat.of(columnFormats[idx]);
+    }
   }
 
   /** Return a formatted row of items in the table. */
   public String row(Object... values) {
     StringBuilder result = new StringBuilder();
     for(int idx=0; idx < columnFormats.length; ++idx) {
-      result.append(column(idx, values[idx]));
+      columnFormats[idx].appendTo(result, values[idx]);
     }
     return result.toString();
   }
   
-  private String[] columnFormats;
-  
-  private String column(int idx, Object thing) {
-    return String.format(columnFormats[idx], thing);
-  }
+  private ColumnFormat[] columnFormats;
 }
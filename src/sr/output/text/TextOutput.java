@@ -1,5 +1,6 @@
 package sr.output.text;
 
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,22 +11,33 @@ import sr.core.Util;
  If the output is tabular, then {@link Table} should be used to generate the lines for table rows.
  
  <P>This class can be either subclassed, or used as a field (only slightly more work).
+ 
+ <P>By default, the lines are held in memory, and then output all at once, at the end.
+ For large outputs, the lines can instead be streamed: see {@link #streamTo(String, Object)}.
+ 
+ <P>The lines are sent to {@link Sink}s. 
+ The {@link OutputMode} controls whether the console and files are used. 
 */
 public class TextOutput {
 
   /** Add a line to text output. */
   public void add(String text) {
-    lines.add(text);
+    if (stream != null) {
+      stream.accept(text);
+    }
+    else {
+      lines.add(text);
+    }
   }
   
   /** Call the object's toString method and then add it as a line to text output. */
   public void add(Object thing) {
-    lines.add(thing.toString());
+    add(thing.toString());
   }
   
   /** Add a line to text output, preceded by '# '. */
   public void addComment(String text) {
-    lines.add("# " + text);
+    add("# " + text);
   }
 
   /** 
@@ -37,14 +49,45 @@ public class TextOutput {
     output(fileName, caller);
   }
   
+  /**
+   Stream the text output both to the console and to a text file.
+   Any lines already added are sent first. 
+   From now on, each added line is sent right away, and is not held in memory.
+   The file is written by a separate thread (see {@link FileSink}).
+   The output file is in the same directory as the calling class.
+   Call {@link #endStream()} when finished.
+  */
+  public void streamTo(String fileName, Object caller) {
+    Util.mustHave(stream == null, "Already streaming.");
+    stream = sinksFor(fileName, caller);
+    for(String line : lines) {
+      stream.accept(line);
+    }
+    lines = new ArrayList<>();
+  }
+  
+  /** 
+   Finish streaming the text output, and wait until the output file is written.
+   Afterwards, lines are once again held in memory, starting with a single empty line.
+  */
+  public void endStream() {
+    Util.mustHave(stream != null, "Not streaming.");
+    close(stream);
+    stream = null;
+    lines.add(Util.NL);
+  }
+  
   /** A line of dashes, used as a separator. */
   public String dashes(int num) {
     return Util.separator(num);
   }
   
   public void outputToConsole() {
-    for(String line : lines) {
-      System.out.println(line);
+    if (OutputMode.current().echoesToConsole()) {
+      Sink console = ConsoleSink.of();
+      for(String line : lines) {
+        console.accept(line);
+      }
     }
   }
   
@@ -58,14 +101,91 @@ public class TextOutput {
     output(fileName, this);
   }
   
+  /** As in {@link #streamTo(String, Object)}, using the class of this object. */
+  protected void streamToConsoleAnd(String fileName) {
+    streamTo(fileName, this);
+  }
+  
   /** Lines of text output. */
   private List<String> lines = new ArrayList<>();
   
+  /** The sinks for streamed output. Null when not streaming. */
+  private Sink stream;
+  
   private void output(String fileName, Object caller) {
-    outputToConsole();
-    Util.writeToFile(caller.getClass(), fileName, lines);
+    Sink sink = sinksFor(fileName, caller);
+    for(String line : lines) {
+      sink.accept(line);
+    }
+    close(sink);
     lines = new ArrayList<>();
     lines.add(Util.NL);
   }
-
+  
+  /** The console and the file, as allowed by the {@link OutputMode}. */
+  private Sink sinksFor(String fileName, Object caller) {
+    OutputMode mode = OutputMode.current();
+    List<Sink> result = new ArrayList<>();
+    if (mode.echoesToConsole()) {
+      result.add(ConsoleSink.of());
+    }
+    if (mode.writesFiles()) {
+      result.add(FileSink.of(Util.outputPath(caller.getClass(), fileName)));
+    }
+    return result.isEmpty() ? NullSink.of() : new Tee(result);
+  }
+  
+  private void close(Sink sink) {
+    try {
+      sink.close();
+    }
+    catch (UncheckedIOException ex) {
+      //as in Util.writeToFile, a file that can't be written doesn't stop the exploration
+      ex.printStackTrace();
+    }
+  }
+  
+  /** 
+   Send each line to several sinks.
+   If a sink fails, no more lines are sent to it, but the other sinks carry on. 
+   The failure is reported when the sinks are closed, for both held and streamed output. 
+  */
+  private static final class Tee implements Sink {
+    Tee(List<Sink> sinks){
+      this.sinks = sinks;
+      this.failed = new boolean[sinks.size()];
+    }
+    @Override public void accept(String line) {
+      for(int i = 0; i < sinks.size(); ++i) {
+        if (!failed[i]) {
+          try {
+            sinks.get(i).accept(line);
+          }
+          catch (UncheckedIOException ex) {
+            //the same failure is reported again by close
+            failed[i] = true;
+          }
+        }
+      }
+    }
+    /** Close all of the sinks, then re-throw the first failure, if any. */
+    @Override public void close() {
+      UncheckedIOException failure = null;
+      for(Sink sink : sinks) {
+        try {
+          sink.close();
+        }
+        catch (UncheckedIOException ex) {
+          if (failure == null) {
+            failure = ex;
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    }
+    private final List<Sink> sinks;
+    private final boolean[] failed;
+  }
 }
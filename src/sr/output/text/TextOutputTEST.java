@@ -0,0 +1,92 @@
+package sr.output.text;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import sr.core.Util;
+
+/** Unit test. */
+class TextOutputTEST {
+
+  @Test void streamedSameAsHeld() throws IOException {
+    Path dir = Files.createTempDirectory("text");
+    String previous = System.getProperty(OUTPUT_DIR);
+    try {
+      System.setProperty(OUTPUT_DIR, dir.toString());
+      Path held = Util.outputPath(TextOutputTEST.class, "held.txt");
+      Path streamed = held.resolveSibling("streamed.txt");
+      Files.createDirectories(held.getParent());
+      
+      TextOutput output = new TextOutput();
+      addLines(output);
+      output.outputTo("held.txt", this);
+      
+      output = new TextOutput();
+      output.add("first line, added before streaming");
+      output.streamTo("streamed.txt", this);
+      for(int i = 1; i < NUM_LINES; ++i) {
+        output.add("line " + i);
+      }
+      output.endStream();
+      
+      assertTrue(Arrays.equals(Files.readAllBytes(held), Files.readAllBytes(streamed)));
+      Files.delete(held);
+      Files.delete(streamed);
+      Files.delete(held.getParent());
+      Files.delete(held.getParent().getParent());
+      Files.delete(held.getParent().getParent().getParent());
+    }
+    finally {
+      restore(previous);
+      Files.delete(dir);
+    }
+  }
+  
+  /** As for held output, a file that can't be written doesn't stop the caller. */
+  @Test void streamedFailureIsOnlyLogged() throws IOException {
+    Path dir = Files.createTempDirectory("text");
+    String previous = System.getProperty(OUTPUT_DIR);
+    try {
+      //the directory for the package is never created
+      System.setProperty(OUTPUT_DIR, dir.toString());
+      TextOutput output = new TextOutput();
+      output.streamTo("streamed.txt", this);
+      for(int i = 0; i < NUM_LINES; ++i) {
+        output.add("line " + i);
+      }
+      output.endStream();
+      
+      addLines(output);
+      output.outputTo("held.txt", this);
+    }
+    finally {
+      restore(previous);
+      Files.delete(dir);
+    }
+  }
+  
+  private static final String OUTPUT_DIR = "sr-output-dir";
+  private static final int NUM_LINES = 5;
+  
+  private void addLines(TextOutput output) {
+    output.add("first line, added before streaming");
+    for(int i = 1; i < NUM_LINES; ++i) {
+      output.add("line " + i);
+    }
+  }
+  
+  private void restore(String previous) {
+    if (previous == null) {
+      System.clearProperty(OUTPUT_DIR);
+    }
+    else {
+      System.setProperty(OUTPUT_DIR, previous);
+    }
+  }
+}